@@ -2,6 +2,7 @@ package gui;
 
 import paths.ICrossroad;
 import paths.IPath;
+import structures.IIsochrone;
 import structures.IRange;
 
 import java.awt.geom.Point2D;
@@ -15,6 +16,12 @@ public interface IRenderer {
      */
     void render(ICrossroad[] crossroads, IPath[] paths, List<ICrossroad> highlightedCrossroads, IPath[] highlightedPaths, IRange<Point2D, Double> area);
 
+    /**
+     * Set reachable part of map which will be rendered under highlighted paths.
+     * @param isochrone Isochrone or null.
+     */
+    void setIsochrone(IIsochrone<ICrossroad, IPath> isochrone);
+
     /**
      * Resize canvas depends on windows size.
      */
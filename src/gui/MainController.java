@@ -90,6 +90,7 @@ public class MainController implements Initializable {
             pathsList.getItems().setAll(paths);
             crossroadsList.getItems().setAll(crossroads);
             renderer.rescale(crossroads);
+            renderer.setIsochrone(null); // Isochrone of changed map is not valid.
 
             render();
         }
@@ -178,10 +179,12 @@ public class MainController implements Initializable {
         dialog.addChoiceBox("from", "Odkud", crossroads);
         dialog.addChoiceBox("to", "Kam", crossroads);
         dialog.addCheckBox("onlyDirect", "Pouze přímá cesta");
+        dialog.addChoiceBox("algorithm", "Algoritmus", RoutingAlgorithm.values(), RoutingAlgorithm.DIJKSTRA);
 
         dialog.run(data -> {
             ICrossroad from = (ICrossroad) data.get("from");
             ICrossroad to = (ICrossroad) data.get("to");
+            RoutingAlgorithm algorithm = (RoutingAlgorithm) data.get("algorithm");
 
             if ((boolean) data.get("onlyDirect")) {
                 IPath path = forest.getPath(from.getId(), to.getId());
@@ -196,8 +199,12 @@ public class MainController implements Initializable {
                 pathsList.getSelectionModel().clearSelection();
 
                 try {
-                    IGraphPath<ICrossroad, IPath, Double> path = forest.findShortestPath(from.getId(), to.getId());
+                    IGraphPath<ICrossroad, IPath, Double> path = forest.findShortestPath(from.getId(), to.getId(), algorithm);
                     setHighlightedPath(path);
+
+                    if (forest.getSettledNodesCount() != -1) {
+                        pathCrossroadsCountLabel.setText(pathCrossroadsCountLabel.getText() + " (prohledáno " + forest.getSettledNodesCount() + ")");
+                    }
                 } catch (NoSuchElementException exception) {
                     setHighlightedPath(null);
                     Message.showWarning("Cesta neexistuje", "Cesta mezi " + from.getId() + " a " + to.getId() + " nebyla nalezena.");
@@ -206,6 +213,30 @@ public class MainController implements Initializable {
         });
     }
 
+    @FXML
+    private void handleFindIsochrone(ActionEvent event) {
+        ICrossroad[] stations = forest.getCrossroads(CrossroadType.STATION);
+        FormDialog dialog = new FormDialog("Dosah křižovatky", "Najít");
+        dialog.addChoiceBox("from", "Odkud", crossroads, stations.length > 0 ? stations[0] : (crossroads.length > 0 ? crossroads[0] : null));
+        dialog.addNumberField("budget", "Vzdálenost", 100);
+
+        dialog.run(data -> {
+            ICrossroad from = (ICrossroad) data.get("from");
+            pathsList.getSelectionModel().clearSelection();
+            setHighlightedPath(null);
+
+            try {
+                IIsochrone<ICrossroad, IPath> isochrone = forest.getIsochrone(from.getId(), (int) data.get("budget"));
+                highlightedCrossroads = Collections.singletonList(from);
+                renderer.setIsochrone(isochrone);
+                pathCrossroadsCountLabel.setText("Dosažitelných křižovatek: " + isochrone.getNodes().size());
+                render();
+            } catch (Exception exception) {
+                Message.showError("Hledání dosahu se nezdařilo", exception.getMessage());
+            }
+        });
+    }
+
     @FXML
     private void handleEditPath(ActionEvent event) {
         IPath selected = pathsList.getSelectionModel().getSelectedItem();
@@ -244,7 +275,7 @@ public class MainController implements Initializable {
     private void handleShowRoutingMatrix(ActionEvent event) {
 
         try {
-            IRoutingMatrix<ICrossroad> routingMatrix = forest.getRoutingMatrix();
+            IRoutingMatrix<ICrossroad> routingMatrix = forest.getLazyRoutingMatrix();
             FXMLLoader loader = new FXMLLoader(getClass().getResource("matrix.fxml"));
             loader.setController(new MatrixController(routingMatrix));
             Parent root = loader.load();
@@ -323,6 +354,7 @@ public class MainController implements Initializable {
 
     private void setHighlightedPath(IGraphPath<ICrossroad, IPath, Double> path) {
         highlightedPath = path;
+        renderer.setIsochrone(null);
         pathLabel.setText(path == null ? "Žádná" : "Velikost: " + formatDistance(path.getSize()));
         pathCrossroadsLabel.setText(path == null ? "" : path.getNodes().stream().map(n -> n.getId()).collect(Collectors.joining(", ")));
         pathCrossroadsCountLabel.setText(path == null ? "" : "Křižovatek: " + path.getNodes().size());
@@ -493,6 +525,44 @@ public class MainController implements Initializable {
         }
     }
 
+    @FXML
+    private void handleExportRoutingMatrix(ActionEvent event) {
+        FileChooser fileChooser = new FileChooser();
+        fileChooser.setTitle("Vyexportovat směrovací matici");
+        File file = fileChooser.showSaveDialog(stage);
+
+        if (file != null) {
+            try {
+                forest.exportRoutingMatrix(file.getAbsolutePath());
+            } catch (Exception exception) {
+                Message.showError("Export se nezdařil", exception.getMessage());
+            }
+        }
+    }
+
+    @FXML
+    private void handleOpenRoutingMatrix(ActionEvent event) {
+        FileChooser fileChooser = new FileChooser();
+        fileChooser.setTitle("Otevřít směrovací matici");
+        File file = fileChooser.showOpenDialog(stage);
+
+        if (file != null) {
+            try {
+                IRoutingMatrix<ICrossroad> routingMatrix = forest.openRoutingMatrix(file.getAbsolutePath());
+                FXMLLoader loader = new FXMLLoader(getClass().getResource("matrix.fxml"));
+                loader.setController(new MatrixController(routingMatrix));
+                Parent root = loader.load();
+                Stage stage = new Stage();
+
+                stage.setTitle("Směrovací matice " + file.getName());
+                stage.setScene(new Scene(root, 450, 450));
+                stage.show();
+            } catch (Exception exception) {
+                Message.showError("Načtení se nezdařilo", exception.getMessage());
+            }
+        }
+    }
+
     @FXML
     private void handleFindCrossroadCoords(ActionEvent event) {
         FormDialog dialog = new FormDialog("Hledání křižovatky podle souřadnic", "Najít");
@@ -38,7 +38,7 @@ public class MatrixController implements Initializable {
         TableRow[] tableData = new TableRow[matrix.getNodes().length];
 
         for (int i = 0; i < matrix.getNodes().length; i++) {
-            tableData[i] = new TableRow(matrix.getNodes()[i], matrix.getRouting()[i]);
+            tableData[i] = new TableRow(matrix.getNodes()[i], i);
         }
 
         matrixTable.getItems().setAll(tableData);
@@ -50,13 +50,16 @@ public class MatrixController implements Initializable {
      */
     private TableColumn<TableRow, String> createColumn(int i) {
         TableColumn<TableRow, String> column = new TableColumn<>(matrix.getNodes()[i].getId());
-        column.setCellValueFactory(param -> new ReadOnlyObjectWrapper<>(param.getValue().getValue()[i] == null ? "-" : param.getValue().getValue()[i].getId()));
+        column.setCellValueFactory(param -> {
+            ICrossroad next = matrix.getNext(param.getValue().getValue(), i);
+            return new ReadOnlyObjectWrapper<>(next == null ? "-" : next.getId());
+        });
         return column;
     }
 
-    private class TableRow extends Pair<ICrossroad, ICrossroad[]> {
+    private class TableRow extends Pair<ICrossroad, Integer> { // Crossroad and its index in matrix.
 
-        public TableRow(ICrossroad key, ICrossroad[] value) {
+        public TableRow(ICrossroad key, Integer value) {
             super(key, value);
         }
 
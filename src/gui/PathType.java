@@ -6,7 +6,8 @@ public enum PathType {
 
     BASIC(1, Color.BLACK, 0),
     HIGHLIGHTED(5, Color.RED, 0),
-    DISABLED(1, Color.RED, 8);
+    DISABLED(1, Color.RED, 8),
+    REACHABLE(4, Color.LIMEGREEN, 0);
 
     private int width;
     private Color color;
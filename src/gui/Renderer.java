@@ -9,6 +9,8 @@ import paths.CrossroadType;
 import paths.ICrossroad;
 import paths.IPath;
 import structures.Area;
+import structures.IEdgeCut;
+import structures.IIsochrone;
 import structures.IRange;
 
 import java.awt.*;
@@ -29,6 +31,7 @@ public class Renderer implements IRenderer {
     private boolean withLabels = true;
     private boolean withGrid = true;
     private boolean withLegend = true;
+    private IIsochrone<ICrossroad, IPath> isochrone;
 
     private Consumer<IRange<Point2D, Double>> handleSelectArea;
     private Point2D start;
@@ -78,6 +81,10 @@ public class Renderer implements IRenderer {
             renderPath(path, path.isEnabled() ? PathType.BASIC : PathType.DISABLED);
         }
 
+        if (isochrone != null) {
+            renderIsochrone();
+        }
+
         if (highlightedPaths != null) {
             for (IPath path : highlightedPaths) {
                 renderPath(path, PathType.HIGHLIGHTED);
@@ -97,6 +104,28 @@ public class Renderer implements IRenderer {
         renderLegend();
     }
 
+    /**
+     * Render reachable paths and reachable parts of paths (from end crossroad to cut point).
+     */
+    private void renderIsochrone() {
+        for (IPath path : isochrone.getEdges()) {
+            renderPath(path, PathType.REACHABLE);
+        }
+
+        for (IEdgeCut<ICrossroad, IPath> cut : isochrone.getCuts()) {
+            Point2D from = cut.getFrom().getCoords();
+            Point2D to = cut.getTo().getCoords();
+
+            if (cut.getFromRatio() > 0) {
+                renderLine(normX(from.getX()), normY(from.getY()), normX(from.getX() + (to.getX() - from.getX()) * cut.getFromRatio()), normY(from.getY() + (to.getY() - from.getY()) * cut.getFromRatio()), PathType.REACHABLE);
+            }
+
+            if (cut.getToRatio() > 0) {
+                renderLine(normX(to.getX()), normY(to.getY()), normX(to.getX() + (from.getX() - to.getX()) * cut.getToRatio()), normY(to.getY() + (from.getY() - to.getY()) * cut.getToRatio()), PathType.REACHABLE);
+            }
+        }
+    }
+
     private void renderArea(IRange<Point2D, Double> area) {
         context.setFill(Color.rgb(240, 240, 255));
         context.setStroke(Color.BLUE);
@@ -309,6 +338,11 @@ public class Renderer implements IRenderer {
         });
     }
 
+    @Override
+    public void setIsochrone(IIsochrone<ICrossroad, IPath> isochrone) {
+        this.isochrone = isochrone;
+    }
+
     @Override
     public void setWithLabels(boolean withLabels) {
         this.withLabels = withLabels;
@@ -373,7 +407,7 @@ public class Renderer implements IRenderer {
         context.setGlobalAlpha(0.7);
         context.setFill(Color.LIGHTGRAY);
         context.setTextAlign(TextAlignment.LEFT);
-        context.fillRect(sizeX - 150, 30, sizeX - 10, 170);
+        context.fillRect(sizeX - 150, 30, sizeX - 10, 195);
 
         int startY = 50;
         int startX = (int) Math.round(sizeX - 130);
@@ -401,6 +435,9 @@ public class Renderer implements IRenderer {
         renderLine(startX, startY + lineHeight * 5, startX + 20, startY + lineHeight * 5, PathType.HIGHLIGHTED);
         context.fillText("Vyznačená", startX + 30, startY + lineHeight * 5);
 
+        renderLine(startX, startY + lineHeight * 6, startX + 20, startY + lineHeight * 6, PathType.REACHABLE);
+        context.fillText("Dosažitelná", startX + 30, startY + lineHeight * 6);
+
         context.setTextAlign(TextAlignment.CENTER);
 
     }
@@ -1,5 +1,6 @@
 package paths;
 
+import javafx.util.Pair;
 import structures.*;
 
 import java.awt.*;
@@ -7,21 +8,53 @@ import java.awt.geom.Point2D;
 import java.io.*;
 import java.util.*;
 import java.util.List;
-import java.util.function.Function;
+import java.util.concurrent.ForkJoinPool;
 import java.util.stream.Collectors;
 
 public class Forest implements IForest {
 
     private IGraph<String, ICrossroad, IPath> graph;
     private IRange2DTree<ICrossroad> tree;
+    private ICompactGraph<String, ICrossroad, IPath> compactGraph; // Snapshot for routing, it is built lazily after structural change.
+    private ICustomizableContractionHierarchy<String, ICrossroad, IPath> customizableHierarchy; // It is built lazily after structural change.
+    private IContractionHierarchy<String, ICrossroad, IPath> contractionHierarchy; // It is customized after change of path.
+    private ILandmarks<String, ICrossroad, IPath> landmarks; // It is built lazily after any change.
+    private IDynamicRoutingMatrix<String, ICrossroad, IPath> routingMatrix; // It is updated after change of path.
+    private ILazyRoutingMatrix<ICrossroad> lazyRoutingMatrix; // Its rows are removed after change of path.
+    private IConnectedComponents<String> components; // It is updated after added path, found again after removed path.
+    private IServiceArea<ICrossroad, IPath> serviceArea; // Search from last source of isochrone, it is removed after any change.
+    private Map<CrossroadType, INearestFacilities<String, ICrossroad, IPath>> nearestFacilities = new EnumMap<>(CrossroadType.class); // They are removed after any change.
+    private int settledNodesCount = -1;
     private Runnable handleChange;
+    private Runnable handleDataChange;
 
     public Forest(Runnable handleChange) {
         graph = new Graph<>();
         tree = new Range2DTree<>(Arrays.asList(getCrossroads()), crossroad -> crossroad.getCoords());
+        handleDataChange = handleChange;
 
         this.handleChange = () -> {
             tree = new Range2DTree<>(Arrays.asList(getCrossroads()), crossroad -> crossroad.getCoords());
+            compactGraph = null;
+            customizableHierarchy = null;
+            contractionHierarchy = null;
+            landmarks = null;
+            lazyRoutingMatrix = null;
+            serviceArea = null;
+            nearestFacilities.clear();
+
+            if (routingMatrix != null || components != null) { // Snapshot is not built, nodes are checked by their IDs (in order of snapshot).
+                List<String> nodeIds = graph.getNodes().stream().map(ICrossroad::getId).collect(Collectors.toList());
+
+                if (routingMatrix != null && !routingMatrix.isValidFor(nodeIds)) { // Crossroads were changed.
+                    routingMatrix = null;
+                }
+
+                if (components != null && !components.isValidFor(nodeIds)) {
+                    components = null;
+                }
+            }
+
             handleChange.run();
         };
     }
@@ -64,11 +97,11 @@ public class Forest implements IForest {
         } else {
             current.setCoords(updated.getCoords());
             current.setType(updated.getType());
+            routingMatrix = null; // Sizes of paths could be changed.
 
             if (!current.getId().equals(updated.getId())) {
-                List<ICrossroad> descendants = graph.getDescendants(current.getId());
-                List<IPath> paths = descendants.stream().map(descendant -> {
-                    IPath path = graph.getEdge(descendant.getId(), current.getId());
+                List<IPath> paths = graph.getIncidentEdges(current.getId()).stream().map(incidentEdge -> {
+                    IPath path = incidentEdge.getValue();
 
                     if (path.getFrom().getId().equals(current.getId())) {
                         path.setFrom(updated);
@@ -110,6 +143,7 @@ public class Forest implements IForest {
     public void addPath(IPath path) throws IllegalArgumentException {
         graph.addEdge(path.getFrom().getId(), path.getTo().getId(), path);
         handleChange.run();
+        updateRoutingStructures(path.getFrom().getId(), path.getTo().getId(), Double.POSITIVE_INFINITY);
     }
 
     @Override
@@ -119,8 +153,10 @@ public class Forest implements IForest {
 
     @Override
     public void removePath(String fromId, String toId) throws IllegalArgumentException {
+        double oldSize = getOldRoutingSize(fromId, toId);
         graph.removeEdge(fromId, toId);
         handleChange.run();
+        updateRoutingStructures(fromId, toId, oldSize);
     }
 
     @Override
@@ -129,6 +165,20 @@ public class Forest implements IForest {
 
         if (path == null) {
             throw new NoSuchElementException("Cesta mezi " + fromId + " a " + toId + " neexistuje.");
+        } else if (hasSameCrossroads(path, updated)) { // Structure is not changed, so only data of path are patched.
+            double oldSize = getOldRoutingSize(fromId, toId);
+            graph.removeEdge(fromId, toId);
+            graph.addEdge(updated.getFrom().getId(), updated.getTo().getId(), updated);
+
+            if (compactGraph != null) {
+                compactGraph.updateEdge(fromId, toId, updated);
+            }
+
+            contractionHierarchy = customizableHierarchy == null ? null : customizableHierarchy.customize(getCompactGraph());
+            landmarks = null;
+            updateRoutingStructures(fromId, toId, oldSize);
+
+            handleDataChange.run();
         } else {
             try {
                 removePath(fromId, toId);
@@ -142,6 +192,18 @@ public class Forest implements IForest {
         }
     }
 
+    /**
+     * Check if both paths connect same crossroads (in any direction).
+     */
+    private boolean hasSameCrossroads(IPath path1, IPath path2) {
+        String from1 = path1.getFrom().getId();
+        String to1 = path1.getTo().getId();
+        String from2 = path2.getFrom().getId();
+        String to2 = path2.getTo().getId();
+
+        return (from1.equals(from2) && to1.equals(to2)) || (from1.equals(to2) && to1.equals(from2));
+    }
+
     @Override
     public IPath[] getPaths() {
         return graph.getEdges().toArray(new IPath[0]);
@@ -149,14 +211,7 @@ public class Forest implements IForest {
 
     @Override
     public IPath[] getPaths(ICrossroad crossroad) {
-        List<ICrossroad> descendants = graph.getDescendants(crossroad.getId());
-        Set<IPath> paths = new HashSet<>();
-
-        for (ICrossroad descendant : descendants) {
-            paths.add(graph.getEdge(crossroad.getId(), descendant.getId()));
-        }
-
-        return paths.toArray(new IPath[0]);
+        return graph.getIncidentEdges(crossroad.getId()).stream().map(incidentEdge -> incidentEdge.getValue()).toArray(IPath[]::new);
     }
 
     @Override
@@ -166,28 +221,310 @@ public class Forest implements IForest {
 
     @Override
     public IGraphPath<ICrossroad, IPath, Double> findShortestPath(String fromId, String toId) throws NoSuchElementException {
-        IShortestPathAlgorithm<String, ICrossroad, IPath, Double> algorithm = new Dijkstra<>(node -> node.getId(), edge -> edge.getSize(), (x, y) -> x + y, Double::compare, edge -> edge.isEnabled());
-        return algorithm.findShortestPath(graph, fromId, toId);
+        return findShortestPath(fromId, toId, RoutingAlgorithm.DIJKSTRA);
+    }
+
+    @Override
+    public IGraphPath<ICrossroad, IPath, Double> findShortestPath(String fromId, String toId, RoutingAlgorithm algorithm) throws NoSuchElementException {
+        settledNodesCount = -1;
+
+        if (!isConnected(fromId, toId)) { // There is no need to search whole component of start crossroad.
+            settledNodesCount = 0;
+            throw new NoSuchElementException("Cesta mezi vrcholy " + fromId + " a " + toId + " nebyla nalezena.");
+        }
+
+        IShortestPathAlgorithm<String, ICrossroad, IPath, Double> shortestPathAlgorithm = getShortestPathAlgorithm(algorithm);
+
+        try {
+            return shortestPathAlgorithm.findShortestPath(getCompactGraph(), fromId, toId);
+        } finally {
+            if (shortestPathAlgorithm instanceof IDoubleShortestPathAlgorithm) {
+                settledNodesCount = ((IDoubleShortestPathAlgorithm<String, ICrossroad, IPath>) shortestPathAlgorithm).getSettledNodesCount();
+            }
+        }
+    }
+
+    @Override
+    public List<IGraphPath<ICrossroad, IPath, Double>> findKShortestPaths(String fromId, String toId, int k) throws NoSuchElementException, IllegalArgumentException {
+        settledNodesCount = -1;
+
+        if (!isConnected(fromId, toId)) {
+            settledNodesCount = 0;
+            throw new NoSuchElementException("Cesta mezi vrcholy " + fromId + " a " + toId + " nebyla nalezena.");
+        }
+
+        IKShortestPaths<String, ICrossroad, IPath> kShortestPaths = new KShortestPaths<>(true);
+
+        try {
+            return kShortestPaths.findShortestPaths(getCompactGraph(), fromId, toId, k);
+        } finally {
+            settledNodesCount = kShortestPaths.getSettledNodesCount();
+        }
+    }
+
+    @Override
+    public List<IGraphPath<ICrossroad, IPath, Double>> findAlternativePaths(String fromId, String toId) throws NoSuchElementException {
+        settledNodesCount = -1;
+
+        if (!isConnected(fromId, toId)) {
+            settledNodesCount = 0;
+            throw new NoSuchElementException("Cesta mezi vrcholy " + fromId + " a " + toId + " nebyla nalezena.");
+        }
+
+        IAlternativeRoutes<String, ICrossroad, IPath> alternativeRoutes = new AlternativeRoutes<>(true);
+        return alternativeRoutes.findAlternativePaths(getCompactGraph(), fromId, toId);
     }
 
+    @Override
+    public List<IShortestPathResult<ICrossroad, IPath>> findShortestPaths(List<Pair<String, String>> queries) {
+        settledNodesCount = -1;
+        IBatchShortestPaths<String, ICrossroad, IPath> batch = new BatchShortestPaths<>(true, getComponents(), ForkJoinPool.commonPool());
+        return batch.findShortestPaths(getCompactGraph(), queries);
+    }
+
+    /**
+     * Contraction hierarchy is used only if it was already built, otherwise one partial search is run from each source.
+     */
+    @Override
+    public IDistanceTable<ICrossroad> getDistanceTable(List<String> sourceIds, List<String> targetIds, boolean isNextRequired) throws NoSuchElementException {
+        IDistanceTableCalculator<String, ICrossroad, IPath> calculator = customizableHierarchy == null ? new DistanceTableCalculator<>(true) : getContractionHierarchy();
+        return calculator.getDistanceTable(getCompactGraph(), sourceIds, targetIds, isNextRequired);
+    }
+
+    @Override
+    public IDistanceTable<ICrossroad> getDistanceTable(CrossroadType sourceType, CrossroadType targetType, boolean isNextRequired) {
+        List<String> sourceIds = Arrays.stream(getCrossroads(sourceType)).map(ICrossroad::getId).collect(Collectors.toList());
+        List<String> targetIds = Arrays.stream(getCrossroads(targetType)).map(ICrossroad::getId).collect(Collectors.toList());
+        return getDistanceTable(sourceIds, targetIds, isNextRequired);
+    }
+
+    /**
+     * Search from crossroad is kept, so next isochrone of same crossroad only continues the search (or reads its part).
+     */
+    @Override
+    public IIsochrone<ICrossroad, IPath> getIsochrone(String crossroadId, double budget) throws NoSuchElementException, IllegalArgumentException {
+        int source = getCompactGraph().getRequiredIndex(crossroadId);
+
+        if (serviceArea == null || serviceArea.getSource() != source) {
+            serviceArea = new ServiceArea<>(getCompactGraph(), source, true);
+        }
+
+        return serviceArea.getIsochrone(budget);
+    }
+
+    /**
+     * Nearest crossroads of each type are found by one search and kept until next change of map.
+     */
+    @Override
+    public INearestFacilities<String, ICrossroad, IPath> getNearestFacilities(CrossroadType type) {
+        return nearestFacilities.computeIfAbsent(type, key -> {
+            List<String> ids = Arrays.stream(getCrossroads(key)).map(ICrossroad::getId).collect(Collectors.toList());
+            return new NearestFacilities<>(getCompactGraph(), ids, true);
+        });
+    }
+
+    @Override
+    public boolean isConnected(String fromId, String toId) {
+        return getComponents().isConnected(fromId, toId);
+    }
+
+    @Override
+    public int getSettledNodesCount() {
+        return settledNodesCount;
+    }
+
+    /**
+     * Create algorithm for finding shortest paths between crossroads (only enabled paths are used).
+     * Sizes of paths are doubles, so primitive algorithms are used where they exist.
+     */
+    private IShortestPathAlgorithm<String, ICrossroad, IPath, Double> getShortestPathAlgorithm(RoutingAlgorithm algorithm) {
+        switch (algorithm) {
+            case CONTRACTION_HIERARCHIES:
+                return getContractionHierarchy();
+            case ALT:
+                return getLandmarks();
+            case A_STAR:
+                return new DoubleAStar<>(node -> node.getId(), edge -> edge.getSize(), edge -> edge.isEnabled(), (node, target) -> node.getCoords().distance(target.getCoords()));
+            case BIDIRECTIONAL_DIJKSTRA:
+                return new BidirectionalDijkstra<>(node -> node.getId(), edge -> edge.getSize(), (x, y) -> x + y, Double::compare, edge -> edge.isEnabled());
+            default:
+                return new DoubleDijkstra<>(node -> node.getId(), edge -> edge.getSize(), edge -> edge.isEnabled());
+        }
+    }
+
+    /**
+     * Routing matrix is calculated only from enabled paths. It is kept in memory and updated after changes of paths,
+     * so it is calculated again only after change of crossroads.
+     */
     @Override
     public IRoutingMatrix<ICrossroad> getRoutingMatrix() {
-        Function<ICrossroad, String> idAccessor = node -> node.getId();
-        IShortestPathAlgorithm<String, ICrossroad, IPath, Double> dijkstra = new Dijkstra<>(idAccessor, edge -> edge.getSize(), (x, y) -> x + y, Double::compare);
-        IRoutingMatrixCalculator<String, ICrossroad, IPath> calculator = new RoutingMatrixCalculator(dijkstra, idAccessor);
-        return calculator.getRoutingMatrix(graph);
+        if (routingMatrix == null) {
+            AdaptiveRoutingMatrixCalculator<String, ICrossroad, IPath> calculator = new AdaptiveRoutingMatrixCalculator<>(node -> node.getId(), edge -> edge.getSize(), edge -> edge.isEnabled());
+            routingMatrix = new DynamicRoutingMatrix<>(getCompactGraph(), calculator.getRoutingMatrix(getCompactGraph()), true);
+        }
+
+        return routingMatrix;
+    }
+
+    /**
+     * Full routing matrix is returned if it was already calculated, otherwise rows are calculated when they are accessed.
+     */
+    @Override
+    public IRoutingMatrix<ICrossroad> getLazyRoutingMatrix() {
+        if (routingMatrix != null) {
+            return routingMatrix;
+        }
+
+        if (lazyRoutingMatrix == null) {
+            lazyRoutingMatrix = new LazyRoutingMatrix<>(getCompactGraph(), true);
+        }
+
+        return lazyRoutingMatrix;
+    }
+
+    @Override
+    public void exportRoutingMatrix(String fileName) throws IOException {
+        getRoutingMatrixFile(fileName).write(getCompactGraph());
+    }
+
+    /**
+     * Opened matrix is updated after changes of paths in memory only (file stays unchanged).
+     */
+    @Override
+    public IRoutingMatrix<ICrossroad> openRoutingMatrix(String fileName) throws IOException, IllegalArgumentException {
+        CompactRoutingMatrix<ICrossroad> matrix = getRoutingMatrixFile(fileName).read(getCompactGraph());
+        routingMatrix = new DynamicRoutingMatrix<>(getCompactGraph(), matrix, true);
+        return routingMatrix;
+    }
+
+    /**
+     * @return File with routing matrix calculated only from enabled paths.
+     */
+    private RoutingMatrixFile<String, ICrossroad, IPath> getRoutingMatrixFile(String fileName) {
+        return new RoutingMatrixFile<>(fileName, new ShortestPathTreeRoutingMatrixCalculator<>(node -> node.getId(), edge -> edge.getSize(), edge -> edge.isEnabled()));
+    }
+
+    /**
+     * Update routing matrix, remove rows of lazy routing matrix and update components (if they were already calculated)
+     * after change of path.
+     * @param oldSize Size of path before change (see getOldRoutingSize).
+     */
+    private void updateRoutingStructures(String fromId, String toId, double oldSize) {
+        if (components != null) {
+            if (!Double.isInfinite(getRoutingSize(graph.getEdge(fromId, toId)))) {
+                components.union(fromId, toId);
+            } else if (!Double.isInfinite(oldSize)) { // Path was enabled (or its state is not known), so component could be split.
+                components = null;
+            }
+        }
+
+        if (lazyRoutingMatrix != null) {
+            lazyRoutingMatrix.clear();
+        }
+
+        serviceArea = null;
+        nearestFacilities.clear();
+
+        if (routingMatrix != null && Double.isNaN(oldSize)) {
+            routingMatrix = null;
+        } else if (routingMatrix != null) {
+            routingMatrix.updateEdge(getCompactGraph(), fromId, toId, oldSize);
+        }
+    }
+
+    /**
+     * @return Size of path for routing (infinity for disabled path).
+     */
+    private double getRoutingSize(IPath path) {
+        return path != null && path.isEnabled() ? path.getSize() : Double.POSITIVE_INFINITY;
+    }
+
+    /**
+     * Path can be changed in place before it is passed to forest (e. g. GUI enables or disables it),
+     * so size before change is taken from snapshot.
+     * @return Size of path for routing before change (see getRoutingSize) or NaN if there is no snapshot.
+     */
+    private double getOldRoutingSize(String fromId, String toId) {
+        if (compactGraph == null) {
+            return Double.NaN;
+        }
+
+        int from = compactGraph.getIndex(fromId);
+        int to = compactGraph.getIndex(toId);
+        int arc = from == -1 || to == -1 ? -1 : compactGraph.getArc(from, to);
+        return arc != -1 && compactGraph.isArcEnabled(arc) ? compactGraph.getArcSize(arc) : Double.POSITIVE_INFINITY;
+    }
+
+    /**
+     * @return Components of current graph (only enabled paths connect crossroads).
+     */
+    private IConnectedComponents<String> getComponents() {
+        if (components == null) {
+            components = new ConnectedComponents<>(getCompactGraph(), true);
+        }
+
+        return components;
+    }
+
+    /**
+     * @return Snapshot of current graph for routing queries.
+     */
+    private ICompactGraph<String, ICrossroad, IPath> getCompactGraph() {
+        if (compactGraph == null) {
+            compactGraph = new CompactGraph<>(graph, node -> node.getId(), edge -> edge.getSize(), edge -> edge.isEnabled());
+        }
+
+        return compactGraph;
+    }
+
+    /**
+     * @return Contraction hierarchy of current graph customized for current sizes and states of paths.
+     */
+    private IContractionHierarchy<String, ICrossroad, IPath> getContractionHierarchy() {
+        if (contractionHierarchy == null) {
+            if (customizableHierarchy == null) {
+                customizableHierarchy = new CustomizableContractionHierarchy<>(getCompactGraph());
+            }
+
+            contractionHierarchy = customizableHierarchy.customize(getCompactGraph());
+        }
+
+        return contractionHierarchy;
+    }
+
+    /**
+     * @return Landmarks of current graph.
+     */
+    private ILandmarks<String, ICrossroad, IPath> getLandmarks() {
+        if (landmarks == null) {
+            landmarks = new Landmarks<>(getCompactGraph(), true);
+        }
+
+        return landmarks;
+    }
+
+    /**
+     * @param fileName Name of file with map.
+     * @return Name of file with contraction hierarchy of the map.
+     */
+    private String getContractionHierarchyFileName(String fileName) {
+        return fileName + ".ch";
     }
 
     @Override
     public void generate(int crossroads, int landings, int stations, int pathsFrequency, double broken, double mapRatio) {
         IGenerator generator = new Generator(graph);
         generator.generate(crossroads, landings, stations, pathsFrequency, broken, mapRatio);
+        routingMatrix = null; // Crossroads can have same IDs as before, but whole graph is replaced.
+        components = null;
         handleChange.run();
     }
 
     @Override
     public void clear() {
         graph.clear();
+        routingMatrix = null;
+        components = null;
         handleChange.run();
     }
 
@@ -198,6 +535,14 @@ public class Forest implements IForest {
         os.writeObject(graph);
         os.close();
         fs.close();
+
+        if (customizableHierarchy != null) {
+            fs = new FileOutputStream(getContractionHierarchyFileName(fileName));
+            os = new ObjectOutputStream(fs);
+            os.writeObject(customizableHierarchy);
+            os.close();
+            fs.close();
+        }
     }
 
     @Override
@@ -205,6 +550,33 @@ public class Forest implements IForest {
         FileInputStream fs = new FileInputStream(fileName);
         ObjectInputStream os = new ObjectInputStream(fs);
         graph = (IGraph) os.readObject();
+        os.close();
+        fs.close();
+        routingMatrix = null; // Crossroads can have same IDs as before, but whole graph is replaced.
+        components = null;
         handleChange.run();
+        loadContractionHierarchy(getContractionHierarchyFileName(fileName));
+    }
+
+    /**
+     * Load contraction hierarchy saved next to the map. If there is no such file or hierarchy was built
+     * for different graph, hierarchy will be built again when it is needed. Loaded hierarchy is customized
+     * when it is needed, so paths may have different sizes and states than when it was saved.
+     */
+    @SuppressWarnings("unchecked")
+    private void loadContractionHierarchy(String fileName) throws IOException, ClassNotFoundException {
+        if (!new File(fileName).exists()) {
+            return;
+        }
+
+        FileInputStream fs = new FileInputStream(fileName);
+        ObjectInputStream os = new ObjectInputStream(fs);
+        Object loaded = os.readObject();
+        os.close();
+        fs.close();
+
+        if (loaded instanceof ICustomizableContractionHierarchy && ((ICustomizableContractionHierarchy<String, ICrossroad, IPath>) loaded).isValidFor(getCompactGraph())) {
+            customizableHierarchy = (ICustomizableContractionHierarchy<String, ICrossroad, IPath>) loaded;
+        }
     }
 }
@@ -1,11 +1,17 @@
 package paths;
 
+import javafx.util.Pair;
+import structures.IDistanceTable;
 import structures.IGraphPath;
+import structures.IIsochrone;
+import structures.INearestFacilities;
 import structures.IRange;
 import structures.IRoutingMatrix;
+import structures.IShortestPathResult;
 
 import java.awt.geom.Point2D;
 import java.io.IOException;
+import java.util.List;
 import java.util.NoSuchElementException;
 
 public interface IForest {
@@ -127,11 +133,112 @@ public interface IForest {
      */
     IGraphPath<ICrossroad, IPath, Double> findShortestPath(String fromId, String toId) throws NoSuchElementException;
 
+    /**
+     * Find shortest path between two crossroads using specified algorithm.
+     * @param fromId ID of start crossroad.
+     * @param toId ID of end crossroad.
+     * @param algorithm Algorithm used for finding.
+     * @return Shortest path.
+     */
+    IGraphPath<ICrossroad, IPath, Double> findShortestPath(String fromId, String toId, RoutingAlgorithm algorithm) throws NoSuchElementException;
+
+    /**
+     * Find k shortest paths between two crossroads without repeated crossroads (shortest path and its fallbacks).
+     * @param fromId ID of start crossroad.
+     * @param toId ID of end crossroad.
+     * @param k Max count of paths.
+     * @return Paths in ascending order of size.
+     * @throws IllegalArgumentException Count of paths is not positive.
+     */
+    List<IGraphPath<ICrossroad, IPath, Double>> findKShortestPaths(String fromId, String toId, int k) throws NoSuchElementException, IllegalArgumentException;
+
+    /**
+     * Find shortest path and few different alternative paths which are not much longer.
+     * @param fromId ID of start crossroad.
+     * @param toId ID of end crossroad.
+     * @return Shortest path followed by alternative paths.
+     */
+    List<IGraphPath<ICrossroad, IPath, Double>> findAlternativePaths(String fromId, String toId) throws NoSuchElementException;
+
+    /**
+     * Find shortest paths for many pairs of crossroads at once (pairs with same start crossroad share one search).
+     * @param queries Pairs of IDs of start and end crossroad.
+     * @return Result of each query in order of queries, failed query is reported in its result.
+     */
+    List<IShortestPathResult<ICrossroad, IPath>> findShortestPaths(List<Pair<String, String>> queries);
+
+    /**
+     * Calculate sizes of shortest paths from each of source crossroads to each of target crossroads.
+     * @param sourceIds IDs of source crossroads.
+     * @param targetIds IDs of target crossroads.
+     * @param isNextRequired Next crossroads on paths are calculated too.
+     * @return Table of distances.
+     * @throws NoSuchElementException Crossroad with specified ID was not found.
+     */
+    IDistanceTable<ICrossroad> getDistanceTable(List<String> sourceIds, List<String> targetIds, boolean isNextRequired) throws NoSuchElementException;
+
+    /**
+     * Calculate sizes of shortest paths from all crossroads of one type to all crossroads of other type.
+     * @param sourceType Type of source crossroads.
+     * @param targetType Type of target crossroads.
+     * @param isNextRequired Next crossroads on paths are calculated too.
+     * @return Table of distances.
+     */
+    IDistanceTable<ICrossroad> getDistanceTable(CrossroadType sourceType, CrossroadType targetType, boolean isNextRequired);
+
+    /**
+     * Find crossroads and paths (or their parts) reachable from crossroad within distance.
+     * @param crossroadId ID of start crossroad (e. g. station).
+     * @param budget Max distance from start crossroad.
+     * @return Reachable part of map.
+     * @throws NoSuchElementException Crossroad with specified ID was not found.
+     * @throws IllegalArgumentException Distance is negative.
+     */
+    IIsochrone<ICrossroad, IPath> getIsochrone(String crossroadId, double budget) throws NoSuchElementException, IllegalArgumentException;
+
+    /**
+     * Find nearest crossroad of specified type (e. g. station) for every crossroad by size of shortest path.
+     * @param type Type of searched crossroads.
+     * @return Nearest crossroads of type.
+     */
+    INearestFacilities<String, ICrossroad, IPath> getNearestFacilities(CrossroadType type);
+
+    /**
+     * @param fromId ID of first crossroad.
+     * @param toId ID of second crossroad.
+     * @return There is path between crossroads through enabled paths.
+     */
+    boolean isConnected(String fromId, String toId);
+
+    /**
+     * @return Count of crossroads settled by last finding of shortest path or -1 if used algorithm does not count them.
+     */
+    int getSettledNodesCount();
+
     /**
      * @return Routing matrix.
      */
     IRoutingMatrix<ICrossroad> getRoutingMatrix();
 
+    /**
+     * @return Routing matrix whose rows are calculated when they are needed.
+     */
+    IRoutingMatrix<ICrossroad> getLazyRoutingMatrix();
+
+    /**
+     * Calculate routing matrix directly to file, so it does not need to fit in memory.
+     * @param fileName
+     */
+    void exportRoutingMatrix(String fileName) throws IOException;
+
+    /**
+     * Open routing matrix from file and use it as routing matrix of map. Rows are loaded from disk when they are needed.
+     * @param fileName
+     * @return Routing matrix.
+     * @throws IllegalArgumentException File contains routing matrix of different map.
+     */
+    IRoutingMatrix<ICrossroad> openRoutingMatrix(String fileName) throws IOException, IllegalArgumentException;
+
     /**
      * Generate random map.
      * @param crossroads Count of crossroads.
@@ -0,0 +1,21 @@
+package paths;
+
+public enum RoutingAlgorithm {
+
+    DIJKSTRA("Dijkstra"),
+    A_STAR("A*"),
+    BIDIRECTIONAL_DIJKSTRA("Obousměrný Dijkstra"),
+    CONTRACTION_HIERARCHIES("Kontrakční hierarchie"),
+    ALT("A* s orientačními body");
+
+    private final String name;
+
+    private RoutingAlgorithm(String name) {
+        this.name = name;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
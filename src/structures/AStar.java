@@ -0,0 +1,47 @@
+package structures;
+
+import java.util.Comparator;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * A* algorithm. It is Dijkstra algorithm where nodes are explored in order of distance from start plus
+ * estimated distance to end, so nodes in direction of end node are explored first.
+ * Heuristic must be consistent (it never overestimates real distance and satisfies triangle inequality),
+ * e. g. straight-line distance when size of edge is distance between its nodes.
+ */
+public class AStar<TNodeId, TNode, TEdge, TSize> extends Dijkstra<TNodeId, TNode, TEdge, TSize> {
+
+    private BiFunction<TNode, TNode, TSize> heuristic;
+
+    public AStar(
+            Function<TNode, TNodeId> idAccessor,
+            Function<TEdge, TSize> sizeAccessor,
+            BiFunction<TSize, TSize, TSize> sizeCounter,
+            Comparator<TSize> sizeComparator,
+            BiFunction<TNode, TNode, TSize> heuristic
+    ) {
+        this(idAccessor, sizeAccessor, sizeCounter, sizeComparator, edge -> true, heuristic);
+    }
+
+    public AStar(
+            Function<TNode, TNodeId> idAccessor,
+            Function<TEdge, TSize> sizeAccessor,
+            BiFunction<TSize, TSize, TSize> sizeCounter,
+            Comparator<TSize> sizeComparator,
+            Function<TEdge, Boolean> isEnabledAccessor,
+            BiFunction<TNode, TNode, TSize> heuristic
+    ) {
+        super(idAccessor, sizeAccessor, sizeCounter, sizeComparator, isEnabledAccessor);
+        this.heuristic = heuristic;
+    }
+
+    /**
+     * @return Distance from start node plus estimated distance to end node.
+     */
+    @Override
+    protected TSize getPriority(TNode node, TNode target, TSize distance) {
+        return distance == null ? null : sizeCounter.apply(distance, heuristic.apply(node, target));
+    }
+
+}
@@ -0,0 +1,58 @@
+package structures;
+
+import java.util.NoSuchElementException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Routing matrix calculator which chooses algorithm by density of graph. Floyd-Warshall algorithm needs n^3 cheap
+ * operations regardless of edges, shortest path trees need about n * m * log n more expensive operations,
+ * so Floyd-Warshall algorithm is used for small graphs where count of arcs is comparable with n^2.
+ * Maps of Forest have about 4 arcs per node, so they reach the density only with at most 10 nodes
+ * and shortest path trees are used for practically all of them.
+ */
+public class AdaptiveRoutingMatrixCalculator<TNodeId, TNode, TEdge> implements IRoutingMatrixCalculator<TNodeId, TNode, TEdge> {
+
+    private static final double MIN_FLOYD_WARSHALL_DENSITY = 0.4; // Arcs divided by n^2, measured break-even point is about 0.45.
+
+    private Function<TNode, TNodeId> idAccessor;
+    private ToDoubleFunction<TEdge> sizeAccessor;
+    private Function<TEdge, Boolean> isEnabledAccessor;
+    private FloydWarshallRoutingMatrixCalculator<TNodeId, TNode, TEdge> floydWarshall;
+    private ShortestPathTreeRoutingMatrixCalculator<TNodeId, TNode, TEdge> shortestPathTrees;
+
+    public AdaptiveRoutingMatrixCalculator(Function<TNode, TNodeId> idAccessor, ToDoubleFunction<TEdge> sizeAccessor, Function<TEdge, Boolean> isEnabledAccessor, ForkJoinPool pool) {
+        this.idAccessor = idAccessor;
+        this.sizeAccessor = sizeAccessor;
+        this.isEnabledAccessor = isEnabledAccessor;
+        floydWarshall = new FloydWarshallRoutingMatrixCalculator<>(idAccessor, sizeAccessor, isEnabledAccessor, pool);
+        shortestPathTrees = new ShortestPathTreeRoutingMatrixCalculator<>(idAccessor, sizeAccessor, isEnabledAccessor, pool);
+    }
+
+    public AdaptiveRoutingMatrixCalculator(Function<TNode, TNodeId> idAccessor, ToDoubleFunction<TEdge> sizeAccessor, Function<TEdge, Boolean> isEnabledAccessor) {
+        this(idAccessor, sizeAccessor, isEnabledAccessor, ForkJoinPool.commonPool());
+    }
+
+    @Override
+    public CompactRoutingMatrix<TNode> getRoutingMatrix(IGraph<TNodeId, TNode, TEdge> graph) throws NoSuchElementException {
+        ICompactGraph<TNodeId, TNode, TEdge> compactGraph = CompactGraph.of(graph, idAccessor, sizeAccessor, isEnabledAccessor);
+        return isDense(compactGraph) ? floydWarshall.getRoutingMatrix(compactGraph) : shortestPathTrees.getRoutingMatrix(compactGraph);
+    }
+
+    /**
+     * @return Calculator suitable for graph.
+     */
+    public IRoutingMatrixCalculator<TNodeId, TNode, TEdge> getCalculator(ICompactGraph<TNodeId, TNode, TEdge> graph) {
+        return isDense(graph) ? floydWarshall : shortestPathTrees;
+    }
+
+    /**
+     * @return Graph is dense and small enough for Floyd-Warshall algorithm.
+     */
+    private boolean isDense(ICompactGraph<TNodeId, TNode, TEdge> graph) {
+        long nodesCount = graph.getNodesCount();
+        return nodesCount > 0 && nodesCount <= FloydWarshallRoutingMatrixCalculator.MAX_NODES_COUNT && graph.getArcsCount() >= MIN_FLOYD_WARSHALL_DENSITY * nodesCount * nodesCount;
+    }
+
+}
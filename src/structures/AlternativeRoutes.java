@@ -0,0 +1,281 @@
+package structures;
+
+import java.util.*;
+
+/**
+ * Alternative paths found by plateau method. Forward tree from start node and backward tree from end node are built
+ * only up to (1 + maxStretch) * size of shortest path. Plateau is chain of edges which are in both trees, so path
+ * through any node of plateau (forward tree to the node, backward tree from the node) contains whole plateau.
+ * Long plateau means that detour of path is locally shortest. Path of plateau is accepted if it is not too long,
+ * it shares limited part with each already accepted path and it has no loop. Plateaus are tried in order
+ * of 2 * size of path - size of plateau (shorter paths with long plateaus first).
+ */
+public class AlternativeRoutes<TNodeId, TNode, TEdge> implements IAlternativeRoutes<TNodeId, TNode, TEdge> {
+
+    public static final int DEFAULT_MAX_ALTERNATIVES = 3;
+    public static final double DEFAULT_MAX_STRETCH = 0.25;
+    public static final double DEFAULT_MAX_SHARING = 0.6;
+    public static final double DEFAULT_MIN_PLATEAU = 0.2;
+
+    private boolean isEnabledRequired;
+    private int maxAlternatives;
+    private double maxStretch;
+    private double maxSharing;
+    private double minPlateau;
+
+    /**
+     * @param isEnabledRequired Only enabled edges are used (enabled state is taken from compact graph).
+     * @param maxAlternatives Max count of alternative paths.
+     * @param maxStretch Alternative path is at most (1 + maxStretch) times longer than shortest path.
+     * @param maxSharing Alternative path shares at most maxSharing * size of shortest path with each other path.
+     * @param minPlateau Plateau of alternative path is at least minPlateau * size of shortest path.
+     */
+    public AlternativeRoutes(boolean isEnabledRequired, int maxAlternatives, double maxStretch, double maxSharing, double minPlateau) {
+        this.isEnabledRequired = isEnabledRequired;
+        this.maxAlternatives = maxAlternatives;
+        this.maxStretch = maxStretch;
+        this.maxSharing = maxSharing;
+        this.minPlateau = minPlateau;
+    }
+
+    public AlternativeRoutes(boolean isEnabledRequired) {
+        this(isEnabledRequired, DEFAULT_MAX_ALTERNATIVES, DEFAULT_MAX_STRETCH, DEFAULT_MAX_SHARING, DEFAULT_MIN_PLATEAU);
+    }
+
+    @Override
+    public List<IGraphPath<TNode, TEdge, Double>> findAlternativePaths(ICompactGraph<TNodeId, TNode, TEdge> graph, TNodeId fromId, TNodeId toId) throws NoSuchElementException {
+        int from = graph.getIndex(fromId);
+        int to = graph.getIndex(toId);
+
+        if (from == -1 || to == -1 || from == to) {
+            throw new NoSuchElementException("Cesta mezi vrcholy " + fromId + " a " + toId + " nebyla nalezena.");
+        }
+
+        SearchWorkspace forward = SearchWorkspace.get(graph.getNodesCount(), 0);
+        SearchWorkspace backward = SearchWorkspace.get(graph.getNodesCount(), 1);
+        double shortest = search(graph, forward, from, to, Double.POSITIVE_INFINITY);
+
+        if (shortest == Double.POSITIVE_INFINITY) {
+            throw new NoSuchElementException("Cesta mezi vrcholy " + fromId + " a " + toId + " nebyla nalezena.");
+        }
+
+        double limit = (1 + maxStretch) * shortest;
+        search(graph, backward, to, from, limit);
+        int[] marks = new int[graph.getNodesCount()]; // Nodes of forward part of via path are marked by number of the path.
+        int mark = 1;
+        List<int[]> accepted = new ArrayList<>();
+        List<Set<Long>> acceptedEdges = new ArrayList<>();
+        accepted.add(getViaPath(forward, backward, to, marks, mark));
+        acceptedEdges.add(getEdgeKeys(accepted.get(0)));
+
+        for (int via : getPlateaus(graph, forward, backward, from, limit, acceptedEdges.get(0), shortest)) {
+            if (accepted.size() > maxAlternatives) {
+                break;
+            }
+
+            int[] path = getViaPath(forward, backward, via, marks, ++mark);
+
+            if (path == null) { // Path has loop.
+                continue;
+            }
+
+            Set<Long> edges = getEdgeKeys(path);
+            boolean isDifferent = true;
+
+            for (Set<Long> other : acceptedEdges) {
+                if (getSharedSize(graph, path, other) > maxSharing * shortest) {
+                    isDifferent = false;
+                    break;
+                }
+            }
+
+            if (isDifferent) {
+                accepted.add(path);
+                acceptedEdges.add(edges);
+            }
+        }
+
+        List<IGraphPath<TNode, TEdge, Double>> paths = new ArrayList<>(accepted.size());
+
+        for (int[] path : accepted) {
+            paths.add(toGraphPath(graph, path));
+        }
+
+        return paths;
+    }
+
+    /**
+     * Dijkstra algorithm from source. Search continues after target is settled until lowest distance exceeds limit
+     * ((1 + maxStretch) * distance of target if limit is infinity).
+     * @return Distance of target or infinity if target was not settled.
+     */
+    private double search(ICompactGraph<TNodeId, TNode, TEdge> graph, SearchWorkspace workspace, int source, int target, double limit) {
+        workspace.start();
+        workspace.relax(source, 0, 0, -1, -1);
+
+        while (!workspace.isHeapEmpty() && workspace.peekKey() <= limit) {
+            int current = workspace.settle();
+            double distance = workspace.getDistance(current);
+
+            if (current == target && limit == Double.POSITIVE_INFINITY) {
+                limit = (1 + maxStretch) * distance;
+            }
+
+            for (int arc = graph.getArcsStart(current); arc < graph.getArcsEnd(current); arc++) {
+                if (isEnabledRequired && !graph.isArcEnabled(arc)) {
+                    continue;
+                }
+
+                int next = graph.getArcTarget(arc);
+                double totalDistance = distance + graph.getArcSize(arc);
+
+                if (totalDistance < workspace.getDistance(next) && (!workspace.isReached(next) || workspace.isInHeap(next))) {
+                    workspace.relax(next, totalDistance, totalDistance, current, arc);
+                }
+            }
+        }
+
+        return isSettled(workspace, target) ? workspace.getDistance(target) : Double.POSITIVE_INFINITY;
+    }
+
+    private boolean isSettled(SearchWorkspace workspace, int node) {
+        return workspace.isReached(node) && !workspace.isInHeap(node);
+    }
+
+    /**
+     * Find plateaus in order of settling of forward tree (start of plateau is settled before its other nodes).
+     * Plateau of each node is stored in arrays indexed by node, only settled nodes of forward tree are written.
+     * @return Last node of each admissible plateau ordered by score.
+     */
+    private List<Integer> getPlateaus(ICompactGraph<TNodeId, TNode, TEdge> graph, SearchWorkspace forward, SearchWorkspace backward, int from, double limit, Set<Long> shortestEdges, double shortest) {
+        int[] starts = new int[graph.getNodesCount()]; // First node of plateau of node (-1 if node is not on plateau).
+        double[] lengths = new double[graph.getNodesCount()]; // Size of plateau from first node to node.
+        int[] ends = new int[graph.getNodesCount()]; // Last node of plateau (only for first nodes of plateaus).
+        int[] plateauStarts = new int[forward.getSettledNodesCount()];
+        int plateausCount = 0;
+        starts[from] = -1;
+
+        for (int position = 1; position < forward.getSettledNodesCount(); position++) {
+            int node = forward.getSettledNode(position);
+            starts[node] = -1;
+
+            if (!isSettled(backward, node) || forward.getDistance(node) + backward.getDistance(node) > limit) {
+                continue;
+            }
+
+            int predecessor = forward.getPredecessor(node);
+
+            if (backward.getPredecessor(predecessor) != node || starts[predecessor] == -1) {
+                starts[node] = node;
+                lengths[node] = 0;
+                ends[node] = node;
+                plateauStarts[plateausCount++] = node;
+                continue;
+            }
+
+            int start = starts[predecessor];
+            starts[node] = start;
+            lengths[node] = lengths[predecessor] + graph.getArcSize(forward.getPredecessorArc(node));
+
+            if (lengths[node] > lengths[ends[start]]) {
+                ends[start] = node;
+            }
+        }
+
+        List<Integer> plateaus = new ArrayList<>();
+
+        for (int i = 0; i < plateausCount; i++) {
+            int start = plateauStarts[i];
+
+            if (lengths[ends[start]] >= minPlateau * shortest && !shortestEdges.contains(getEdgeKey(start, backward.getPredecessor(start)))) { // Plateau of shortest path is skipped.
+                plateaus.add(ends[start]);
+            }
+        }
+
+        plateaus.sort(Comparator.comparingDouble(end -> 2 * (forward.getDistance(starts[end]) + backward.getDistance(starts[end])) - lengths[end]));
+        return plateaus;
+    }
+
+    /**
+     * @param marks Nodes marked by previous via paths.
+     * @param mark Number of this via path (it must be different from numbers of previous via paths).
+     * @return Nodes of path from start node to via node (forward tree) and from via node to end node (backward tree) or null if path has loop.
+     */
+    private int[] getViaPath(SearchWorkspace forward, SearchWorkspace backward, int via, int[] marks, int mark) {
+        int forwardCount = 0;
+        int count = 0;
+
+        for (int node = via; node != -1; node = forward.getPredecessor(node)) {
+            marks[node] = mark;
+            forwardCount++;
+        }
+
+        for (int node = backward.getPredecessor(via); node != -1; node = backward.getPredecessor(node)) {
+            if (marks[node] == mark) {
+                return null;
+            }
+
+            count++;
+        }
+
+        int[] nodes = new int[forwardCount + count];
+
+        for (int node = via, i = forwardCount - 1; node != -1; node = forward.getPredecessor(node), i--) {
+            nodes[i] = node;
+        }
+
+        for (int node = backward.getPredecessor(via), i = forwardCount; node != -1; node = backward.getPredecessor(node), i++) {
+            nodes[i] = node;
+        }
+
+        return nodes;
+    }
+
+    private Set<Long> getEdgeKeys(int[] path) {
+        Set<Long> keys = new HashSet<>(path.length * 2);
+
+        for (int i = 1; i < path.length; i++) {
+            keys.add(getEdgeKey(path[i - 1], path[i]));
+        }
+
+        return keys;
+    }
+
+    /**
+     * @return Key of undirected edge.
+     */
+    private long getEdgeKey(int first, int second) {
+        return ((long) Math.min(first, second) << 32) | Math.max(first, second);
+    }
+
+    private double getSharedSize(ICompactGraph<TNodeId, TNode, TEdge> graph, int[] path, Set<Long> edges) {
+        double size = 0;
+
+        for (int i = 1; i < path.length; i++) {
+            if (edges.contains(getEdgeKey(path[i - 1], path[i]))) {
+                size += graph.getArcSize(graph.getArc(path[i - 1], path[i]));
+            }
+        }
+
+        return size;
+    }
+
+    private IGraphPath<TNode, TEdge, Double> toGraphPath(ICompactGraph<TNodeId, TNode, TEdge> graph, int[] path) {
+        List<TNode> nodes = new ArrayList<>(path.length);
+        List<TEdge> edges = new ArrayList<>(path.length - 1);
+        double size = 0;
+
+        for (int i = 0; i < path.length; i++) {
+            nodes.add(graph.getNodeAt(path[i]));
+
+            if (i > 0) {
+                int arc = graph.getArc(path[i - 1], path[i]);
+                edges.add(graph.getArcEdge(arc));
+                size += graph.getArcSize(arc);
+            }
+        }
+
+        return new GraphPath<>(nodes, edges, size);
+    }
+
+}
@@ -0,0 +1,138 @@
+package structures;
+
+import javafx.util.Pair;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Queries are grouped by start node and each group is answered by one Dijkstra search from its start node,
+ * which stops when all end nodes of group are settled. Groups are independent, so they are split between threads of pool.
+ * If components of graph are known, end nodes in other components are reported without search.
+ */
+public class BatchShortestPaths<TNodeId, TNode, TEdge> implements IBatchShortestPaths<TNodeId, TNode, TEdge> {
+
+    private static final int SOURCES_PER_TASK = 4;
+
+    private boolean isEnabledRequired;
+    private IConnectedComponents<TNodeId> components;
+    private ForkJoinPool pool;
+
+    /**
+     * @param isEnabledRequired Only enabled edges are used (enabled state is taken from compact graph).
+     * @param components Components of graph (with same enabled edges) or null.
+     * @param pool Pool of threads for searches.
+     */
+    public BatchShortestPaths(boolean isEnabledRequired, IConnectedComponents<TNodeId> components, ForkJoinPool pool) {
+        this.isEnabledRequired = isEnabledRequired;
+        this.components = components;
+        this.pool = pool;
+    }
+
+    public BatchShortestPaths(boolean isEnabledRequired) {
+        this(isEnabledRequired, null, ForkJoinPool.commonPool());
+    }
+
+    @Override
+    public List<IShortestPathResult<TNode, TEdge>> findShortestPaths(ICompactGraph<TNodeId, TNode, TEdge> graph, List<Pair<TNodeId, TNodeId>> queries) {
+        @SuppressWarnings("unchecked")
+        IShortestPathResult<TNode, TEdge>[] results = (IShortestPathResult<TNode, TEdge>[]) new IShortestPathResult<?, ?>[queries.size()];
+        Map<Integer, List<Integer>> groups = new LinkedHashMap<>(); // Start node -> positions of its queries.
+
+        for (int i = 0; i < queries.size(); i++) {
+            TNodeId fromId = queries.get(i).getKey();
+            TNodeId toId = queries.get(i).getValue();
+            int from = graph.getIndex(fromId);
+            int to = graph.getIndex(toId);
+
+            if (from == -1 || to == -1) {
+                results[i] = new ShortestPathResult<>("Vrchol " + (from == -1 ? fromId : toId) + " nebyl nalezen.");
+            } else if (from == to || (components != null && !components.isConnected(fromId, toId))) {
+                results[i] = new ShortestPathResult<>(getNotFoundError(graph, from, to));
+            } else {
+                groups.computeIfAbsent(from, key -> new ArrayList<>()).add(i);
+            }
+        }
+
+        int[] sources = new int[groups.size()];
+        int[][] positions = new int[groups.size()][];
+        int group = 0;
+
+        for (Map.Entry<Integer, List<Integer>> entry : groups.entrySet()) {
+            sources[group] = entry.getKey();
+            positions[group++] = entry.getValue().stream().mapToInt(Integer::intValue).toArray();
+        }
+
+        pool.invoke(new GroupsTask(graph, queries, sources, positions, results, 0, sources.length));
+        return Arrays.asList(results);
+    }
+
+    /**
+     * Answer all queries of one start node from one partial shortest path tree.
+     */
+    private void findGroup(ICompactGraph<TNodeId, TNode, TEdge> graph, List<Pair<TNodeId, TNodeId>> queries, int source, int[] positions, IShortestPathResult<TNode, TEdge>[] results) {
+        int[] targets = new int[positions.length];
+
+        for (int i = 0; i < positions.length; i++) {
+            targets[i] = graph.getIndex(queries.get(positions[i]).getValue());
+        }
+
+        targets = Arrays.stream(targets).sorted().distinct().toArray();
+        IShortestPathTree<TNode, TEdge> tree = new ShortestPathTree<>(graph, source, isEnabledRequired, SearchWorkspace.get(graph.getNodesCount()), targets);
+
+        for (int position : positions) {
+            int target = graph.getIndex(queries.get(position).getValue());
+
+            try {
+                results[position] = new ShortestPathResult<>(tree.getPath(target));
+            } catch (NoSuchElementException exception) {
+                results[position] = new ShortestPathResult<>(exception.getMessage());
+            }
+        }
+    }
+
+    private String getNotFoundError(ICompactGraph<TNodeId, TNode, TEdge> graph, int from, int to) {
+        return "Cesta mezi vrcholy " + graph.getNodeIdAt(from) + " a " + graph.getNodeIdAt(to) + " nebyla nalezena.";
+    }
+
+    /**
+     * Task for groups from start (inclusive) to end (exclusive). Large range is split into two halves.
+     */
+    private class GroupsTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private ICompactGraph<TNodeId, TNode, TEdge> graph;
+        private List<Pair<TNodeId, TNodeId>> queries;
+        private int[] sources;
+        private int[][] positions;
+        private IShortestPathResult<TNode, TEdge>[] results;
+        private int start;
+        private int end;
+
+        public GroupsTask(ICompactGraph<TNodeId, TNode, TEdge> graph, List<Pair<TNodeId, TNodeId>> queries, int[] sources, int[][] positions, IShortestPathResult<TNode, TEdge>[] results, int start, int end) {
+            this.graph = graph;
+            this.queries = queries;
+            this.sources = sources;
+            this.positions = positions;
+            this.results = results;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected void compute() {
+            if (end - start <= SOURCES_PER_TASK) {
+                for (int group = start; group < end; group++) {
+                    findGroup(graph, queries, sources[group], positions[group], results);
+                }
+            } else {
+                int middle = (start + end) / 2;
+                invokeAll(new GroupsTask(graph, queries, sources, positions, results, start, middle), new GroupsTask(graph, queries, sources, positions, results, middle, end));
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,211 @@
+package structures;
+
+import javafx.util.Pair;
+
+import java.util.*;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Dijkstra algorithm which searches from start node and from end node at once (graph is undirected,
+ * so backward search uses same edges). Both searches together explore roughly half of nodes of one search.
+ */
+public class BidirectionalDijkstra<TNodeId, TNode, TEdge, TSize> implements IShortestPathAlgorithm<TNodeId, TNode, TEdge, TSize> {
+
+    private Function<TNode, TNodeId> idAccessor;
+    private Function<TEdge, TSize> sizeAccessor;
+    private Function<TEdge, Boolean> isEnabledAccessor;
+    private BiFunction<TSize, TSize, TSize> sizeCounter;
+    private Comparator<TSize> sizeComparator;
+
+    public BidirectionalDijkstra(
+            Function<TNode, TNodeId> idAccessor,
+            Function<TEdge, TSize> sizeAccessor,
+            BiFunction<TSize, TSize, TSize> sizeCounter,
+            Comparator<TSize> sizeComparator
+    ) {
+        this(idAccessor, sizeAccessor, sizeCounter, sizeComparator, edge -> true);
+    }
+
+    public BidirectionalDijkstra(
+            Function<TNode, TNodeId> idAccessor,
+            Function<TEdge, TSize> sizeAccessor,
+            BiFunction<TSize, TSize, TSize> sizeCounter,
+            Comparator<TSize> sizeComparator,
+            Function<TEdge, Boolean> isEnabledAccessor
+    ) {
+        this.idAccessor = idAccessor;
+        this.sizeAccessor = sizeAccessor;
+        this.isEnabledAccessor = isEnabledAccessor;
+        this.sizeCounter = sizeCounter;
+        this.sizeComparator = Comparator.nullsLast(sizeComparator);
+    }
+
+    /**
+     * Run forward search from start node and backward search from end node. In each step settle one node
+     * of search with smaller heap. When relaxed edge leads to node discovered by other search,
+     * path through this edge is candidate for shortest path.
+     * Stop when sum of lowest distances in both heaps is not lower than shortest candidate,
+     * because no path through unsettled nodes can be shorter.
+     * @param graph
+     * @param fromId ID of first node.
+     * @param toId ID of second node.
+     * @return Shortest path between nodes.
+     * @throws IllegalArgumentException
+     * @throws NoSuchElementException
+     */
+    @Override
+    public IGraphPath<TNode, TEdge, TSize> findShortestPath(IGraph<TNodeId, TNode, TEdge> graph, TNodeId fromId, TNodeId toId) throws IllegalArgumentException, NoSuchElementException {
+        TNode from = graph.getNode(fromId);
+        TNode to = graph.getNode(toId);
+
+        if (from == null || to == null || fromId.equals(toId)) {
+            throw new NoSuchElementException("Cesta mezi vrcholy " + fromId + " a " + toId + " nebyla nalezena.");
+        }
+
+        Search forward = new Search(from);
+        Search backward = new Search(to);
+        TSize shortest = null;
+        TNodeId meetingId = null;
+
+        while (!forward.heap.isEmpty() && !backward.heap.isEmpty()) {
+            if (meetingId != null && sizeComparator.compare(add(forward.getLowestDistance(), backward.getLowestDistance()), shortest) >= 0) {
+                break;
+            }
+
+            Search search = forward.heap.size() <= backward.heap.size() ? forward : backward;
+            Search other = search == forward ? backward : forward;
+            int currentIndex = search.heap.poll();
+            TNodeId currentId = idAccessor.apply(search.nodes.get(currentIndex));
+            TSize currentDistance = search.distances.get(currentIndex);
+
+            for (Pair<TNode, TEdge> incidentEdge : graph.getIncidentEdges(currentId)) {
+                TEdge edge = incidentEdge.getValue();
+
+                if (!isEnabledAccessor.apply(edge)) {
+                    continue;
+                }
+
+                TNode descendant = incidentEdge.getKey();
+                TNodeId descendantId = idAccessor.apply(descendant);
+                TSize totalDistance = add(currentDistance, sizeAccessor.apply(edge));
+                search.relax(descendant, descendantId, totalDistance, currentIndex, edge);
+
+                Integer otherIndex = other.indices.get(descendantId);
+
+                if (otherIndex != null) {
+                    TSize candidate = add(search.distances.get(search.indices.get(descendantId)), other.distances.get(otherIndex));
+
+                    if (meetingId == null || sizeComparator.compare(candidate, shortest) < 0) {
+                        shortest = candidate;
+                        meetingId = descendantId;
+                    }
+                }
+            }
+        }
+
+        if (meetingId == null) {
+            throw new NoSuchElementException("Cesta mezi vrcholy " + fromId + " a " + toId + " nebyla nalezena.");
+        }
+
+        return buildPath(forward, backward, meetingId, shortest);
+    }
+
+    /**
+     * Join path from start node to meeting node (found by forward search) and path from meeting node
+     * to end node (found by backward search).
+     */
+    private IGraphPath<TNode, TEdge, TSize> buildPath(Search forward, Search backward, TNodeId meetingId, TSize size) {
+        List<TNode> nodes = new ArrayList<>();
+        List<TEdge> edges = new ArrayList<>();
+        int index = forward.indices.get(meetingId);
+        Pair<Integer, TEdge> predecessor;
+        nodes.add(forward.nodes.get(index));
+
+        while ((predecessor = forward.predecessors.get(index)) != null) {
+            index = predecessor.getKey();
+            edges.add(predecessor.getValue());
+            nodes.add(forward.nodes.get(index));
+        }
+
+        Collections.reverse(nodes);
+        Collections.reverse(edges);
+        index = backward.indices.get(meetingId);
+
+        while ((predecessor = backward.predecessors.get(index)) != null) {
+            index = predecessor.getKey();
+            edges.add(predecessor.getValue());
+            nodes.add(backward.nodes.get(index));
+        }
+
+        return new GraphPath<>(nodes, edges, size);
+    }
+
+    /**
+     * Sum of sizes, where null is size of empty path.
+     */
+    private TSize add(TSize size1, TSize size2) {
+        if (size1 == null) {
+            return size2;
+        } else if (size2 == null) {
+            return size1;
+        }
+
+        return sizeCounter.apply(size1, size2);
+    }
+
+    /**
+     * State of one direction of search. Nodes are indexed in order of discovery.
+     */
+    private class Search {
+
+        public Map<TNodeId, Integer> indices;
+        public List<TNode> nodes;
+        public List<TSize> distances;
+        public List<Pair<Integer, TEdge>> predecessors;
+        public ComparatorIndexedHeap<TSize> heap;
+
+        public Search(TNode start) {
+            indices = new HashMap<>();
+            nodes = new ArrayList<>();
+            distances = new ArrayList<>();
+            predecessors = new ArrayList<>();
+            heap = new ComparatorIndexedHeap<>(sizeComparator);
+
+            indices.put(idAccessor.apply(start), 0);
+            nodes.add(start);
+            distances.add(null);
+            predecessors.add(null);
+            heap.add(0, null);
+        }
+
+        /**
+         * Discover node or decrease its distance if it is in heap and new distance is lower.
+         */
+        public void relax(TNode node, TNodeId nodeId, TSize distance, int predecessorIndex, TEdge edge) {
+            Integer index = indices.get(nodeId);
+
+            if (index == null) {
+                index = nodes.size();
+                indices.put(nodeId, index);
+                nodes.add(node);
+                distances.add(distance);
+                predecessors.add(new Pair<>(predecessorIndex, edge));
+                heap.add(index, distance);
+            } else if (heap.contains(index) && sizeComparator.compare(distance, distances.get(index)) < 0) {
+                distances.set(index, distance);
+                predecessors.set(index, new Pair<>(predecessorIndex, edge));
+                heap.decreaseKey(index, distance);
+            }
+        }
+
+        /**
+         * @return Lowest distance of node in heap.
+         */
+        public TSize getLowestDistance() {
+            return distances.get(heap.peek());
+        }
+
+    }
+
+}
@@ -0,0 +1,317 @@
+package structures;
+
+import javafx.util.Pair;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Compressed sparse row (CSR) snapshot of graph. Adjacency of all nodes is stored in few primitive arrays,
+ * so searches do not need to hash node IDs or follow references between node and edge objects.
+ * Snapshot cannot be changed structurally, only data of existing edges can be patched (see updateEdge).
+ */
+public class CompactGraph<TNodeId, TNode, TEdge> implements ICompactGraph<TNodeId, TNode, TEdge> {
+
+    private ToDoubleFunction<TEdge> sizeAccessor;
+    private Function<TEdge, Boolean> isEnabledAccessor;
+
+    private Map<TNodeId, Integer> indices;
+    private Object[] nodeIds;
+    private Object[] nodes;
+
+    private int[] offsets; // Arcs of node i are on positions offsets[i] to offsets[i + 1] - 1.
+    private int[] targets;
+    private double[] sizes;
+    private BitSet enabled;
+    private Object[] edges;
+
+    public CompactGraph(IGraph<TNodeId, TNode, TEdge> graph, Function<TNode, TNodeId> idAccessor, ToDoubleFunction<TEdge> sizeAccessor) {
+        this(graph, idAccessor, sizeAccessor, edge -> true);
+    }
+
+    public CompactGraph(IGraph<TNodeId, TNode, TEdge> graph, Function<TNode, TNodeId> idAccessor, ToDoubleFunction<TEdge> sizeAccessor, Function<TEdge, Boolean> isEnabledAccessor) {
+        this.sizeAccessor = sizeAccessor;
+        this.isEnabledAccessor = isEnabledAccessor;
+        build(graph, idAccessor);
+    }
+
+    /**
+     * Get compact graph for algorithm which accepts any graph.
+     * @return Graph itself if it is compact already, otherwise new compact graph with states of edges from accessor.
+     */
+    static <TNodeId, TNode, TEdge> ICompactGraph<TNodeId, TNode, TEdge> of(IGraph<TNodeId, TNode, TEdge> graph, Function<TNode, TNodeId> idAccessor, ToDoubleFunction<TEdge> sizeAccessor, Function<TEdge, Boolean> isEnabledAccessor) {
+        if (graph instanceof ICompactGraph) {
+            return (ICompactGraph<TNodeId, TNode, TEdge>) graph;
+        }
+
+        return new CompactGraph<>(graph, idAccessor, sizeAccessor, isEnabledAccessor);
+    }
+
+    /**
+     * Assign index to each node and then copy descendants of all nodes to arrays in order of indices.
+     */
+    private void build(IGraph<TNodeId, TNode, TEdge> graph, Function<TNode, TNodeId> idAccessor) {
+        List<TNode> graphNodes = graph.getNodes();
+        int nodesCount = graphNodes.size();
+        indices = new HashMap<>(nodesCount * 2);
+        nodeIds = new Object[nodesCount];
+        nodes = new Object[nodesCount];
+        offsets = new int[nodesCount + 1];
+
+        for (int i = 0; i < nodesCount; i++) {
+            TNode node = graphNodes.get(i);
+            TNodeId nodeId = idAccessor.apply(node);
+            indices.put(nodeId, i);
+            nodeIds[i] = nodeId;
+            nodes[i] = node;
+        }
+
+        List<Integer> targetsList = new ArrayList<>();
+        List<TEdge> edgesList = new ArrayList<>();
+
+        for (int i = 0; i < nodesCount; i++) {
+            offsets[i] = targetsList.size();
+            TNodeId nodeId = getNodeIdAt(i);
+
+            for (Pair<TNode, TEdge> incident : graph.getIncidentEdges(nodeId)) {
+                targetsList.add(indices.get(idAccessor.apply(incident.getKey())));
+                edgesList.add(incident.getValue());
+            }
+        }
+
+        int arcsCount = targetsList.size();
+        offsets[nodesCount] = arcsCount;
+        targets = new int[arcsCount];
+        sizes = new double[arcsCount];
+        enabled = new BitSet(arcsCount);
+        edges = new Object[arcsCount];
+
+        for (int arc = 0; arc < arcsCount; arc++) {
+            targets[arc] = targetsList.get(arc);
+            setArc(arc, edgesList.get(arc));
+        }
+    }
+
+    /**
+     * Copy size, state and data of edge to arc.
+     */
+    private void setArc(int arc, TEdge edge) {
+        edges[arc] = edge;
+        sizes[arc] = sizeAccessor.applyAsDouble(edge);
+        enabled.set(arc, isEnabledAccessor.apply(edge));
+    }
+
+    @Override
+    public int getNodesCount() {
+        return nodes.length;
+    }
+
+    @Override
+    public int getArcsCount() {
+        return targets.length;
+    }
+
+    @Override
+    public int getIndex(TNodeId nodeId) {
+        Integer index = indices.get(nodeId);
+        return index == null ? -1 : index;
+    }
+
+    @Override
+    public int getRequiredIndex(TNodeId nodeId) throws NoSuchElementException {
+        Integer index = indices.get(nodeId);
+
+        if (index == null) {
+            throw new NoSuchElementException("Vrchol " + nodeId + " nebyl nalezen.");
+        }
+
+        return index;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public TNodeId getNodeIdAt(int index) {
+        return (TNodeId) nodeIds[index];
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public TNode getNodeAt(int index) {
+        return (TNode) nodes[index];
+    }
+
+    @Override
+    public int getArcsStart(int index) {
+        return offsets[index];
+    }
+
+    @Override
+    public int getArcsEnd(int index) {
+        return offsets[index + 1];
+    }
+
+    @Override
+    public int getArc(int from, int to) {
+        for (int arc = offsets[from]; arc < offsets[from + 1]; arc++) {
+            if (targets[arc] == to) {
+                return arc;
+            }
+        }
+
+        return -1;
+    }
+
+    @Override
+    public int getArcTarget(int arc) {
+        return targets[arc];
+    }
+
+    @Override
+    public double getArcSize(int arc) {
+        return sizes[arc];
+    }
+
+    @Override
+    public boolean isArcEnabled(int arc) {
+        return enabled.get(arc);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public TEdge getArcEdge(int arc) {
+        return (TEdge) edges[arc];
+    }
+
+    /**
+     * Checksum is sum of hashes of all nodes and edges, so it does not depend on order of nodes.
+     */
+    @Override
+    public long getChecksum() {
+        long checksum = nodes.length;
+
+        for (int i = 0; i < nodes.length; i++) {
+            long nodeHash = mix(nodeIds[i].hashCode());
+            checksum += nodeHash;
+
+            for (int arc = offsets[i]; arc < offsets[i + 1]; arc++) {
+                if (i < targets[arc]) {
+                    long targetHash = mix(nodeIds[targets[arc]].hashCode());
+                    long edgeHash = mix(Math.min(nodeHash, targetHash) * 31 + Math.max(nodeHash, targetHash));
+                    checksum += mix(edgeHash ^ mix(Double.doubleToLongBits(sizes[arc])) ^ (enabled.get(arc) ? 1 : 0));
+                }
+            }
+        }
+
+        return checksum;
+    }
+
+    /**
+     * Spread bits of value (finalizer of SplitMix64 generator).
+     */
+    private static long mix(long value) {
+        value = (value ^ (value >>> 30)) * 0xbf58476d1ce4e5b9L;
+        value = (value ^ (value >>> 27)) * 0x94d049bb133111ebL;
+        return value ^ (value >>> 31);
+    }
+
+    @Override
+    public void updateEdge(TNodeId fromId, TNodeId toId, TEdge data) throws NoSuchElementException {
+        int from = getRequiredIndex(fromId);
+        int to = getRequiredIndex(toId);
+        int arc = getArc(from, to);
+
+        if (arc == -1) {
+            throw new NoSuchElementException("Hrana mezi vrcholy " + fromId + " a " + toId + " nebyla nalezena.");
+        }
+
+        setArc(arc, data);
+        setArc(getArc(to, from), data);
+    }
+
+    @Override
+    public void addNode(TNodeId nodeId, TNode data) throws UnsupportedOperationException {
+        throw new UnsupportedOperationException("Graf nelze upravovat.");
+    }
+
+    @Override
+    public TNode getNode(TNodeId nodeId) {
+        int index = getIndex(nodeId);
+        return index == -1 ? null : getNodeAt(index);
+    }
+
+    @Override
+    public void removeNode(TNodeId nodeId) throws UnsupportedOperationException {
+        throw new UnsupportedOperationException("Graf nelze upravovat.");
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<TNode> getNodes() {
+        return new ArrayList<>((List<TNode>) Arrays.asList(nodes));
+    }
+
+    @Override
+    public void addEdge(TNodeId fromId, TNodeId toId, TEdge data) throws UnsupportedOperationException {
+        throw new UnsupportedOperationException("Graf nelze upravovat.");
+    }
+
+    @Override
+    public TEdge getEdge(TNodeId fromId, TNodeId toId) throws NoSuchElementException {
+        int arc = getArc(getRequiredIndex(fromId), getRequiredIndex(toId));
+        return arc == -1 ? null : getArcEdge(arc);
+    }
+
+    @Override
+    public void removeEdge(TNodeId fromId, TNodeId toId) throws UnsupportedOperationException {
+        throw new UnsupportedOperationException("Graf nelze upravovat.");
+    }
+
+    /**
+     * Each edge is stored as two arcs, so only arcs from node with lower index are taken.
+     */
+    @Override
+    public List<TEdge> getEdges() {
+        List<TEdge> result = new ArrayList<>(targets.length / 2);
+
+        for (int i = 0; i < nodes.length; i++) {
+            for (int arc = offsets[i]; arc < offsets[i + 1]; arc++) {
+                if (i < targets[arc]) {
+                    result.add(getArcEdge(arc));
+                }
+            }
+        }
+
+        return result;
+    }
+
+    @Override
+    public void clear() throws UnsupportedOperationException {
+        throw new UnsupportedOperationException("Graf nelze upravovat.");
+    }
+
+    @Override
+    public List<TNode> getDescendants(TNodeId nodeId) throws NoSuchElementException {
+        int index = getRequiredIndex(nodeId);
+        List<TNode> result = new ArrayList<>(offsets[index + 1] - offsets[index]);
+
+        for (int arc = offsets[index]; arc < offsets[index + 1]; arc++) {
+            result.add(getNodeAt(targets[arc]));
+        }
+
+        return result;
+    }
+
+    @Override
+    public List<Pair<TNode, TEdge>> getIncidentEdges(TNodeId nodeId) throws NoSuchElementException {
+        int index = getRequiredIndex(nodeId);
+        List<Pair<TNode, TEdge>> result = new ArrayList<>(offsets[index + 1] - offsets[index]);
+
+        for (int arc = offsets[index]; arc < offsets[index + 1]; arc++) {
+            result.add(new Pair<>(getNodeAt(targets[arc]), getArcEdge(arc)));
+        }
+
+        return result;
+    }
+
+}
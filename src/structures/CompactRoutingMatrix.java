@@ -0,0 +1,67 @@
+package structures;
+
+import java.lang.reflect.Array;
+
+/**
+ * Routing matrix which stores indices of next nodes in index matrix instead of references to nodes,
+ * so it needs 2 or 4 bytes per cell instead of 8. Nodes are returned on demand. Distances are stored in distance matrix.
+ */
+public class CompactRoutingMatrix<TNode> implements IRoutingMatrix<TNode> {
+
+    private TNode[] nodes;
+    private IIndexMatrix next;
+    private IDistanceMatrix distances;
+
+    /**
+     * @param nodes All nodes.
+     * @param next Indices of next nodes.
+     * @param distances Sizes of shortest paths.
+     */
+    public CompactRoutingMatrix(TNode[] nodes, IIndexMatrix next, IDistanceMatrix distances) {
+        this.nodes = nodes;
+        this.next = next;
+        this.distances = distances;
+    }
+
+    @Override
+    public TNode[] getNodes() {
+        return nodes;
+    }
+
+    /**
+     * Create matrix of references to nodes. It needs much more memory than this matrix, so it should be used only for small graphs.
+     */
+    @Override
+    public TNode[][] getRouting() {
+        @SuppressWarnings("unchecked")
+        TNode[][] result = (TNode[][]) Array.newInstance(nodes.getClass().getComponentType(), nodes.length, nodes.length);
+
+        for (int i = 0; i < nodes.length; i++) {
+            for (int j = 0; j < nodes.length; j++) {
+                result[i][j] = getNext(i, j);
+            }
+        }
+
+        return result;
+    }
+
+    @Override
+    public TNode getNext(int from, int to) {
+        int index = next.get(from, to);
+        return index == -1 ? null : nodes[index];
+    }
+
+    @Override
+    public double getDistance(int from, int to) {
+        return distances.get(from, to);
+    }
+
+    IIndexMatrix getNextMatrix() {
+        return next;
+    }
+
+    IDistanceMatrix getDistanceMatrix() {
+        return distances;
+    }
+
+}
@@ -0,0 +1,76 @@
+package structures;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.NoSuchElementException;
+
+/**
+ * Indexed heap with keys of any type compared by comparator.
+ * @param <TKey> Type of key.
+ */
+public class ComparatorIndexedHeap<TKey> extends IndexedHeap {
+
+    private Comparator<TKey> comparator;
+    private Object[] keys;
+
+    public ComparatorIndexedHeap(Comparator<TKey> comparator, int capacity) {
+        super(capacity);
+        this.comparator = comparator;
+        keys = new Object[Math.max(capacity, 1)];
+    }
+
+    public ComparatorIndexedHeap(Comparator<TKey> comparator) {
+        this(comparator, 0);
+    }
+
+    /**
+     * Add item to heap.
+     * @param item
+     * @param key
+     * @throws IllegalArgumentException Item is already in heap.
+     */
+    public void add(int item, TKey key) throws IllegalArgumentException {
+        ensureCapacity(item);
+        keys[item] = key;
+        insert(item);
+    }
+
+    /**
+     * Set lower key to item in heap.
+     * @param item
+     * @param key New key, it must not be greater than current key.
+     * @throws NoSuchElementException Item is not in heap.
+     * @throws IllegalArgumentException New key is greater than current key.
+     */
+    public void decreaseKey(int item, TKey key) throws NoSuchElementException, IllegalArgumentException {
+        checkContains(item);
+
+        if (comparator.compare(key, getKey(item)) > 0) {
+            throw new IllegalArgumentException("Nový klíč prvku " + item + " je větší než současný klíč.");
+        }
+
+        keys[item] = key;
+        moveUp(item);
+    }
+
+    /**
+     * @param item
+     * @return Last key of item (it is kept after item was removed from heap).
+     */
+    @SuppressWarnings("unchecked")
+    public TKey getKey(int item) {
+        return (TKey) keys[item];
+    }
+
+    @Override
+    protected void grow(int capacity) {
+        keys = Arrays.copyOf(keys, capacity);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected boolean isLess(int item1, int item2) {
+        return comparator.compare((TKey) keys[item1], (TKey) keys[item2]) < 0;
+    }
+
+}
@@ -0,0 +1,139 @@
+package structures;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * Connected components stored in union-find structure (disjoint sets). Each node refers to parent node in same component,
+ * root of tree is label of component. Smaller tree is attached under root of larger tree and paths are halved during finding,
+ * so finding root is almost constant.
+ */
+public class ConnectedComponents<TNodeId> implements IConnectedComponents<TNodeId> {
+
+    private Map<TNodeId, Integer> indices;
+    private int[] parents;
+    private int[] sizes;
+    private int componentsCount;
+
+    /**
+     * @param graph
+     * @param isEnabledRequired Only enabled edges connect nodes (enabled state is taken from compact graph).
+     */
+    public ConnectedComponents(ICompactGraph<TNodeId, ?, ?> graph, boolean isEnabledRequired) {
+        int nodesCount = graph.getNodesCount();
+        indices = new HashMap<>(nodesCount * 2);
+        parents = new int[nodesCount];
+        sizes = new int[nodesCount];
+        componentsCount = nodesCount;
+
+        for (int i = 0; i < nodesCount; i++) {
+            indices.put(graph.getNodeIdAt(i), i);
+            parents[i] = i;
+            sizes[i] = 1;
+        }
+
+        for (int i = 0; i < nodesCount; i++) {
+            for (int arc = graph.getArcsStart(i); arc < graph.getArcsEnd(i); arc++) {
+                if (!isEnabledRequired || graph.isArcEnabled(arc)) {
+                    union(i, graph.getArcTarget(arc));
+                }
+            }
+        }
+    }
+
+    @Override
+    public boolean isConnected(TNodeId fromId, TNodeId toId) {
+        Integer from = indices.get(fromId);
+        Integer to = indices.get(toId);
+        return from != null && to != null && find(from) == find(to);
+    }
+
+    @Override
+    public int getComponent(TNodeId nodeId) throws NoSuchElementException {
+        return find(getIndex(nodeId));
+    }
+
+    @Override
+    public int getComponentsCount() {
+        return componentsCount;
+    }
+
+    @Override
+    public void union(TNodeId fromId, TNodeId toId) throws NoSuchElementException {
+        union(getIndex(fromId), getIndex(toId));
+    }
+
+    @Override
+    public boolean isValidFor(ICompactGraph<TNodeId, ?, ?> graph) {
+        if (graph.getNodesCount() != parents.length) {
+            return false;
+        }
+
+        for (int i = 0; i < graph.getNodesCount(); i++) {
+            if (!indices.containsKey(graph.getNodeIdAt(i))) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    @Override
+    public boolean isValidFor(List<TNodeId> nodeIds) {
+        if (nodeIds.size() != parents.length) {
+            return false;
+        }
+
+        for (TNodeId nodeId : nodeIds) {
+            if (!indices.containsKey(nodeId)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private int getIndex(TNodeId nodeId) throws NoSuchElementException {
+        Integer index = indices.get(nodeId);
+
+        if (index == null) {
+            throw new NoSuchElementException("Vrchol " + nodeId + " nebyl nalezen.");
+        }
+
+        return index;
+    }
+
+    /**
+     * @return Root of tree of node.
+     */
+    private int find(int node) {
+        while (parents[node] != node) {
+            parents[node] = parents[parents[node]];
+            node = parents[node];
+        }
+
+        return node;
+    }
+
+    private void union(int first, int second) {
+        int firstRoot = find(first);
+        int secondRoot = find(second);
+
+        if (firstRoot == secondRoot) {
+            return;
+        }
+
+        if (sizes[firstRoot] < sizes[secondRoot]) {
+            int swap = firstRoot;
+            firstRoot = secondRoot;
+            secondRoot = swap;
+        }
+
+        parents[secondRoot] = firstRoot;
+        sizes[firstRoot] += sizes[secondRoot];
+        componentsCount--;
+    }
+
+}
@@ -0,0 +1,452 @@
+package structures;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.util.*;
+
+/**
+ * Contraction hierarchy created by CustomizableContractionHierarchy.customize for current sizes of edges.
+ * Upward arcs (from less important to more important node) are stored in CSR arrays. Shortcut arc refers to two arcs it replaces, so path can be unpacked to original edges.
+ * Hierarchy does not keep node or edge data, they are taken from graph passed to query, so hierarchy can be saved
+ * next to the map and used after the map is loaded again.
+ */
+public class ContractionHierarchy<TNodeId, TNode, TEdge> implements IContractionHierarchy<TNodeId, TNode, TEdge> {
+
+    private static final long serialVersionUID = 1L;
+
+    private Object[] nodeIds;
+    private int[] ranks;
+
+    private int[] upOffsets; // Upward arcs of node i are on positions upOffsets[i] to upOffsets[i + 1] - 1.
+    private int[] upSources;
+    private int[] upTargets;
+    private double[] upSizes;
+    private int[] upFirstChildren; // First arc replaced by shortcut or -1 for original edge.
+    private int[] upSecondChildren;
+
+    private long checksum;
+
+    private transient Map<Object, Integer> indices;
+    private transient ThreadLocal<QueryState> queryStates;
+
+    ContractionHierarchy(Object[] nodeIds, int[] ranks, int[] upOffsets, int[] upSources, int[] upTargets, double[] upSizes, int[] upFirstChildren, int[] upSecondChildren, long checksum) {
+        this.nodeIds = nodeIds;
+        this.ranks = ranks;
+        this.upOffsets = upOffsets;
+        this.upSources = upSources;
+        this.upTargets = upTargets;
+        this.upSizes = upSizes;
+        this.upFirstChildren = upFirstChildren;
+        this.upSecondChildren = upSecondChildren;
+        this.checksum = checksum;
+        initialize();
+    }
+
+    private void readObject(ObjectInputStream stream) throws IOException, ClassNotFoundException {
+        stream.defaultReadObject();
+        initialize();
+    }
+
+    /**
+     * Create transient structures (index of node IDs and per-thread query state).
+     */
+    private void initialize() {
+        indices = new HashMap<>(nodeIds.length * 2);
+
+        for (int i = 0; i < nodeIds.length; i++) {
+            indices.put(nodeIds[i], i);
+        }
+
+        queryStates = ThreadLocal.withInitial(() -> new QueryState(nodeIds.length));
+    }
+
+    @Override
+    public boolean isValidFor(ICompactGraph<TNodeId, TNode, TEdge> graph) {
+        return graph.getNodesCount() == nodeIds.length && graph.getChecksum() == checksum;
+    }
+
+    /**
+     * Run Dijkstra algorithm from start node and from end node at once, but only on upward arcs.
+     * Each search stops when its lowest distance is not lower than shortest path found so far.
+     * Shortest path goes through node settled by both searches with lowest sum of distances.
+     * @param graph Graph the hierarchy was built from (it is used for getting node and edge data).
+     * @param fromId ID of first node.
+     * @param toId ID of second node.
+     * @return Shortest path between nodes.
+     * @throws NoSuchElementException
+     */
+    @Override
+    public IGraphPath<TNode, TEdge, Double> findShortestPath(IGraph<TNodeId, TNode, TEdge> graph, TNodeId fromId, TNodeId toId) throws IllegalArgumentException, NoSuchElementException {
+        Integer from = indices.get(fromId);
+        Integer to = indices.get(toId);
+
+        if (from == null || to == null || from.equals(to)) {
+            throw new NoSuchElementException("Cesta mezi vrcholy " + fromId + " a " + toId + " nebyla nalezena.");
+        }
+
+        QueryState state = queryStates.get();
+        state.start(from, to);
+        double shortest = Double.POSITIVE_INFINITY;
+        int meeting = -1;
+        boolean isForward = false;
+
+        while (!state.forwardHeap.isEmpty() || !state.backwardHeap.isEmpty()) {
+            isForward = !isForward;
+            DoubleIndexedHeap heap = isForward ? state.forwardHeap : state.backwardHeap;
+
+            if (heap.isEmpty()) {
+                continue;
+            }
+
+            if (heap.peekKey() >= shortest) {
+                heap.clear();
+                continue;
+            }
+
+            int current = heap.poll();
+            double distance = heap.getKey(current);
+
+            if (state.isReached(!isForward, current)) {
+                double candidate = distance + (isForward ? state.backwardHeap : state.forwardHeap).getKey(current);
+
+                if (candidate < shortest) {
+                    shortest = candidate;
+                    meeting = current;
+                }
+            }
+
+            for (int arc = upOffsets[current]; arc < upOffsets[current + 1]; arc++) {
+                double totalDistance = distance + upSizes[arc];
+
+                if (totalDistance < Double.POSITIVE_INFINITY) {
+                    state.relax(isForward, upTargets[arc], totalDistance, arc);
+                }
+            }
+        }
+
+        if (meeting == -1) {
+            throw new NoSuchElementException("Cesta mezi vrcholy " + fromId + " a " + toId + " nebyla nalezena.");
+        }
+
+        return buildPath(graph, state, from, meeting);
+    }
+
+    /**
+     * Run upward search from each target and store its distance to every reached node in bucket of the node.
+     * Then run upward search from each source and combine distances of settled nodes with their buckets,
+     * so each source needs only one small search instead of search to each target.
+     * Next node is taken from first arc of path (forward arc to meeting node or backward arc of source if source is meeting node).
+     * Hierarchy can have different order of nodes than graph (e. g. customizable hierarchy loaded from file),
+     * so nodes are mapped between hierarchy and graph by their IDs.
+     */
+    @Override
+    public IDistanceTable<TNode> getDistanceTable(ICompactGraph<TNodeId, TNode, TEdge> graph, List<TNodeId> sourceIds, List<TNodeId> targetIds, boolean isNextRequired) throws NoSuchElementException {
+        int[] sources = getIndices(sourceIds);
+        int[] targets = getIndices(targetIds);
+        QueryState state = queryStates.get();
+
+        // Entries of buckets (node, target, distance of node from target, last arc of upward path from target).
+        int entriesCount = 0;
+        int[] entryNodes = new int[Math.max(16, targets.length)];
+        int[] entryTargets = new int[entryNodes.length];
+        double[] entryDistances = new double[entryNodes.length];
+        int[] entryArcs = new int[entryNodes.length];
+
+        for (int j = 0; j < targets.length; j++) {
+            int settledCount = searchUp(state, targets[j]);
+
+            if (entriesCount + settledCount > entryNodes.length) {
+                int capacity = Math.max(entryNodes.length * 2, entriesCount + settledCount);
+                entryNodes = Arrays.copyOf(entryNodes, capacity);
+                entryTargets = Arrays.copyOf(entryTargets, capacity);
+                entryDistances = Arrays.copyOf(entryDistances, capacity);
+                entryArcs = Arrays.copyOf(entryArcs, capacity);
+            }
+
+            for (int position = 0; position < settledCount; position++) {
+                int node = state.settledNodes[position];
+                entryNodes[entriesCount] = node;
+                entryTargets[entriesCount] = j;
+                entryDistances[entriesCount] = state.forwardHeap.getKey(node);
+                entryArcs[entriesCount++] = state.forwardPredecessors[node];
+            }
+        }
+
+        // Entries are sorted by node into CSR arrays, entries of node i are on positions bucketOffsets[i] to bucketOffsets[i + 1] - 1.
+        int[] bucketOffsets = new int[nodeIds.length + 1];
+
+        for (int i = 0; i < entriesCount; i++) {
+            bucketOffsets[entryNodes[i] + 1]++;
+        }
+
+        for (int i = 0; i < nodeIds.length; i++) {
+            bucketOffsets[i + 1] += bucketOffsets[i];
+        }
+
+        int[] bucketTargets = new int[entriesCount];
+        double[] bucketDistances = new double[entriesCount];
+        int[] bucketArcs = new int[entriesCount];
+        int[] positions = Arrays.copyOf(bucketOffsets, nodeIds.length);
+
+        for (int i = 0; i < entriesCount; i++) {
+            int entry = positions[entryNodes[i]]++;
+            bucketTargets[entry] = entryTargets[i];
+            bucketDistances[entry] = entryDistances[i];
+            bucketArcs[entry] = entryArcs[i];
+        }
+
+        double[] distances = new double[sources.length * targets.length];
+        int[] next = isNextRequired ? new int[distances.length] : null;
+        int[] meetings = new int[targets.length];
+        int[] meetingArcs = new int[targets.length];
+        Arrays.fill(distances, Double.POSITIVE_INFINITY);
+
+        for (int i = 0; i < sources.length; i++) {
+            int row = i * targets.length;
+            int settledCount = searchUp(state, sources[i]);
+
+            for (int position = 0; position < settledCount; position++) {
+                int node = state.settledNodes[position];
+                double distance = state.forwardHeap.getKey(node);
+
+                for (int entry = bucketOffsets[node]; entry < bucketOffsets[node + 1]; entry++) {
+                    int j = bucketTargets[entry];
+                    double candidate = distance + bucketDistances[entry];
+
+                    if (candidate < distances[row + j]) {
+                        distances[row + j] = candidate;
+                        meetings[j] = node;
+                        meetingArcs[j] = bucketArcs[entry];
+                    }
+                }
+            }
+
+            if (isNextRequired) {
+                for (int j = 0; j < targets.length; j++) {
+                    int node = distances[row + j] == Double.POSITIVE_INFINITY ? -1 : getNext(state, sources[i], meetings[j], meetingArcs[j]);
+                    next[row + j] = node == -1 ? -1 : graph.getRequiredIndex(getNodeId(node));
+                }
+            }
+        }
+
+        return new DistanceTable<>(graph, DistanceTable.getIndices(graph, sourceIds), DistanceTable.getIndices(graph, targetIds), distances, next);
+    }
+
+    /**
+     * @return Indices of nodes of hierarchy with specified IDs.
+     * @throws NoSuchElementException Node with specified ID was not found.
+     */
+    private int[] getIndices(List<TNodeId> ids) throws NoSuchElementException {
+        int[] result = new int[ids.size()];
+
+        for (int i = 0; i < result.length; i++) {
+            Integer index = indices.get(ids.get(i));
+
+            if (index == null) {
+                throw new NoSuchElementException("Vrchol " + ids.get(i) + " nebyl nalezen.");
+            }
+
+            result[i] = index;
+        }
+
+        return result;
+    }
+
+    /**
+     * Dijkstra algorithm on upward arcs from node (forward side of query state is used).
+     * @return Count of settled nodes (they are in state.settledNodes, their distances stay in forward heap).
+     */
+    private int searchUp(QueryState state, int node) {
+        state.start(node);
+        int settledCount = 0;
+
+        while (!state.forwardHeap.isEmpty()) {
+            int current = state.forwardHeap.poll();
+            double distance = state.forwardHeap.getKey(current);
+            state.settledNodes[settledCount++] = current;
+
+            for (int arc = upOffsets[current]; arc < upOffsets[current + 1]; arc++) {
+                double totalDistance = distance + upSizes[arc];
+
+                if (totalDistance < Double.POSITIVE_INFINITY) {
+                    state.relax(true, upTargets[arc], totalDistance, arc);
+                }
+            }
+        }
+
+        return settledCount;
+    }
+
+    /**
+     * @param state State after upward search from source.
+     * @param source
+     * @param meeting Node where paths from source and target meet.
+     * @param meetingArc Arc of backward search entering meeting node or -1 if meeting node is target.
+     * @return Index of next node after source on path or -1 if source is target.
+     */
+    private int getNext(QueryState state, int source, int meeting, int meetingArc) {
+        int arc = meetingArc;
+
+        if (meeting != source) {
+            int node = meeting;
+
+            while (upSources[state.forwardPredecessors[node]] != source) {
+                node = upSources[state.forwardPredecessors[node]];
+            }
+
+            arc = state.forwardPredecessors[node];
+        }
+
+        if (arc == -1) {
+            return -1;
+        }
+
+        while (upFirstChildren[arc] != -1) { // Only first original arc of shortcut is needed.
+            arc = upTargets[upFirstChildren[arc]] == source ? upFirstChildren[arc] : upSecondChildren[arc];
+        }
+
+        return upSources[arc] == source ? upTargets[arc] : upSources[arc];
+    }
+
+    /**
+     * Build path from start node to meeting node (forward search) and from meeting node to end node (backward search)
+     * and unpack all shortcuts on it. Size of path is counted in order of edges, so it is same as size from Dijkstra.
+     */
+    private IGraphPath<TNode, TEdge, Double> buildPath(IGraph<TNodeId, TNode, TEdge> graph, QueryState state, int from, int meeting) {
+        List<Integer> forwardArcs = new ArrayList<>();
+
+        for (int node = meeting; node != from; node = upSources[state.forwardPredecessors[node]]) {
+            forwardArcs.add(state.forwardPredecessors[node]);
+        }
+
+        Collections.reverse(forwardArcs);
+        List<Integer> pathNodes = new ArrayList<>();
+        List<Integer> pathArcs = new ArrayList<>();
+        pathNodes.add(from);
+
+        for (int arc : forwardArcs) {
+            unpack(arc, upSources[arc], pathNodes, pathArcs);
+        }
+
+        for (int node = meeting; state.backwardPredecessors[node] != -1; node = upSources[state.backwardPredecessors[node]]) {
+            unpack(state.backwardPredecessors[node], node, pathNodes, pathArcs);
+        }
+
+        List<TNode> nodes = new ArrayList<>(pathNodes.size());
+        List<TEdge> edges = new ArrayList<>(pathArcs.size());
+        double size = 0;
+
+        for (int i = 0; i < pathNodes.size(); i++) {
+            nodes.add(graph.getNode(getNodeId(pathNodes.get(i))));
+
+            if (i > 0) {
+                edges.add(graph.getEdge(getNodeId(pathNodes.get(i - 1)), getNodeId(pathNodes.get(i))));
+                size += upSizes[pathArcs.get(i - 1)];
+            }
+        }
+
+        return new GraphPath<>(nodes, edges, size);
+    }
+
+    /**
+     * Replace arc by original arcs and add them (and their end nodes) to path.
+     * Shortcut between nodes x and y over node m refers to arcs m-x and m-y.
+     * @param arc Upward arc.
+     * @param from Node where the arc is entered (source or target of arc).
+     * @param pathNodes Nodes of path.
+     * @param pathArcs Original arcs of path.
+     */
+    private void unpack(int arc, int from, List<Integer> pathNodes, List<Integer> pathArcs) {
+        int to = upSources[arc] == from ? upTargets[arc] : upSources[arc];
+
+        if (upFirstChildren[arc] == -1) {
+            pathNodes.add(to);
+            pathArcs.add(arc);
+            return;
+        }
+
+        int toMiddle = upTargets[upFirstChildren[arc]] == from ? upFirstChildren[arc] : upSecondChildren[arc];
+        int fromMiddle = toMiddle == upFirstChildren[arc] ? upSecondChildren[arc] : upFirstChildren[arc];
+        unpack(toMiddle, from, pathNodes, pathArcs);
+        unpack(fromMiddle, upSources[fromMiddle], pathNodes, pathArcs);
+    }
+
+    @SuppressWarnings("unchecked")
+    private TNodeId getNodeId(int index) {
+        return (TNodeId) nodeIds[index];
+    }
+
+    /**
+     * Distances, predecessors and heaps of both searches. Arrays are reused by all queries in one thread,
+     * stamps tell which values belong to current query, so arrays do not need to be cleared.
+     */
+    private class QueryState {
+
+        public DoubleIndexedHeap forwardHeap;
+        public DoubleIndexedHeap backwardHeap;
+        public int[] forwardPredecessors;
+        public int[] backwardPredecessors;
+        public int[] settledNodes; // Nodes settled by upward search of distance table.
+        private int[] forwardStamps;
+        private int[] backwardStamps;
+        private int stamp;
+
+        public QueryState(int nodesCount) {
+            forwardHeap = new DoubleIndexedHeap(nodesCount);
+            backwardHeap = new DoubleIndexedHeap(nodesCount);
+            forwardPredecessors = new int[nodesCount];
+            backwardPredecessors = new int[nodesCount];
+            settledNodes = new int[nodesCount];
+            forwardStamps = new int[nodesCount];
+            backwardStamps = new int[nodesCount];
+        }
+
+        public void start(int from, int to) {
+            start(from);
+            relax(false, to, 0, -1);
+        }
+
+        /**
+         * Start only forward search.
+         */
+        public void start(int from) {
+            forwardHeap.clear();
+            backwardHeap.clear();
+
+            if (++stamp == Integer.MAX_VALUE) {
+                Arrays.fill(forwardStamps, 0);
+                Arrays.fill(backwardStamps, 0);
+                stamp = 1;
+            }
+
+            relax(true, from, 0, -1);
+        }
+
+        /**
+         * @return Node was reached by forward (or backward) search in current query.
+         */
+        public boolean isReached(boolean isForward, int node) {
+            return (isForward ? forwardStamps : backwardStamps)[node] == stamp;
+        }
+
+        /**
+         * Add node to heap or decrease its distance.
+         */
+        public void relax(boolean isForward, int node, double distance, int arc) {
+            DoubleIndexedHeap heap = isForward ? forwardHeap : backwardHeap;
+            int[] stamps = isForward ? forwardStamps : backwardStamps;
+            int[] predecessors = isForward ? forwardPredecessors : backwardPredecessors;
+
+            if (stamps[node] != stamp) {
+                stamps[node] = stamp;
+                predecessors[node] = arc;
+                heap.add(node, distance);
+            } else if (heap.contains(node) && distance < heap.getKey(node)) {
+                predecessors[node] = arc;
+                heap.decreaseKey(node, distance);
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,235 @@
+package structures;
+
+import java.util.*;
+
+/**
+ * Customizable contraction hierarchy. Nodes are ordered by minimum degree heuristic on structure of graph
+ * (all edges, sizes and states are ignored). Contracted node connects all its not contracted neighbours,
+ * so there is no witness search and shortcuts are valid for any sizes of edges.
+ * Customization processes nodes from least important and for each two upward arcs m-u and m-w
+ * it improves size of arc u-w to size of m-u + m-w (lower triangle).
+ */
+public class CustomizableContractionHierarchy<TNodeId, TNode, TEdge> implements ICustomizableContractionHierarchy<TNodeId, TNode, TEdge> {
+
+    private static final long serialVersionUID = 1L;
+
+    private Object[] nodeIds;
+    private int[] ranks;
+    private int[] nodesByRank;
+
+    private int[] upOffsets; // Upward arcs of node i are on positions upOffsets[i] to upOffsets[i + 1] - 1.
+    private int[] upSources;
+    private int[] upTargets;
+    private int edgesCount;
+
+    // Arc between targets of each two upward arcs of node. Pairs of node i are on positions pairOffsets[i] to pairOffsets[i + 1] - 1.
+    private int[] pairOffsets;
+    private int[] pairArcs;
+
+    /**
+     * Compute order of nodes and shortcuts for structure of graph.
+     * @param graph
+     */
+    public CustomizableContractionHierarchy(ICompactGraph<TNodeId, TNode, TEdge> graph) {
+        int nodesCount = graph.getNodesCount();
+        nodeIds = new Object[nodesCount];
+        edgesCount = graph.getArcsCount() / 2;
+
+        for (int i = 0; i < nodesCount; i++) {
+            nodeIds[i] = graph.getNodeIdAt(i);
+        }
+
+        List<int[]> upNeighbours = contractAll(graph);
+        createArcs(upNeighbours);
+        createPairs();
+    }
+
+    /**
+     * Contract nodes with lowest count of not contracted neighbours first. Count is updated lazily:
+     * when node has more neighbours after recalculation than next node, it is returned to heap.
+     * @return Not contracted neighbours of each node at time of its contraction.
+     */
+    private List<int[]> contractAll(ICompactGraph<TNodeId, TNode, TEdge> graph) {
+        int nodesCount = graph.getNodesCount();
+        List<Set<Integer>> neighbours = new ArrayList<>(nodesCount);
+        List<int[]> upNeighbours = new ArrayList<>(Collections.nCopies(nodesCount, (int[]) null));
+        DoubleIndexedHeap heap = new DoubleIndexedHeap(nodesCount);
+        ranks = new int[nodesCount];
+        nodesByRank = new int[nodesCount];
+
+        for (int i = 0; i < nodesCount; i++) {
+            Set<Integer> nodeNeighbours = new HashSet<>();
+
+            for (int arc = graph.getArcsStart(i); arc < graph.getArcsEnd(i); arc++) {
+                nodeNeighbours.add(graph.getArcTarget(arc));
+            }
+
+            neighbours.add(nodeNeighbours);
+            heap.add(i, nodeNeighbours.size());
+        }
+
+        int rank = 0;
+
+        while (!heap.isEmpty()) {
+            int node = heap.poll();
+            Set<Integer> nodeNeighbours = neighbours.get(node);
+
+            if (!heap.isEmpty() && nodeNeighbours.size() > heap.peekKey()) {
+                heap.add(node, nodeNeighbours.size());
+                continue;
+            }
+
+            ranks[node] = rank;
+            nodesByRank[rank++] = node;
+            upNeighbours.set(node, nodeNeighbours.stream().mapToInt(Integer::intValue).toArray());
+
+            for (int neighbour : nodeNeighbours) {
+                Set<Integer> other = neighbours.get(neighbour);
+                other.remove(node);
+                other.addAll(nodeNeighbours);
+                other.remove(neighbour);
+
+                if (other.size() < heap.getKey(neighbour)) {
+                    heap.decreaseKey(neighbour, other.size());
+                }
+            }
+
+            neighbours.set(node, null);
+        }
+
+        return upNeighbours;
+    }
+
+    private void createArcs(List<int[]> upNeighbours) {
+        int nodesCount = nodeIds.length;
+        upOffsets = new int[nodesCount + 1];
+
+        for (int i = 0; i < nodesCount; i++) {
+            upOffsets[i + 1] = upOffsets[i] + upNeighbours.get(i).length;
+        }
+
+        upSources = new int[upOffsets[nodesCount]];
+        upTargets = new int[upOffsets[nodesCount]];
+
+        for (int i = 0; i < nodesCount; i++) {
+            int[] targets = upNeighbours.get(i);
+
+            for (int k = 0; k < targets.length; k++) {
+                upSources[upOffsets[i] + k] = i;
+                upTargets[upOffsets[i] + k] = targets[k];
+            }
+        }
+    }
+
+    /**
+     * For each two upward arcs m-u and m-w find arc between u and w. The arc always exists,
+     * because it was added when node m was contracted.
+     */
+    private void createPairs() {
+        int nodesCount = nodeIds.length;
+        Map<Long, Integer> arcsByNodes = new HashMap<>(upSources.length * 2);
+        pairOffsets = new int[nodesCount + 1];
+
+        for (int arc = 0; arc < upSources.length; arc++) {
+            arcsByNodes.put((long) upSources[arc] * nodesCount + upTargets[arc], arc);
+        }
+
+        for (int i = 0; i < nodesCount; i++) {
+            long degree = upOffsets[i + 1] - upOffsets[i];
+            pairOffsets[i + 1] = Math.toIntExact(pairOffsets[i] + degree * (degree - 1) / 2);
+        }
+
+        pairArcs = new int[pairOffsets[nodesCount]];
+        int position = 0;
+
+        for (int i = 0; i < nodesCount; i++) {
+            for (int first = upOffsets[i]; first < upOffsets[i + 1]; first++) {
+                for (int second = first + 1; second < upOffsets[i + 1]; second++) {
+                    int u = upTargets[first];
+                    int w = upTargets[second];
+                    pairArcs[position++] = ranks[u] < ranks[w] ? arcsByNodes.get((long) u * nodesCount + w) : arcsByNodes.get((long) w * nodesCount + u);
+                }
+            }
+        }
+    }
+
+    @Override
+    public IContractionHierarchy<TNodeId, TNode, TEdge> customize(ICompactGraph<TNodeId, TNode, TEdge> graph) throws IllegalArgumentException {
+        int[] graphArcs = getGraphArcs(graph);
+
+        if (graphArcs == null) {
+            throw new IllegalArgumentException("Hierarchie nebyla vytvořena pro tento graf.");
+        }
+
+        int arcsCount = upSources.length;
+        double[] sizes = new double[arcsCount];
+        int[] firstChildren = new int[arcsCount];
+        int[] secondChildren = new int[arcsCount];
+        Arrays.fill(firstChildren, -1);
+        Arrays.fill(secondChildren, -1);
+
+        for (int arc = 0; arc < arcsCount; arc++) {
+            int graphArc = graphArcs[arc];
+            sizes[arc] = graphArc != -1 && graph.isArcEnabled(graphArc) ? graph.getArcSize(graphArc) : Double.POSITIVE_INFINITY;
+        }
+
+        for (int node : nodesByRank) {
+            int position = pairOffsets[node];
+
+            for (int first = upOffsets[node]; first < upOffsets[node + 1]; first++) {
+                for (int second = first + 1; second < upOffsets[node + 1]; second++) {
+                    int arc = pairArcs[position++];
+                    double size = sizes[first] + sizes[second];
+
+                    if (size < sizes[arc]) {
+                        sizes[arc] = size;
+                        firstChildren[arc] = first;
+                        secondChildren[arc] = second;
+                    }
+                }
+            }
+        }
+
+        return new ContractionHierarchy<>(nodeIds, ranks, upOffsets, upSources, upTargets, sizes, firstChildren, secondChildren, graph.getChecksum());
+    }
+
+    @Override
+    public boolean isValidFor(ICompactGraph<TNodeId, TNode, TEdge> graph) {
+        return getGraphArcs(graph) != null;
+    }
+
+    /**
+     * Find arc of graph for each upward arc which is original edge.
+     * @return Positions of arcs in graph (-1 for shortcuts) or null if graph has different nodes or edges.
+     */
+    @SuppressWarnings("unchecked")
+    private int[] getGraphArcs(ICompactGraph<TNodeId, TNode, TEdge> graph) {
+        if (graph.getNodesCount() != nodeIds.length || graph.getArcsCount() != edgesCount * 2) {
+            return null;
+        }
+
+        int[] graphIndices = new int[nodeIds.length];
+
+        for (int i = 0; i < nodeIds.length; i++) {
+            graphIndices[i] = graph.getIndex((TNodeId) nodeIds[i]);
+
+            if (graphIndices[i] == -1) {
+                return null;
+            }
+        }
+
+        int[] result = new int[upSources.length];
+        int foundEdges = 0;
+
+        for (int arc = 0; arc < upSources.length; arc++) {
+            result[arc] = graph.getArc(graphIndices[upSources[arc]], graphIndices[upTargets[arc]]);
+
+            if (result[arc] != -1) {
+                foundEdges++;
+            }
+        }
+
+        return foundEdges == edgesCount ? result : null;
+    }
+
+}
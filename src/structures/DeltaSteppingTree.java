@@ -0,0 +1,365 @@
+package structures;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Tree of shortest paths from source node found by parallel delta-stepping algorithm. Nodes are in buckets
+ * by distance (bucket i contains distances from i * delta to (i + 1) * delta). Nodes of lowest bucket are processed
+ * at once: light arcs (not longer than delta) are relaxed in parallel until bucket is empty (they can add nodes
+ * to same bucket), then heavy arcs of all removed nodes are relaxed once. Distances are updated by compare-and-set
+ * of their bits (bits of non-negative doubles have same order as doubles), so relaxing threads do not lock.
+ * Predecessors are found after search from final distances (predecessor is neighbour whose distance plus size of arc
+ * is distance of node), so they always match distances. Graph must be undirected and sizes of arcs must be positive.
+ */
+public class DeltaSteppingTree<TNodeId, TNode, TEdge> implements IShortestPathTree<TNode, TEdge> {
+
+    private static final int NODES_PER_TASK = 256;
+    private static final long INFINITY = Double.doubleToLongBits(Double.POSITIVE_INFINITY);
+
+    private ICompactGraph<TNodeId, TNode, TEdge> graph;
+    private int source;
+    private boolean isEnabledRequired;
+    private double delta;
+    private ForkJoinPool pool;
+    private AtomicLongArray distances;
+    private int[] predecessors;
+    private int[] predecessorArcs; // Arc from node to its predecessor.
+    private int[] settledNodes; // Reached nodes in order of tree (predecessor is before node).
+
+    /**
+     * @param graph
+     * @param source Index of source node.
+     * @param isEnabledRequired Only enabled arcs are used.
+     * @param delta Width of bucket (lower delta means less repeated relaxations, but more sequential steps).
+     * @param pool Pool of threads for relaxations.
+     */
+    public DeltaSteppingTree(ICompactGraph<TNodeId, TNode, TEdge> graph, int source, boolean isEnabledRequired, double delta, ForkJoinPool pool) {
+        this.graph = graph;
+        this.source = source;
+        this.isEnabledRequired = isEnabledRequired;
+        this.delta = delta;
+        this.pool = pool;
+        int nodesCount = graph.getNodesCount();
+        distances = new AtomicLongArray(nodesCount);
+        predecessors = new int[nodesCount];
+        predecessorArcs = new int[nodesCount];
+
+        for (int i = 0; i < nodesCount; i++) {
+            distances.set(i, INFINITY);
+        }
+
+        search();
+        pool.invoke(new PredecessorsTask(0, nodesCount));
+        sortSettledNodes();
+    }
+
+    /**
+     * Tree with delta given by average size of arc in common pool.
+     */
+    public DeltaSteppingTree(ICompactGraph<TNodeId, TNode, TEdge> graph, int source, boolean isEnabledRequired) {
+        this(graph, source, isEnabledRequired, getAverageArcSize(graph), ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @return Average size of arc (default width of bucket).
+     */
+    public static double getAverageArcSize(ICompactGraph<?, ?, ?> graph) {
+        double sum = 0;
+
+        for (int arc = 0; arc < graph.getArcsCount(); arc++) {
+            sum += graph.getArcSize(arc);
+        }
+
+        return graph.getArcsCount() == 0 ? 1 : sum / graph.getArcsCount();
+    }
+
+    private void search() {
+        TreeMap<Long, int[]> buckets = new TreeMap<>(); // Number of bucket -> nodes (first item is count of nodes).
+        int[] stamps = new int[graph.getNodesCount()]; // Node is in current frontier (or in removed nodes of bucket).
+        int stamp = 0;
+        distances.set(source, Double.doubleToLongBits(0));
+        addToBucket(buckets, 0, source);
+
+        while (!buckets.isEmpty()) {
+            Map.Entry<Long, int[]> bucket = buckets.pollFirstEntry();
+            long index = bucket.getKey();
+            int[] removed = new int[16];
+            int removedCount = 0;
+            stamp++;
+            int[] frontier = getCurrentNodes(bucket.getValue(), index, stamps, stamp);
+
+            while (frontier.length > 0) {
+                if (removedCount + frontier.length > removed.length) {
+                    removed = Arrays.copyOf(removed, Math.max(removed.length * 2, removedCount + frontier.length));
+                }
+
+                System.arraycopy(frontier, 0, removed, removedCount, frontier.length);
+                removedCount += frontier.length;
+                int[] changed = pool.invoke(new RelaxTask(frontier, 0, frontier.length, true));
+                int[] next = new int[changed.length + 1];
+
+                for (int i = 0; i < changed.length; i++) { // Changed nodes in current bucket are processed again, others wait in their buckets.
+                    long nodeBucket = getBucket(changed[i]);
+
+                    if (nodeBucket == index) {
+                        next[++next[0]] = changed[i];
+                    } else {
+                        addToBucket(buckets, nodeBucket, changed[i]);
+                    }
+                }
+
+                stamp++;
+                frontier = getCurrentNodes(next, index, stamps, stamp);
+            }
+
+            int[] changed = pool.invoke(new RelaxTask(removed, 0, removedCount, false));
+
+            for (int node : changed) {
+                addToBucket(buckets, getBucket(node), node);
+            }
+        }
+    }
+
+    /**
+     * @param nodes Count of nodes followed by nodes.
+     * @return Nodes which are still in bucket (their distance was not decreased to lower bucket) without duplicates.
+     */
+    private int[] getCurrentNodes(int[] nodes, long index, int[] stamps, int stamp) {
+        int[] result = new int[nodes[0]];
+        int count = 0;
+
+        for (int i = 1; i <= nodes[0]; i++) {
+            if (stamps[nodes[i]] != stamp && getBucket(nodes[i]) == index) {
+                stamps[nodes[i]] = stamp;
+                result[count++] = nodes[i];
+            }
+        }
+
+        return Arrays.copyOf(result, count);
+    }
+
+    private void addToBucket(TreeMap<Long, int[]> buckets, long index, int node) {
+        int[] nodes = buckets.computeIfAbsent(index, key -> new int[8]);
+
+        if (nodes[0] + 1 == nodes.length) {
+            nodes = Arrays.copyOf(nodes, nodes.length * 2);
+            buckets.put(index, nodes);
+        }
+
+        nodes[++nodes[0]] = node;
+    }
+
+    private long getBucket(int node) {
+        return (long) (Double.longBitsToDouble(distances.get(node)) / delta);
+    }
+
+    /**
+     * Order reached nodes by breadth-first search of tree, so predecessor is before node.
+     */
+    private void sortSettledNodes() {
+        int nodesCount = graph.getNodesCount();
+        int[] childrenOffsets = new int[nodesCount + 1];
+
+        for (int node = 0; node < nodesCount; node++) {
+            if (predecessors[node] != -1) {
+                childrenOffsets[predecessors[node] + 1]++;
+            }
+        }
+
+        for (int node = 0; node < nodesCount; node++) {
+            childrenOffsets[node + 1] += childrenOffsets[node];
+        }
+
+        int[] children = new int[childrenOffsets[nodesCount]];
+        int[] positions = Arrays.copyOf(childrenOffsets, nodesCount);
+
+        for (int node = 0; node < nodesCount; node++) {
+            if (predecessors[node] != -1) {
+                children[positions[predecessors[node]]++] = node;
+            }
+        }
+
+        settledNodes = new int[children.length + 1];
+        settledNodes[0] = source;
+        int count = 1;
+
+        for (int position = 0; position < count; position++) {
+            int node = settledNodes[position];
+
+            for (int i = childrenOffsets[node]; i < childrenOffsets[node + 1]; i++) {
+                settledNodes[count++] = children[i];
+            }
+        }
+    }
+
+    @Override
+    public int getSource() {
+        return source;
+    }
+
+    @Override
+    public double getDistance(int index) {
+        return Double.longBitsToDouble(distances.get(index));
+    }
+
+    @Override
+    public int getPredecessor(int index) {
+        return predecessors[index];
+    }
+
+    @Override
+    public int getSettledNodesCount() {
+        return settledNodes.length;
+    }
+
+    @Override
+    public int getSettledNode(int position) {
+        return settledNodes[position];
+    }
+
+    @Override
+    public IGraphPath<TNode, TEdge, Double> getPath(int index) throws NoSuchElementException {
+        if (index == source || predecessors[index] == -1) {
+            throw new NoSuchElementException("Cesta mezi vrcholy " + graph.getNodeIdAt(source) + " a " + graph.getNodeIdAt(index) + " nebyla nalezena.");
+        }
+
+        LinkedList<TNode> nodes = new LinkedList<>();
+        LinkedList<TEdge> edges = new LinkedList<>();
+
+        for (int node = index; node != source; node = predecessors[node]) {
+            nodes.addFirst(graph.getNodeAt(node));
+            edges.addFirst(graph.getArcEdge(predecessorArcs[node]));
+        }
+
+        nodes.addFirst(graph.getNodeAt(source));
+        return new GraphPath<>(new ArrayList<>(nodes), new ArrayList<>(edges), getDistance(index));
+    }
+
+    /**
+     * Relax light (or heavy) arcs of nodes from start (inclusive) to end (exclusive).
+     * Result contains nodes whose distance was decreased (node can be there more times).
+     */
+    private class RelaxTask extends RecursiveTask<int[]> {
+
+        private static final long serialVersionUID = 1L;
+
+        private int[] nodes;
+        private int start;
+        private int end;
+        private boolean isLight;
+
+        public RelaxTask(int[] nodes, int start, int end, boolean isLight) {
+            this.nodes = nodes;
+            this.start = start;
+            this.end = end;
+            this.isLight = isLight;
+        }
+
+        @Override
+        protected int[] compute() {
+            if (end - start > NODES_PER_TASK) {
+                int middle = (start + end) / 2;
+                RelaxTask first = new RelaxTask(nodes, start, middle, isLight);
+                first.fork();
+                int[] second = new RelaxTask(nodes, middle, end, isLight).compute();
+                int[] result = first.join();
+                int length = result.length;
+                result = Arrays.copyOf(result, length + second.length);
+                System.arraycopy(second, 0, result, length, second.length);
+                return result;
+            }
+
+            int[] changed = new int[16];
+            int count = 0;
+
+            for (int i = start; i < end; i++) {
+                int node = nodes[i];
+                double distance = getDistance(node);
+
+                for (int arc = graph.getArcsStart(node); arc < graph.getArcsEnd(node); arc++) {
+                    double size = graph.getArcSize(arc);
+
+                    if ((size <= delta) != isLight || (isEnabledRequired && !graph.isArcEnabled(arc))) {
+                        continue;
+                    }
+
+                    int target = graph.getArcTarget(arc);
+                    long totalDistance = Double.doubleToLongBits(distance + size);
+                    long current = distances.get(target);
+
+                    while (totalDistance < current) {
+                        if (distances.compareAndSet(target, current, totalDistance)) {
+                            if (count == changed.length) {
+                                changed = Arrays.copyOf(changed, count * 2);
+                            }
+
+                            changed[count++] = target;
+                            break;
+                        }
+
+                        current = distances.get(target);
+                    }
+                }
+            }
+
+            return Arrays.copyOf(changed, count);
+        }
+
+    }
+
+    /**
+     * Find predecessors of nodes from start (inclusive) to end (exclusive).
+     */
+    private class PredecessorsTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private int start;
+        private int end;
+
+        public PredecessorsTask(int start, int end) {
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected void compute() {
+            if (end - start > NODES_PER_TASK * 16) {
+                int middle = (start + end) / 2;
+                invokeAll(new PredecessorsTask(start, middle), new PredecessorsTask(middle, end));
+                return;
+            }
+
+            for (int node = start; node < end; node++) {
+                predecessors[node] = -1;
+                predecessorArcs[node] = -1;
+                double distance = getDistance(node);
+
+                if (node == source || distance == Double.POSITIVE_INFINITY) {
+                    continue;
+                }
+
+                for (int arc = graph.getArcsStart(node); arc < graph.getArcsEnd(node); arc++) {
+                    if (isEnabledRequired && !graph.isArcEnabled(arc)) {
+                        continue;
+                    }
+
+                    int neighbour = graph.getArcTarget(arc);
+                    double neighbourDistance = getDistance(neighbour);
+
+                    if (neighbourDistance < distance && neighbourDistance + graph.getArcSize(arc) == distance) {
+                        predecessors[node] = neighbour;
+                        predecessorArcs[node] = arc;
+                        break;
+                    }
+                }
+            }
+        }
+
+    }
+
+}
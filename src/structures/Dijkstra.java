@@ -11,11 +11,8 @@ public class Dijkstra<TNodeId, TNode, TEdge, TSize> implements IShortestPathAlgo
     private Function<TNode, TNodeId> idAccessor;
     private Function<TEdge, TSize> sizeAccessor;
     private Function<TEdge, Boolean> isEnabledAccessor;
-    private IGraph<TNodeId, TNode, TEdge> graph;
-    private Map<TNodeId, TSize> distancesFromStart;
-    private BiFunction<TSize, TSize, TSize> sizeCounter;
-    private Comparator<TSize> sizeComparator;
-    private TNodeId fromId;
+    protected BiFunction<TSize, TSize, TSize> sizeCounter;
+    protected Comparator<TSize> sizeComparator;
 
     public Dijkstra(
             Function<TNode, TNodeId> idAccessor,
@@ -41,14 +38,15 @@ public class Dijkstra<TNodeId, TNode, TEdge, TSize> implements IShortestPathAlgo
     }
 
     /**
-     * TODO: Refactor, split to more methods.
      * Find shortest path in graph between node with fromId and node with toId using Dijkstra algorithm.
-     * First, set distances of all nodes from start node to Infinity and add start node to queue.
-     * Repeat this algorithm until end node is reached:
-     *     - Get node from queue with highest priority,
+     * Each discovered node gets index, so it can be stored in indexed heap, where its distance can be decreased in O(log N).
+     * Add start node to heap and repeat this algorithm until end node is reached:
+     *     - Get node from heap with lowest distance (this node is settled, its distance is final),
+     *     - If node is end node, build path from start node to this node and exit,
      *     - Loop all descendants of this node,
-     *     - If descendant is end node, build path from start node to this descendant and exit,
-     *     - If descendant was not already visited, add it to queue.
+     *     - If descendant was not discovered, add it to heap,
+     *     - If descendant is in heap and new distance is lower, decrease its distance.
+     * Heap is ordered by priority of node (see getPriority), which is distance from start in Dijkstra algorithm.
      * @param graph
      * @param fromId ID of first node.
      * @param toId ID of second node.
@@ -58,46 +56,59 @@ public class Dijkstra<TNodeId, TNode, TEdge, TSize> implements IShortestPathAlgo
      */
     @Override
     public IGraphPath<TNode, TEdge, TSize> findShortestPath(IGraph<TNodeId, TNode, TEdge> graph, TNodeId fromId, TNodeId toId) throws IllegalArgumentException, NoSuchElementException {
-        this.fromId = fromId;
-        this.graph = graph;
-        distancesFromStart = getInitDistances();
-        PriorityQueue<TNode> queue = new PriorityQueue<>(this::comparePriority);
-        queue.add(graph.getNode(fromId));
+        TNode from = graph.getNode(fromId);
+        TNode to = graph.getNode(toId);
 
-        Set<TNode> visited = new HashSet<>();
-        Map<TNodeId, Pair<TNode, TEdge>> predecessors = new HashMap<>();
-        TNode current;
-
-        while (!queue.isEmpty()) {
-            current = queue.poll();
-            visited.add(current);
+        if (from == null || to == null || fromId.equals(toId)) {
+            throw new NoSuchElementException("Cesta mezi vrcholy " + fromId + " a " + toId + " nebyla nalezena.");
+        }
 
+        Map<TNodeId, Integer> indices = new HashMap<>();
+        List<TNode> nodes = new ArrayList<>();
+        List<TSize> distances = new ArrayList<>();
+        List<Pair<Integer, TEdge>> predecessors = new ArrayList<>();
+        ComparatorIndexedHeap<TSize> heap = new ComparatorIndexedHeap<>(sizeComparator);
+
+        indices.put(fromId, 0);
+        nodes.add(from);
+        distances.add(null); // Distance of start node is null, because there is no zero for TSize.
+        predecessors.add(null);
+        heap.add(0, null);
+
+        while (!heap.isEmpty()) {
+            int currentIndex = heap.poll();
+            TNode current = nodes.get(currentIndex);
             TNodeId currentId = idAccessor.apply(current);
-            TSize currentDistance = distancesFromStart.get(currentId);
-            List<TNode> descendants = graph.getDescendants(currentId);
+            TSize currentDistance = distances.get(currentIndex);
 
-            for (TNode descendant : descendants) {
-                TNodeId descendantId = idAccessor.apply(descendant);
-                TEdge edge = graph.getEdge(currentId, descendantId);
+            if (currentId.equals(toId)) {
+                return buildPath(currentIndex, nodes, predecessors, currentDistance);
+            }
+
+            for (Pair<TNode, TEdge> incidentEdge : graph.getIncidentEdges(currentId)) {
+                TNode descendant = incidentEdge.getKey();
+                TEdge edge = incidentEdge.getValue();
 
-                if (!isEnabledAccessor.apply(edge) || visited.contains(descendant)) {
+                if (!isEnabledAccessor.apply(edge)) {
                     continue;
                 }
 
+                TNodeId descendantId = idAccessor.apply(descendant);
+                Integer descendantIndex = indices.get(descendantId);
                 TSize edgeCost = sizeAccessor.apply(edge);
                 TSize totalDistance = currentDistance == null ? edgeCost : sizeCounter.apply(currentDistance, edgeCost);
 
-                if (descendantId.equals(toId)) {
-                    distancesFromStart.put(descendantId, totalDistance);
-                    predecessors.put(descendantId, new Pair<>(current, edge));
-                    return buildPath(descendant, predecessors);
-                }
-
-                if (sizeComparator.compare(totalDistance, distancesFromStart.get(descendantId)) < 0) {
-                    distancesFromStart.put(descendantId, totalDistance);
-                    queue.remove(descendant);
-                    queue.add(descendant);
-                    predecessors.put(descendantId, new Pair<>(current, edge));
+                if (descendantIndex == null) {
+                    descendantIndex = nodes.size();
+                    indices.put(descendantId, descendantIndex);
+                    nodes.add(descendant);
+                    distances.add(totalDistance);
+                    predecessors.add(new Pair<>(currentIndex, edge));
+                    heap.add(descendantIndex, getPriority(descendant, to, totalDistance));
+                } else if (heap.contains(descendantIndex) && sizeComparator.compare(totalDistance, distances.get(descendantIndex)) < 0) {
+                    distances.set(descendantIndex, totalDistance);
+                    predecessors.set(descendantIndex, new Pair<>(currentIndex, edge));
+                    heap.decreaseKey(descendantIndex, getPriority(descendant, to, totalDistance));
                 }
             }
         }
@@ -106,61 +117,40 @@ public class Dijkstra<TNodeId, TNode, TEdge, TSize> implements IShortestPathAlgo
     }
 
     /**
-     * Build path with "node" and all its predecessors.
-     * @param node End node.
-     * @param predecessors Map where key is nodeId and value predecessor. Predecessor is pair contains node and its edge.
-     * @return Path.
+     * Get priority of node in heap (lower value is explored earlier).
+     * @param node Discovered node.
+     * @param target End node.
+     * @param distance Distance of node from start node.
+     * @return Distance from start node.
      */
-    IGraphPath<TNode, TEdge, TSize> buildPath(TNode node, Map<TNodeId, Pair<TNode, TEdge>> predecessors) {
-        List<TEdge> edges = new ArrayList<>();
-        List<TNode> nodes = new ArrayList<>();
-        TNode current = node;
-        Pair<TNode, TEdge> predecessor;
-
-        while ((predecessor = predecessors.get(idAccessor.apply(current))) != null) {
-            edges.add(predecessor.getValue());
-            nodes.add(predecessor.getKey());
-            current = predecessor.getKey();
-        }
-
-        Collections.reverse(edges);
-        Collections.reverse(nodes);
-        nodes.add(node);
-
-        return new GraphPath<>(nodes, edges, distancesFromStart.get(idAccessor.apply(node)));
+    protected TSize getPriority(TNode node, TNode target, TSize distance) {
+        return distance;
     }
 
     /**
-     * @return Map where keys are ID of node and values are distance from start (initialize to null).
-     */
-    private Map<TNodeId, TSize> getInitDistances() {
-        Map<TNodeId, TSize> distances = new HashMap<>();
-
-        for (TNode node : graph.getNodes()) {
-            TNodeId nodeId = idAccessor.apply(node);
-            distances.put(nodeId, null);
-        }
-
-        return distances;
-    }
-
-    /**
-     * Compare priority. Start node has highest priority, then sizeComparator is used.
+     * Build path with node and all its predecessors.
+     * @param index Index of end node.
+     * @param nodes List of discovered nodes.
+     * @param predecessors List of predecessors. Predecessor is pair contains index of previous node and edge to it.
+     * @param size Size of path.
+     * @return Path.
      */
-    private int comparePriority(TNode node1, TNode node2) {
-        TNodeId node1Id = idAccessor.apply(node1);
-        TNodeId node2Id = idAccessor.apply(node2);
-
-        if (node1Id.equals(fromId)) {
-            return -1;
-        } else if (node2Id.equals(fromId)) {
-            return 1;
+    IGraphPath<TNode, TEdge, TSize> buildPath(int index, List<TNode> nodes, List<Pair<Integer, TEdge>> predecessors, TSize size) {
+        List<TEdge> pathEdges = new ArrayList<>();
+        List<TNode> pathNodes = new ArrayList<>();
+        Pair<Integer, TEdge> predecessor;
+        pathNodes.add(nodes.get(index));
+
+        while ((predecessor = predecessors.get(index)) != null) {
+            index = predecessor.getKey();
+            pathEdges.add(predecessor.getValue());
+            pathNodes.add(nodes.get(index));
         }
 
-        TSize distance1 = distancesFromStart.get(node1Id);
-        TSize distance2 = distancesFromStart.get(node2Id);
+        Collections.reverse(pathEdges);
+        Collections.reverse(pathNodes);
 
-        return sizeComparator.compare(distance1, distance2);
+        return new GraphPath<>(pathNodes, pathEdges, size);
     }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,123 @@
+package structures;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Distance matrix with float cells (4 bytes per cell, precision is about 7 significant digits).
+ * Cells are stored in one flat array if it is possible, otherwise in off-heap slabs (each slab contains whole rows).
+ * New matrix contains zeros.
+ */
+public abstract class DistanceMatrix implements IDistanceMatrix {
+
+    private static final long MAX_ARRAY_LENGTH = Integer.MAX_VALUE - 8;
+    private static final int SLAB_BYTES = 1 << 30;
+
+    protected int size;
+
+    protected DistanceMatrix(int size) {
+        this.size = size;
+    }
+
+    /**
+     * Create matrix of zeros.
+     * @param size Count of rows.
+     * @return Matrix stored in flat array or in slabs.
+     */
+    public static IDistanceMatrix create(int size) {
+        return (long) size * size <= MAX_ARRAY_LENGTH ? new FloatDistanceMatrix(size) : new BufferDistanceMatrix(size);
+    }
+
+    @Override
+    public int getSize() {
+        return size;
+    }
+
+    @Override
+    public long getBytesCount() {
+        return (long) size * size * Float.BYTES;
+    }
+
+    /**
+     * Cells in one float array.
+     */
+    private static class FloatDistanceMatrix extends DistanceMatrix {
+
+        private float[] cells;
+
+        public FloatDistanceMatrix(int size) {
+            super(size);
+            cells = new float[size * size];
+        }
+
+        @Override
+        public double get(int row, int column) {
+            return cells[row * size + column];
+        }
+
+        @Override
+        public void set(int row, int column, double distance) {
+            cells[row * size + column] = (float) distance;
+        }
+
+    }
+
+    /**
+     * Cells in direct byte buffers outside of Java heap. Each buffer contains rowsPerSlab whole rows.
+     */
+    static class BufferDistanceMatrix extends DistanceMatrix {
+
+        private ByteBuffer[] slabs;
+        private int rowsPerSlab;
+
+        public BufferDistanceMatrix(int size) {
+            this(size, null);
+
+            for (int i = 0; i < slabs.length; i++) {
+                slabs[i] = ByteBuffer.allocateDirect(Math.toIntExact(getSlabBytes(i)));
+            }
+        }
+
+        /**
+         * Matrix in existing slabs (e. g. mapped file).
+         * @param slabs Slabs of sizes given by getSlabBytes or null (slabs will be set later).
+         */
+        BufferDistanceMatrix(int size, ByteBuffer[] slabs) {
+            super(size);
+            rowsPerSlab = (int) Math.max(1, SLAB_BYTES / ((long) size * Float.BYTES));
+            this.slabs = slabs == null ? new ByteBuffer[(size + rowsPerSlab - 1) / rowsPerSlab] : slabs;
+        }
+
+        /**
+         * @param slab Index of slab.
+         * @return Count of bytes of slab.
+         */
+        long getSlabBytes(int slab) {
+            int rows = Math.min(rowsPerSlab, size - slab * rowsPerSlab);
+            return (long) rows * size * Float.BYTES;
+        }
+
+        int getSlabsCount() {
+            return slabs.length;
+        }
+
+        void setSlab(int slab, ByteBuffer buffer) {
+            slabs[slab] = buffer;
+        }
+
+        @Override
+        public double get(int row, int column) {
+            return slabs[row / rowsPerSlab].getFloat(getOffset(row, column));
+        }
+
+        @Override
+        public void set(int row, int column, double distance) {
+            slabs[row / rowsPerSlab].putFloat(getOffset(row, column), (float) distance);
+        }
+
+        private int getOffset(int row, int column) {
+            return ((row % rowsPerSlab) * size + column) * Float.BYTES;
+        }
+
+    }
+
+}
@@ -0,0 +1,87 @@
+package structures;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Distance table in primitive arrays. Cells are stored by rows (cell of source i and target j is on position i * T + j),
+ * next nodes are stored as indices of compact graph.
+ */
+public class DistanceTable<TNode> implements IDistanceTable<TNode> {
+
+    private ICompactGraph<?, TNode, ?> graph;
+    private int[] sources;
+    private int[] targets;
+    private double[] distances;
+    private int[] next;
+
+    /**
+     * @param graph Graph the table was calculated for.
+     * @param sources Indices of source nodes.
+     * @param targets Indices of target nodes.
+     * @param distances S * T distances (infinity if there is no path).
+     * @param next S * T indices of next nodes (-1 if there is no path) or null.
+     */
+    public DistanceTable(ICompactGraph<?, TNode, ?> graph, int[] sources, int[] targets, double[] distances, int[] next) {
+        this.graph = graph;
+        this.sources = sources;
+        this.targets = targets;
+        this.distances = distances;
+        this.next = next;
+    }
+
+    /**
+     * @return Indices of nodes with specified IDs.
+     * @throws java.util.NoSuchElementException Node with specified ID was not found.
+     */
+    static <TNodeId> int[] getIndices(ICompactGraph<TNodeId, ?, ?> graph, List<TNodeId> ids) {
+        int[] indices = new int[ids.size()];
+
+        for (int i = 0; i < indices.length; i++) {
+            indices[i] = graph.getRequiredIndex(ids.get(i));
+        }
+
+        return indices;
+    }
+
+    @Override
+    public List<TNode> getSources() {
+        return getNodes(sources);
+    }
+
+    @Override
+    public List<TNode> getTargets() {
+        return getNodes(targets);
+    }
+
+    @Override
+    public double getDistance(int source, int target) {
+        return distances[source * targets.length + target];
+    }
+
+    @Override
+    public TNode getNext(int source, int target) throws UnsupportedOperationException {
+        if (next == null) {
+            throw new UnsupportedOperationException("Tabulka vzdáleností neobsahuje následující vrcholy.");
+        }
+
+        int node = next[source * targets.length + target];
+        return node == -1 ? null : graph.getNodeAt(node);
+    }
+
+    @Override
+    public boolean hasNext() {
+        return next != null;
+    }
+
+    private List<TNode> getNodes(int[] indices) {
+        List<TNode> nodes = new ArrayList<>(indices.length);
+
+        for (int index : indices) {
+            nodes.add(graph.getNodeAt(index));
+        }
+
+        return nodes;
+    }
+
+}
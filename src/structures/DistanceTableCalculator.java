@@ -0,0 +1,60 @@
+package structures;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Distance table from one partial shortest path tree per source node (search stops when all targets are settled).
+ * Edges are undirected, so if next nodes are not required and there are less targets than sources,
+ * trees are built from targets and table is filled by columns.
+ */
+public class DistanceTableCalculator<TNodeId, TNode, TEdge> implements IDistanceTableCalculator<TNodeId, TNode, TEdge> {
+
+    private boolean isEnabledRequired;
+
+    /**
+     * @param isEnabledRequired Only enabled edges are used (enabled state is taken from compact graph).
+     */
+    public DistanceTableCalculator(boolean isEnabledRequired) {
+        this.isEnabledRequired = isEnabledRequired;
+    }
+
+    @Override
+    public IDistanceTable<TNode> getDistanceTable(ICompactGraph<TNodeId, TNode, TEdge> graph, List<TNodeId> sourceIds, List<TNodeId> targetIds, boolean isNextRequired) throws NoSuchElementException {
+        int[] sources = DistanceTable.getIndices(graph, sourceIds);
+        int[] targets = DistanceTable.getIndices(graph, targetIds);
+        boolean isTransposed = !isNextRequired && targets.length < sources.length;
+        int[] roots = isTransposed ? targets : sources;
+        int[] leaves = isTransposed ? sources : targets;
+        int[] sortedLeaves = Arrays.stream(leaves).sorted().distinct().toArray();
+        double[] distances = new double[sources.length * targets.length];
+        int[] next = isNextRequired ? new int[distances.length] : null;
+        int[] firstNodes = isNextRequired ? new int[graph.getNodesCount()] : null; // First node after source on path to node.
+        SearchWorkspace workspace = SearchWorkspace.get(graph.getNodesCount());
+
+        for (int i = 0; i < roots.length; i++) {
+            IShortestPathTree<TNode, TEdge> tree = new ShortestPathTree<>(graph, roots[i], isEnabledRequired, workspace, sortedLeaves);
+
+            if (isNextRequired) {
+                for (int position = 1; position < tree.getSettledNodesCount(); position++) {
+                    int node = tree.getSettledNode(position);
+                    int predecessor = tree.getPredecessor(node);
+                    firstNodes[node] = predecessor == roots[i] ? node : firstNodes[predecessor];
+                }
+            }
+
+            for (int j = 0; j < leaves.length; j++) {
+                int cell = isTransposed ? j * targets.length + i : i * targets.length + j;
+                distances[cell] = tree.getDistance(leaves[j]);
+
+                if (isNextRequired) {
+                    next[cell] = leaves[j] == roots[i] || tree.getPredecessor(leaves[j]) == -1 ? -1 : firstNodes[leaves[j]];
+                }
+            }
+        }
+
+        return new DistanceTable<>(graph, sources, targets, distances, next);
+    }
+
+}
@@ -0,0 +1,34 @@
+package structures;
+
+import java.util.function.Function;
+import java.util.function.ToDoubleBiFunction;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * A* algorithm on primitive arrays of compact graph (see AStar and DoubleDijkstra).
+ * Heuristic must be consistent, e. g. straight-line distance when size of edge is distance between its nodes.
+ */
+public class DoubleAStar<TNodeId, TNode, TEdge> extends DoubleDijkstra<TNodeId, TNode, TEdge> {
+
+    private ToDoubleBiFunction<TNode, TNode> heuristic;
+
+    /**
+     * @param idAccessor
+     * @param sizeAccessor
+     * @param isEnabledAccessor Edge is enabled, it is used when graph is not compact (compact graph has its own states).
+     * @param heuristic Estimated distance from node to end node.
+     */
+    public DoubleAStar(Function<TNode, TNodeId> idAccessor, ToDoubleFunction<TEdge> sizeAccessor, Function<TEdge, Boolean> isEnabledAccessor, ToDoubleBiFunction<TNode, TNode> heuristic) {
+        super(idAccessor, sizeAccessor, isEnabledAccessor);
+        this.heuristic = heuristic;
+    }
+
+    /**
+     * @return Distance from start node plus estimated distance to end node.
+     */
+    @Override
+    protected double getPriority(ICompactGraph<TNodeId, TNode, TEdge> graph, int node, int target, double distance) {
+        return distance + heuristic.applyAsDouble(graph.getNodeAt(node), graph.getNodeAt(target));
+    }
+
+}
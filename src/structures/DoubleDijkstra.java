@@ -0,0 +1,128 @@
+package structures;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Dijkstra algorithm on primitive arrays of compact graph. Distances, predecessors and heap are taken from pooled
+ * search workspace of current thread, so query does not allocate anything except found path.
+ * Other graphs are converted to compact graph for each query (it is better to pass compact graph).
+ */
+public class DoubleDijkstra<TNodeId, TNode, TEdge> implements IDoubleShortestPathAlgorithm<TNodeId, TNode, TEdge> {
+
+    private Function<TNode, TNodeId> idAccessor;
+    private ToDoubleFunction<TEdge> sizeAccessor;
+    private Function<TEdge, Boolean> isEnabledAccessor;
+    private int settledNodesCount;
+
+    /**
+     * @param idAccessor
+     * @param sizeAccessor
+     * @param isEnabledAccessor Edge is enabled, it is used when graph is not compact (compact graph has its own states).
+     */
+    public DoubleDijkstra(Function<TNode, TNodeId> idAccessor, ToDoubleFunction<TEdge> sizeAccessor, Function<TEdge, Boolean> isEnabledAccessor) {
+        this.idAccessor = idAccessor;
+        this.sizeAccessor = sizeAccessor;
+        this.isEnabledAccessor = isEnabledAccessor;
+    }
+
+    @Override
+    public IGraphPath<TNode, TEdge, Double> findShortestPath(IGraph<TNodeId, TNode, TEdge> graph, TNodeId fromId, TNodeId toId) throws IllegalArgumentException, NoSuchElementException {
+        ICompactGraph<TNodeId, TNode, TEdge> compactGraph = CompactGraph.of(graph, idAccessor, sizeAccessor, isEnabledAccessor);
+        int from = compactGraph.getIndex(fromId);
+        int to = compactGraph.getIndex(toId);
+
+        if (from == -1 || to == -1 || from == to) {
+            throw new NoSuchElementException("Cesta mezi vrcholy " + fromId + " a " + toId + " nebyla nalezena.");
+        }
+
+        SearchWorkspace workspace = SearchWorkspace.get(compactGraph.getNodesCount());
+
+        if (!search(compactGraph, workspace, from, to)) {
+            throw new NoSuchElementException("Cesta mezi vrcholy " + fromId + " a " + toId + " nebyla nalezena.");
+        }
+
+        return buildPath(compactGraph, workspace, from, to);
+    }
+
+    @Override
+    public double findShortestDistance(IGraph<TNodeId, TNode, TEdge> graph, TNodeId fromId, TNodeId toId) throws IllegalArgumentException, NoSuchElementException {
+        ICompactGraph<TNodeId, TNode, TEdge> compactGraph = CompactGraph.of(graph, idAccessor, sizeAccessor, isEnabledAccessor);
+        int from = compactGraph.getRequiredIndex(fromId);
+        int to = compactGraph.getRequiredIndex(toId);
+        SearchWorkspace workspace = SearchWorkspace.get(compactGraph.getNodesCount());
+        return search(compactGraph, workspace, from, to) ? workspace.getDistance(to) : Double.POSITIVE_INFINITY;
+    }
+
+    @Override
+    public int getSettledNodesCount() {
+        return settledNodesCount;
+    }
+
+    /**
+     * Get priority of node in heap (lower value is explored earlier).
+     * @param graph
+     * @param node Index of reached node.
+     * @param target Index of end node.
+     * @param distance Distance of node from start node.
+     * @return Distance from start node.
+     */
+    protected double getPriority(ICompactGraph<TNodeId, TNode, TEdge> graph, int node, int target, double distance) {
+        return distance;
+    }
+
+    /**
+     * Settle nodes in order of priority until end node is settled.
+     * @return End node was reached.
+     */
+    private boolean search(ICompactGraph<TNodeId, TNode, TEdge> graph, SearchWorkspace workspace, int from, int to) {
+        workspace.start();
+        workspace.relax(from, 0, getPriority(graph, from, to, 0), -1, -1);
+
+        try {
+            while (!workspace.isHeapEmpty()) {
+                int current = workspace.settle();
+
+                if (current == to) {
+                    return true;
+                }
+
+                double distance = workspace.getDistance(current);
+
+                for (int arc = graph.getArcsStart(current); arc < graph.getArcsEnd(current); arc++) {
+                    if (!graph.isArcEnabled(arc)) {
+                        continue;
+                    }
+
+                    int target = graph.getArcTarget(arc);
+                    double totalDistance = distance + graph.getArcSize(arc);
+
+                    if (totalDistance < workspace.getDistance(target) && (!workspace.isReached(target) || workspace.isInHeap(target))) {
+                        workspace.relax(target, totalDistance, getPriority(graph, target, to, totalDistance), current, arc);
+                    }
+                }
+            }
+
+            return false;
+        } finally {
+            settledNodesCount = workspace.getSettledNodesCount();
+        }
+    }
+
+    private IGraphPath<TNode, TEdge, Double> buildPath(ICompactGraph<TNodeId, TNode, TEdge> graph, SearchWorkspace workspace, int from, int to) {
+        LinkedList<TNode> nodes = new LinkedList<>();
+        LinkedList<TEdge> edges = new LinkedList<>();
+
+        for (int node = to; node != from; node = workspace.getPredecessor(node)) {
+            nodes.addFirst(graph.getNodeAt(node));
+            edges.addFirst(graph.getArcEdge(workspace.getPredecessorArc(node)));
+        }
+
+        nodes.addFirst(graph.getNodeAt(from));
+        return new GraphPath<>(new ArrayList<>(nodes), new ArrayList<>(edges), workspace.getDistance(to));
+    }
+
+}
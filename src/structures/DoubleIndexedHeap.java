@@ -0,0 +1,78 @@
+package structures;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * Indexed heap with primitive double keys (e. g. node index -> distance from start).
+ */
+public class DoubleIndexedHeap extends IndexedHeap {
+
+    private double[] keys;
+
+    public DoubleIndexedHeap(int capacity) {
+        super(capacity);
+        keys = new double[Math.max(capacity, 1)];
+    }
+
+    public DoubleIndexedHeap() {
+        this(0);
+    }
+
+    /**
+     * Add item to heap.
+     * @param item
+     * @param key
+     * @throws IllegalArgumentException Item is already in heap.
+     */
+    public void add(int item, double key) throws IllegalArgumentException {
+        ensureCapacity(item);
+        keys[item] = key;
+        insert(item);
+    }
+
+    /**
+     * Set lower key to item in heap.
+     * @param item
+     * @param key New key, it must not be greater than current key.
+     * @throws NoSuchElementException Item is not in heap.
+     * @throws IllegalArgumentException New key is greater than current key.
+     */
+    public void decreaseKey(int item, double key) throws NoSuchElementException, IllegalArgumentException {
+        checkContains(item);
+
+        if (key > keys[item]) {
+            throw new IllegalArgumentException("Nový klíč prvku " + item + " je větší než současný klíč.");
+        }
+
+        keys[item] = key;
+        moveUp(item);
+    }
+
+    /**
+     * @param item
+     * @return Last key of item (it is kept after item was removed from heap).
+     */
+    public double getKey(int item) {
+        return keys[item];
+    }
+
+    /**
+     * @return Lowest key in heap.
+     * @throws NoSuchElementException Heap is empty.
+     */
+    public double peekKey() throws NoSuchElementException {
+        return keys[peek()];
+    }
+
+    @Override
+    protected void grow(int capacity) {
+        keys = Arrays.copyOf(keys, capacity);
+    }
+
+    @Override
+    protected boolean isLess(int item1, int item2) {
+        return keys[item1] < keys[item2];
+    }
+
+}
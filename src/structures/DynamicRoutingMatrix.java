@@ -0,0 +1,302 @@
+package structures;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Routing matrix maintained after changes of edges. Only rows which can be affected by change are updated:
+ * - When edge u-v is longer (or removed), row s is affected only if shortest path from s to v goes through u
+ * (or vice versa). Nodes whose shortest path from s can go through v are marked (they are found by search from v)
+ * and only their distances are computed again by Dijkstra algorithm started from their not marked neighbours.
+ * - When edge u-v is shorter (or added), row s is affected only if u-v shortens path from s to v (or to u).
+ * Dijkstra algorithm is started from v and it continues only through nodes whose distance decreases.
+ * Distances are stored as floats, so they are compared with small relative tolerance.
+ */
+public class DynamicRoutingMatrix<TNodeId, TNode, TEdge> implements IDynamicRoutingMatrix<TNodeId, TNode, TEdge> {
+
+    private static final double TOLERANCE = 1e-5;
+
+    private CompactRoutingMatrix<TNode> matrix;
+    private IIndexMatrix next;
+    private IDistanceMatrix distances;
+    private Object[] nodeIds;
+    private boolean isEnabledRequired;
+    private int updatedRowsCount;
+
+    // Workspace of one row update. Node is marked (or settled) in current row update if it has current stamp.
+    private DoubleIndexedHeap heap;
+    private double[] tentativeDistances;
+    private int[] tentativeNext;
+    private int[] marked;
+    private int[] settled;
+    private int[] queue;
+    private int stamp;
+
+    /**
+     * @param graph Graph the matrix was calculated for.
+     * @param matrix Matrix calculated for graph (nodes in order of indices of graph).
+     * @param isEnabledRequired Matrix was calculated only from enabled edges.
+     */
+    public DynamicRoutingMatrix(ICompactGraph<TNodeId, TNode, TEdge> graph, CompactRoutingMatrix<TNode> matrix, boolean isEnabledRequired) {
+        int nodesCount = graph.getNodesCount();
+        this.matrix = matrix;
+        this.isEnabledRequired = isEnabledRequired;
+        next = matrix.getNextMatrix();
+        distances = matrix.getDistanceMatrix();
+        nodeIds = new Object[nodesCount];
+        heap = new DoubleIndexedHeap(nodesCount);
+        tentativeDistances = new double[nodesCount];
+        tentativeNext = new int[nodesCount];
+        marked = new int[nodesCount];
+        settled = new int[nodesCount];
+        queue = new int[nodesCount];
+
+        for (int i = 0; i < nodesCount; i++) {
+            nodeIds[i] = graph.getNodeIdAt(i);
+        }
+    }
+
+    @Override
+    public TNode[] getNodes() {
+        return matrix.getNodes();
+    }
+
+    @Override
+    public TNode[][] getRouting() {
+        return matrix.getRouting();
+    }
+
+    @Override
+    public TNode getNext(int from, int to) {
+        return matrix.getNext(from, to);
+    }
+
+    @Override
+    public double getDistance(int from, int to) {
+        return matrix.getDistance(from, to);
+    }
+
+    @Override
+    public int getUpdatedRowsCount() {
+        return updatedRowsCount;
+    }
+
+    @Override
+    public boolean isValidFor(ICompactGraph<TNodeId, TNode, TEdge> graph) {
+        if (graph.getNodesCount() != nodeIds.length) {
+            return false;
+        }
+
+        for (int i = 0; i < nodeIds.length; i++) {
+            if (!nodeIds[i].equals(graph.getNodeIdAt(i))) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    @Override
+    public boolean isValidFor(List<TNodeId> nodeIds) {
+        if (nodeIds.size() != this.nodeIds.length) {
+            return false;
+        }
+
+        for (int i = 0; i < this.nodeIds.length; i++) {
+            if (!this.nodeIds[i].equals(nodeIds.get(i))) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    @Override
+    public void updateEdge(ICompactGraph<TNodeId, TNode, TEdge> graph, TNodeId fromId, TNodeId toId, double oldSize) throws IllegalArgumentException {
+        if (!isValidFor(graph)) {
+            throw new IllegalArgumentException("Směrovací matice nebyla vypočítána pro tento graf.");
+        }
+
+        int u = graph.getRequiredIndex(fromId);
+        int v = graph.getRequiredIndex(toId);
+        int arc = graph.getArc(u, v);
+        double newSize = arc == -1 || !isAllowed(graph, arc) ? Double.POSITIVE_INFINITY : graph.getArcSize(arc);
+        updatedRowsCount = 0;
+
+        if (newSize > oldSize) {
+            double[] oldFromU = getRow(u);
+            double[] oldFromV = getRow(v);
+
+            for (int source = 0; source < nodeIds.length; source++) {
+                if (isOnShortestPath(source, u, v, oldSize)) {
+                    updateIncreased(graph, source, v, oldFromV);
+                    updatedRowsCount++;
+                } else if (isOnShortestPath(source, v, u, oldSize)) {
+                    updateIncreased(graph, source, u, oldFromU);
+                    updatedRowsCount++;
+                }
+            }
+        } else if (newSize < oldSize) {
+            for (int source = 0; source < nodeIds.length; source++) {
+                if (isShorter(distances.get(source, u) + newSize, distances.get(source, v))) {
+                    updateDecreased(graph, source, u, v, newSize);
+                    updatedRowsCount++;
+                } else if (isShorter(distances.get(source, v) + newSize, distances.get(source, u))) {
+                    updateDecreased(graph, source, v, u, newSize);
+                    updatedRowsCount++;
+                }
+            }
+        }
+    }
+
+    /**
+     * @return Shortest path from source to node "to" can go through edge from node "from".
+     */
+    private boolean isOnShortestPath(int source, int from, int to, double size) {
+        double distance = distances.get(source, to);
+        return distance != Double.POSITIVE_INFINITY && isEqual(distances.get(source, from) + size, distance);
+    }
+
+    /**
+     * Compute again distances of nodes whose shortest path from source can go through node below changed edge.
+     * @param source Index of source node (row).
+     * @param below Node on farther end of changed edge.
+     * @param oldFromBelow Distances from node below before change.
+     */
+    private void updateIncreased(ICompactGraph<TNodeId, TNode, TEdge> graph, int source, int below, double[] oldFromBelow) {
+        double toBelow = distances.get(source, below);
+        int markedCount = 0;
+        nextStamp();
+        marked[below] = stamp;
+        queue[markedCount++] = below;
+
+        for (int i = 0; i < markedCount; i++) { // Nodes on shortest paths through node below are connected with it by such nodes.
+            for (int arc = graph.getArcsStart(queue[i]); arc < graph.getArcsEnd(queue[i]); arc++) {
+                int neighbour = graph.getArcTarget(arc);
+
+                if (marked[neighbour] != stamp && neighbour != source && isEqual(toBelow + oldFromBelow[neighbour], distances.get(source, neighbour))) {
+                    marked[neighbour] = stamp;
+                    queue[markedCount++] = neighbour;
+                }
+            }
+        }
+
+        heap.clear();
+
+        for (int i = 0; i < markedCount; i++) {
+            int node = queue[i];
+            tentativeDistances[node] = Double.POSITIVE_INFINITY;
+            tentativeNext[node] = -1;
+
+            for (int arc = graph.getArcsStart(node); arc < graph.getArcsEnd(node); arc++) {
+                int neighbour = graph.getArcTarget(arc);
+                double distance = distances.get(source, neighbour) + graph.getArcSize(arc);
+
+                if (marked[neighbour] != stamp && isAllowed(graph, arc) && distance < tentativeDistances[node]) {
+                    tentativeDistances[node] = distance;
+                    tentativeNext[node] = neighbour == source ? node : next.get(source, neighbour);
+                }
+            }
+
+            heap.add(node, tentativeDistances[node]);
+        }
+
+        while (!heap.isEmpty()) {
+            int current = heap.poll();
+            settled[current] = stamp;
+            distances.set(source, current, tentativeDistances[current]);
+            next.set(source, current, tentativeNext[current]);
+
+            for (int arc = graph.getArcsStart(current); arc < graph.getArcsEnd(current); arc++) {
+                int neighbour = graph.getArcTarget(arc);
+                double distance = tentativeDistances[current] + graph.getArcSize(arc);
+
+                if (marked[neighbour] == stamp && settled[neighbour] != stamp && isAllowed(graph, arc) && distance < tentativeDistances[neighbour]) {
+                    tentativeDistances[neighbour] = distance;
+                    tentativeNext[neighbour] = tentativeNext[current];
+                    heap.decreaseKey(neighbour, distance);
+                }
+            }
+        }
+    }
+
+    /**
+     * Propagate shorter distance from source through shortened edge to nodes whose distance decreases.
+     * @param source Index of source node (row).
+     * @param from Nearer end of changed edge.
+     * @param to Farther end of changed edge.
+     * @param size New size of edge.
+     */
+    private void updateDecreased(ICompactGraph<TNodeId, TNode, TEdge> graph, int source, int from, int to, double size) {
+        heap.clear();
+        nextStamp(); // Marked nodes were added to heap.
+        tentativeDistances[to] = distances.get(source, from) + size;
+        tentativeNext[to] = from == source ? to : next.get(source, from);
+        marked[to] = stamp;
+        heap.add(to, tentativeDistances[to]);
+
+        while (!heap.isEmpty()) {
+            int current = heap.poll();
+            distances.set(source, current, tentativeDistances[current]);
+            next.set(source, current, tentativeNext[current]);
+
+            for (int arc = graph.getArcsStart(current); arc < graph.getArcsEnd(current); arc++) {
+                int neighbour = graph.getArcTarget(arc);
+                double distance = tentativeDistances[current] + graph.getArcSize(arc);
+
+                if (neighbour == source || !isAllowed(graph, arc) || !isShorter(distance, distances.get(source, neighbour))) {
+                    continue;
+                }
+
+                if (marked[neighbour] != stamp) {
+                    marked[neighbour] = stamp;
+                    tentativeDistances[neighbour] = distance;
+                    tentativeNext[neighbour] = tentativeNext[current];
+                    heap.add(neighbour, distance);
+                } else if (heap.contains(neighbour) && distance < tentativeDistances[neighbour]) {
+                    tentativeDistances[neighbour] = distance;
+                    tentativeNext[neighbour] = tentativeNext[current];
+                    heap.decreaseKey(neighbour, distance);
+                }
+            }
+        }
+    }
+
+    private void nextStamp() {
+        if (++stamp == Integer.MAX_VALUE) {
+            Arrays.fill(marked, 0);
+            Arrays.fill(settled, 0);
+            stamp = 1;
+        }
+    }
+
+    private boolean isAllowed(ICompactGraph<TNodeId, TNode, TEdge> graph, int arc) {
+        return !isEnabledRequired || graph.isArcEnabled(arc);
+    }
+
+    private double[] getRow(int source) {
+        double[] result = new double[nodeIds.length];
+
+        for (int node = 0; node < nodeIds.length; node++) {
+            result[node] = distances.get(source, node);
+        }
+
+        return result;
+    }
+
+    /**
+     * @return Distances are equal with tolerance (infinity is equal only to infinity).
+     */
+    private boolean isEqual(double x, double y) {
+        if (Double.isInfinite(x) || Double.isInfinite(y)) {
+            return x == y;
+        }
+
+        return Math.abs(x - y) <= TOLERANCE * Math.max(1, Math.abs(y));
+    }
+
+    private boolean isShorter(double x, double y) {
+        return x < y && !isEqual(x, y);
+    }
+
+}
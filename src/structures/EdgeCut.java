@@ -0,0 +1,44 @@
+package structures;
+
+public class EdgeCut<TNode, TEdge> implements IEdgeCut<TNode, TEdge> {
+
+    private TEdge edge;
+    private TNode from;
+    private TNode to;
+    private double fromRatio;
+    private double toRatio;
+
+    public EdgeCut(TEdge edge, TNode from, TNode to, double fromRatio, double toRatio) {
+        this.edge = edge;
+        this.from = from;
+        this.to = to;
+        this.fromRatio = fromRatio;
+        this.toRatio = toRatio;
+    }
+
+    @Override
+    public TEdge getEdge() {
+        return edge;
+    }
+
+    @Override
+    public TNode getFrom() {
+        return from;
+    }
+
+    @Override
+    public TNode getTo() {
+        return to;
+    }
+
+    @Override
+    public double getFromRatio() {
+        return fromRatio;
+    }
+
+    @Override
+    public double getToRatio() {
+        return toRatio;
+    }
+
+}
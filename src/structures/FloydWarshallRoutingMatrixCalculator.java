@@ -0,0 +1,210 @@
+package structures;
+
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.BiPredicate;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Routing matrix calculator for small dense graphs. Floyd-Warshall algorithm runs on rows of double distances
+ * and int next nodes divided into tiles, so each tile fits into cache. Rows are released while they are copied
+ * to routing matrix, so peak memory is about 12 * n^2 bytes. For each block k of intermediate nodes there are three phases:
+ * 1. diagonal tile (k, k), 2. other tiles in row k and column k (they depend only on diagonal tile),
+ * 3. all remaining tiles (they depend only on tiles from phase 2). Tiles of phases 2 and 3 are computed in parallel.
+ */
+public class FloydWarshallRoutingMatrixCalculator<TNodeId, TNode, TEdge> implements IRoutingMatrixCalculator<TNodeId, TNode, TEdge> {
+
+    public static final int MAX_NODES_COUNT = 4096; // Rows of larger graph would need more than 200 MB.
+    private static final int TILE_SIZE = 64;
+
+    private Function<TNode, TNodeId> idAccessor;
+    private ToDoubleFunction<TEdge> sizeAccessor;
+    private Function<TEdge, Boolean> isEnabledAccessor;
+    private ForkJoinPool pool;
+
+    /**
+     * @param idAccessor
+     * @param sizeAccessor
+     * @param isEnabledAccessor Edge is enabled, it is used when graph is not compact (compact graph has its own states).
+     * @param pool Pool of threads for computing tiles.
+     */
+    public FloydWarshallRoutingMatrixCalculator(Function<TNode, TNodeId> idAccessor, ToDoubleFunction<TEdge> sizeAccessor, Function<TEdge, Boolean> isEnabledAccessor, ForkJoinPool pool) {
+        this.idAccessor = idAccessor;
+        this.sizeAccessor = sizeAccessor;
+        this.isEnabledAccessor = isEnabledAccessor;
+        this.pool = pool;
+    }
+
+    public FloydWarshallRoutingMatrixCalculator(Function<TNode, TNodeId> idAccessor, ToDoubleFunction<TEdge> sizeAccessor, Function<TEdge, Boolean> isEnabledAccessor) {
+        this(idAccessor, sizeAccessor, isEnabledAccessor, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @throws IllegalArgumentException Graph has more than MAX_NODES_COUNT nodes.
+     */
+    @Override
+    public CompactRoutingMatrix<TNode> getRoutingMatrix(IGraph<TNodeId, TNode, TEdge> graph) throws NoSuchElementException, IllegalArgumentException {
+        ICompactGraph<TNodeId, TNode, TEdge> compactGraph = CompactGraph.of(graph, idAccessor, sizeAccessor, isEnabledAccessor);
+        int nodesCount = compactGraph.getNodesCount();
+
+        if (nodesCount == 0) {
+            throw new NoSuchElementException("Nelze vypočítat směrovací matici z prázdného grafu.");
+        } else if (nodesCount > MAX_NODES_COUNT) {
+            throw new IllegalArgumentException("Graf má příliš mnoho vrcholů pro Floydův-Warshallův algoritmus.");
+        }
+
+        Tiles tiles = new Tiles(compactGraph);
+
+        for (int k = 0; k < tiles.count; k++) {
+            int block = k;
+            tiles.update(block, block, block);
+
+            pool.invoke(new TilesTask(tiles, block, (i, j) -> (i == block) != (j == block)));
+            pool.invoke(new TilesTask(tiles, block, (i, j) -> i != block && j != block));
+        }
+
+        return tiles.toRoutingMatrix(compactGraph);
+    }
+
+    /**
+     * Matrices of distances and next nodes divided into tiles.
+     */
+    private class Tiles {
+
+        public int count;
+        private int size;
+        private double[][] distances;
+        private int[][] next;
+
+        public Tiles(ICompactGraph<TNodeId, TNode, TEdge> graph) {
+            size = graph.getNodesCount();
+            count = (size + TILE_SIZE - 1) / TILE_SIZE;
+            distances = new double[size][size];
+            next = new int[size][size];
+
+            for (int i = 0; i < size; i++) {
+                Arrays.fill(distances[i], Double.POSITIVE_INFINITY);
+                Arrays.fill(next[i], -1);
+                distances[i][i] = 0;
+
+                for (int arc = graph.getArcsStart(i); arc < graph.getArcsEnd(i); arc++) {
+                    int target = graph.getArcTarget(arc);
+
+                    if (graph.isArcEnabled(arc) && graph.getArcSize(arc) < distances[i][target]) {
+                        distances[i][target] = graph.getArcSize(arc);
+                        next[i][target] = target;
+                    }
+                }
+            }
+        }
+
+        /**
+         * Improve tile (rowTile, columnTile) by paths through nodes of tile block k.
+         */
+        public void update(int rowTile, int columnTile, int k) {
+            int rowEnd = Math.min((rowTile + 1) * TILE_SIZE, size);
+            int columnStart = columnTile * TILE_SIZE;
+            int columnEnd = Math.min((columnTile + 1) * TILE_SIZE, size);
+            int kEnd = Math.min((k + 1) * TILE_SIZE, size);
+
+            for (int middle = k * TILE_SIZE; middle < kEnd; middle++) {
+                double[] middleDistances = distances[middle];
+
+                for (int i = rowTile * TILE_SIZE; i < rowEnd; i++) {
+                    double[] rowDistances = distances[i];
+                    double toMiddle = rowDistances[middle];
+
+                    if (toMiddle == Double.POSITIVE_INFINITY) {
+                        continue;
+                    }
+
+                    int[] rowNext = next[i];
+                    int nextToMiddle = rowNext[middle];
+
+                    for (int j = columnStart; j < columnEnd; j++) {
+                        double distance = toMiddle + middleDistances[j];
+
+                        if (distance < rowDistances[j]) {
+                            rowDistances[j] = distance;
+                            rowNext[j] = nextToMiddle;
+                        }
+                    }
+                }
+            }
+        }
+
+        /**
+         * Copy rows to routing matrix. Each row is released after it is copied, so tiles cannot be used anymore.
+         */
+        public CompactRoutingMatrix<TNode> toRoutingMatrix(ICompactGraph<TNodeId, TNode, TEdge> graph) {
+            @SuppressWarnings("unchecked")
+            TNode[] nodes = (TNode[]) Array.newInstance(graph.getNodeAt(0).getClass(), size);
+            IIndexMatrix nextMatrix = IndexMatrix.create(size);
+            IDistanceMatrix distanceMatrix = DistanceMatrix.create(size);
+
+            for (int i = 0; i < size; i++) {
+                nodes[i] = graph.getNodeAt(i);
+
+                for (int j = 0; j < size; j++) {
+                    nextMatrix.set(i, j, i == j ? -1 : next[i][j]);
+                    distanceMatrix.set(i, j, distances[i][j]);
+                }
+
+                next[i] = null;
+                distances[i] = null;
+            }
+
+            return new CompactRoutingMatrix<>(nodes, nextMatrix, distanceMatrix);
+        }
+
+    }
+
+    /**
+     * Task which updates all tiles accepted by filter (each tile by one subtask).
+     */
+    private class TilesTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private Tiles tiles;
+        private int k;
+        private BiPredicate<Integer, Integer> filter;
+
+        public TilesTask(Tiles tiles, int k, BiPredicate<Integer, Integer> filter) {
+            this.tiles = tiles;
+            this.k = k;
+            this.filter = filter;
+        }
+
+        @Override
+        protected void compute() {
+            List<RecursiveAction> tasks = new ArrayList<>();
+
+            for (int i = 0; i < tiles.count; i++) {
+                for (int j = 0; j < tiles.count; j++) {
+                    if (filter.test(i, j)) {
+                        int rowTile = i;
+                        int columnTile = j;
+
+                        tasks.add(new RecursiveAction() {
+                            @Override
+                            protected void compute() {
+                                tiles.update(rowTile, columnTile, k);
+                            }
+                        });
+                    }
+                }
+            }
+
+            invokeAll(tasks);
+        }
+
+    }
+
+}
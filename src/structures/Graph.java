@@ -1,11 +1,18 @@
 package structures;
 
+import javafx.util.Pair;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.io.Serializable;
 import java.util.*;
 import java.util.stream.Collectors;
 
 public class Graph<TNodeId, TNode, TEdge> implements IGraph<TNodeId, TNode, TEdge>, Serializable {
 
+    private static final long serialVersionUID = -8918006521928049278L; // Keep compatibility with saved maps.
+
     Map<TNodeId, Node> nodes;
 
     public Graph() {
@@ -31,7 +38,7 @@ public class Graph<TNodeId, TNode, TEdge> implements IGraph<TNodeId, TNode, TEdg
     @Override
     public void removeNode(TNodeId nodeId) throws NoSuchElementException {
         Node node = getRequiredNode(nodeId);
-        List<Edge> edges = new ArrayList<>(node.edges);
+        List<Edge> edges = new ArrayList<>(node.edgesByTarget.values());
 
         for (Edge edge : edges) {
             removeEdge(edge.fromId, edge.toId);
@@ -51,10 +58,13 @@ public class Graph<TNodeId, TNode, TEdge> implements IGraph<TNodeId, TNode, TEdg
             throw new IllegalArgumentException("Smyčky nejsou povoleny.");
         }
 
-        if (getEdge(fromId, toId) == null) {
+        Node from = getRequiredNode(fromId);
+        Node to = getRequiredNode(toId);
+
+        if (!from.edgesByTarget.containsKey(toId)) {
             Edge edge = new Edge(fromId, toId, data);
-            nodes.get(fromId).edges.add(edge);
-            nodes.get(toId).edges.add(edge);
+            from.edgesByTarget.put(toId, edge);
+            to.edgesByTarget.put(fromId, edge);
         } else {
             throw new IllegalArgumentException("Hrana mezi vrcholy " + fromId + " a " + toId + " již existuje.");
         }
@@ -63,20 +73,22 @@ public class Graph<TNodeId, TNode, TEdge> implements IGraph<TNodeId, TNode, TEdg
     @Override
     public TEdge getEdge(TNodeId fromId, TNodeId toId) throws NoSuchElementException {
         Node from = getRequiredNode(fromId);
-        Node to = getRequiredNode(toId);
-        List<Edge> edges = from.edges.stream().filter(item -> item.getTarget(fromId).equals(toId)).collect(Collectors.toList());
+        getRequiredNode(toId);
+        Edge edge = from.edgesByTarget.get(toId);
 
-        return edges.isEmpty() ? null : edges.get(0).data;
+        return edge == null ? null : edge.data;
     }
 
     @Override
     public void removeEdge(TNodeId fromId, TNodeId toId) throws NoSuchElementException {
         Node from = getRequiredNode(fromId);
         Node to = getRequiredNode(toId);
-        Edge edge = from.edges.stream().filter(item -> item.getTarget(fromId).equals(toId)).findFirst().get();
 
-        from.edges.remove(edge);
-        to.edges.remove(edge);
+        if (from.edgesByTarget.remove(toId) == null) {
+            throw new NoSuchElementException("Hrana mezi vrcholy " + fromId + " a " + toId + " nebyla nalezena.");
+        }
+
+        to.edgesByTarget.remove(fromId);
     }
 
     @Override
@@ -84,7 +96,7 @@ public class Graph<TNodeId, TNode, TEdge> implements IGraph<TNodeId, TNode, TEdg
         Set<Edge> edges = new HashSet<>();
 
         for (Node node : nodes.values()) {
-            edges.addAll(node.edges);
+            edges.addAll(node.edgesByTarget.values());
         }
 
         return edges.stream().map(edge -> edge.data).collect(Collectors.toList());
@@ -97,10 +109,19 @@ public class Graph<TNodeId, TNode, TEdge> implements IGraph<TNodeId, TNode, TEdg
 
     @Override
     public List<TNode> getDescendants(TNodeId nodeId) throws NoSuchElementException {
-        return getRequiredNode(nodeId).edges.stream().map(edge -> {
-            TNodeId descendantId = edge.getTarget(nodeId);
-            return getNode(descendantId);
-        }).collect(Collectors.toList());
+        return getRequiredNode(nodeId).edgesByTarget.keySet().stream().map(this::getNode).collect(Collectors.toList());
+    }
+
+    @Override
+    public List<Pair<TNode, TEdge>> getIncidentEdges(TNodeId nodeId) throws NoSuchElementException {
+        Collection<Edge> edges = getRequiredNode(nodeId).edgesByTarget.values();
+        List<Pair<TNode, TEdge>> result = new ArrayList<>(edges.size());
+
+        for (Edge edge : edges) {
+            result.add(new Pair<>(nodes.get(edge.getTarget(nodeId)).data, edge.data));
+        }
+
+        return result;
     }
 
     /**
@@ -121,14 +142,34 @@ public class Graph<TNodeId, TNode, TEdge> implements IGraph<TNodeId, TNode, TEdg
 
     private class Node implements Serializable {
 
+        private static final long serialVersionUID = 6502455265667849136L;
+
         public TNodeId id;
         public TNode data;
-        public List<Edge> edges;
+        public transient Map<TNodeId, Edge> edgesByTarget; // Edges indexed by ID of the other node.
+        private List<Edge> edges; // Edges are stored as list only in serialized form (format of saved maps).
 
         public Node(TNodeId id, TNode data) {
             this.id = id;
             this.data = data;
-            edges = new ArrayList<>();
+            edgesByTarget = new LinkedHashMap<>();
+        }
+
+        private void writeObject(ObjectOutputStream stream) throws IOException {
+            edges = new ArrayList<>(edgesByTarget.values());
+            stream.defaultWriteObject();
+            edges = null;
+        }
+
+        private void readObject(ObjectInputStream stream) throws IOException, ClassNotFoundException {
+            stream.defaultReadObject();
+            edgesByTarget = new LinkedHashMap<>();
+
+            for (Edge edge : edges) {
+                edgesByTarget.put(edge.getTarget(id), edge);
+            }
+
+            edges = null;
         }
 
         @Override
@@ -148,6 +189,8 @@ public class Graph<TNodeId, TNode, TEdge> implements IGraph<TNodeId, TNode, TEdg
 
     private class Edge implements Serializable {
 
+        private static final long serialVersionUID = 9157170136446789513L;
+
         public TNodeId fromId;
         public TNodeId toId;
         public TEdge data;
@@ -172,7 +215,7 @@ public class Graph<TNodeId, TNode, TEdge> implements IGraph<TNodeId, TNode, TEdg
         }
 
         public TNodeId getTarget(TNodeId source) {
-            return source == fromId ? toId : fromId;
+            return source.equals(fromId) ? toId : fromId;
         }
     }
 
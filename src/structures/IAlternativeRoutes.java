@@ -0,0 +1,24 @@
+package structures;
+
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Finding of few meaningfully different paths between two nodes (they share only part of shortest path
+ * and they are not much longer than shortest path).
+ * @param <TNodeId> Type of node ID.
+ * @param <TNode> Type of node.
+ * @param <TEdge> Type of edge.
+ */
+public interface IAlternativeRoutes<TNodeId, TNode, TEdge> {
+
+    /**
+     * @param graph
+     * @param fromId ID of start node.
+     * @param toId ID of end node.
+     * @return Shortest path followed by alternative paths (ordered from the best alternative).
+     * @throws NoSuchElementException There is no path between specified nodes or specified nodeId was not found.
+     */
+    List<IGraphPath<TNode, TEdge, Double>> findAlternativePaths(ICompactGraph<TNodeId, TNode, TEdge> graph, TNodeId fromId, TNodeId toId) throws NoSuchElementException;
+
+}
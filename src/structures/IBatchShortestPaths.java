@@ -0,0 +1,22 @@
+package structures;
+
+import javafx.util.Pair;
+
+import java.util.List;
+
+/**
+ * Finding of shortest paths for many pairs of nodes at once.
+ * @param <TNodeId> Type of node ID.
+ * @param <TNode> Type of node.
+ * @param <TEdge> Type of edge.
+ */
+public interface IBatchShortestPaths<TNodeId, TNode, TEdge> {
+
+    /**
+     * @param graph
+     * @param queries Pairs of IDs of start and end node.
+     * @return Result of each query in order of queries (failed query does not stop other queries).
+     */
+    List<IShortestPathResult<TNode, TEdge>> findShortestPaths(ICompactGraph<TNodeId, TNode, TEdge> graph, List<Pair<TNodeId, TNodeId>> queries);
+
+}
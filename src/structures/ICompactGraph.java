@@ -0,0 +1,109 @@
+package structures;
+
+import java.util.NoSuchElementException;
+
+/**
+ * Read-only snapshot of undirected graph with nodes stored as dense indices 0..N-1.
+ * Every undirected edge is stored as two arcs (one for each direction). Arcs of node with index i
+ * are stored on positions getArcsStart(i) (inclusive) to getArcsEnd(i) (exclusive).
+ * @param <TNodeId> Unique identifier for node.
+ * @param <TNode> Custom node data.
+ * @param <TEdge> Custom edge data.
+ */
+public interface ICompactGraph<TNodeId, TNode, TEdge> extends IGraph<TNodeId, TNode, TEdge> {
+
+    /**
+     * @return Count of nodes.
+     */
+    int getNodesCount();
+
+    /**
+     * @return Count of arcs (twice count of edges).
+     */
+    int getArcsCount();
+
+    /**
+     * @param nodeId Unique ID of node.
+     * @return Index of node or -1 if there is no such node.
+     */
+    int getIndex(TNodeId nodeId);
+
+    /**
+     * @param nodeId Unique ID of node.
+     * @return Index of node.
+     * @throws NoSuchElementException Specified nodeId was not found.
+     */
+    int getRequiredIndex(TNodeId nodeId) throws NoSuchElementException;
+
+    /**
+     * @param index Index of node.
+     * @return ID of node.
+     */
+    TNodeId getNodeIdAt(int index);
+
+    /**
+     * @param index Index of node.
+     * @return Data of node.
+     */
+    TNode getNodeAt(int index);
+
+    /**
+     * @param index Index of node.
+     * @return Position of first arc of node.
+     */
+    int getArcsStart(int index);
+
+    /**
+     * @param index Index of node.
+     * @return Position after last arc of node.
+     */
+    int getArcsEnd(int index);
+
+    /**
+     * @param from Index of start node.
+     * @param to Index of end node.
+     * @return Position of arc from start node to end node or -1 if there is no such arc.
+     */
+    int getArc(int from, int to);
+
+    /**
+     * @param arc Position of arc.
+     * @return Index of node the arc points to.
+     */
+    int getArcTarget(int arc);
+
+    /**
+     * @param arc Position of arc.
+     * @return Size of arc.
+     */
+    double getArcSize(int arc);
+
+    /**
+     * @param arc Position of arc.
+     * @return Arc is enabled.
+     */
+    boolean isArcEnabled(int arc);
+
+    /**
+     * @param arc Position of arc.
+     * @return Data of edge the arc belongs to.
+     */
+    TEdge getArcEdge(int arc);
+
+    /**
+     * Checksum of graph content (IDs of nodes, edges, their sizes and states). It does not depend on order of nodes,
+     * so it can be used to check if data precomputed for graph are still valid.
+     * @return Checksum of graph.
+     */
+    long getChecksum();
+
+    /**
+     * Patch data, size and state of existing edge without rebuilding whole snapshot.
+     * @param fromId Unique ID of first node.
+     * @param toId Unique ID of second node.
+     * @param data New data of edge.
+     * @throws NoSuchElementException Specified nodeId or edge between these nodes was not found.
+     */
+    void updateEdge(TNodeId fromId, TNodeId toId, TEdge data) throws NoSuchElementException;
+
+}
@@ -0,0 +1,53 @@
+package structures;
+
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Labelling of connected components of graph, so it is known without search whether there is path between two nodes.
+ * @param <TNodeId> Type of node ID.
+ */
+public interface IConnectedComponents<TNodeId> {
+
+    /**
+     * @param fromId ID of first node.
+     * @param toId ID of second node.
+     * @return There is path between nodes (false if some of nodes does not exist).
+     */
+    boolean isConnected(TNodeId fromId, TNodeId toId);
+
+    /**
+     * @param nodeId ID of node.
+     * @return Label of component of node (same for all nodes in component).
+     * @throws NoSuchElementException Specified node was not found.
+     */
+    int getComponent(TNodeId nodeId) throws NoSuchElementException;
+
+    /**
+     * @return Count of components.
+     */
+    int getComponentsCount();
+
+    /**
+     * Merge components of two nodes after edge between them was added (or enabled).
+     * Removed (or disabled) edge can split component, so components must be found again then.
+     * @param fromId ID of first node.
+     * @param toId ID of second node.
+     * @throws NoSuchElementException Specified node was not found.
+     */
+    void union(TNodeId fromId, TNodeId toId) throws NoSuchElementException;
+
+    /**
+     * @param graph
+     * @return Components were found for graph with same nodes.
+     */
+    boolean isValidFor(ICompactGraph<TNodeId, ?, ?> graph);
+
+    /**
+     * Check nodes of changed graph without building its compact graph.
+     * @param nodeIds IDs of all nodes of graph.
+     * @return Components were found for graph with same nodes.
+     */
+    boolean isValidFor(List<TNodeId> nodeIds);
+
+}
@@ -0,0 +1,21 @@
+package structures;
+
+import java.io.Serializable;
+
+/**
+ * Preprocessed graph for fast shortest path queries. Nodes are ordered by importance and each node is connected
+ * only with more important nodes (original edges and shortcuts over less important nodes),
+ * so query searches only upwards from both end nodes. Distance tables are calculated by bucket-based many-to-many searches.
+ * @param <TNodeId> Type of node ID.
+ * @param <TNode> Type of node.
+ * @param <TEdge> Type of edge.
+ */
+public interface IContractionHierarchy<TNodeId, TNode, TEdge> extends IShortestPathAlgorithm<TNodeId, TNode, TEdge, Double>, IDistanceTableCalculator<TNodeId, TNode, TEdge>, Serializable {
+
+    /**
+     * @param graph
+     * @return Hierarchy was built from graph with same nodes, edges, sizes and states of edges.
+     */
+    boolean isValidFor(ICompactGraph<TNodeId, TNode, TEdge> graph);
+
+}
@@ -0,0 +1,29 @@
+package structures;
+
+import java.io.Serializable;
+
+/**
+ * Contraction hierarchy split into two phases. Order of nodes and shortcuts depend only on structure of graph,
+ * so they are computed once. Sizes of shortcuts are computed by fast customization from current sizes
+ * and states of edges, so change of edge does not need whole preprocessing again.
+ * @param <TNodeId> Type of node ID.
+ * @param <TNode> Type of node.
+ * @param <TEdge> Type of edge.
+ */
+public interface ICustomizableContractionHierarchy<TNodeId, TNode, TEdge> extends Serializable {
+
+    /**
+     * Apply current sizes and states of edges to shortcuts.
+     * @param graph Graph with same structure as graph the hierarchy was built from.
+     * @return Contraction hierarchy for current sizes and states of edges.
+     * @throws IllegalArgumentException Graph has different nodes or edges.
+     */
+    IContractionHierarchy<TNodeId, TNode, TEdge> customize(ICompactGraph<TNodeId, TNode, TEdge> graph) throws IllegalArgumentException;
+
+    /**
+     * @param graph
+     * @return Hierarchy was built from graph with same nodes and edges (sizes and states of edges do not matter).
+     */
+    boolean isValidFor(ICompactGraph<TNodeId, TNode, TEdge> graph);
+
+}
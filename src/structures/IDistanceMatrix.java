@@ -0,0 +1,32 @@
+package structures;
+
+/**
+ * Square matrix of distances stored in primitive memory.
+ */
+public interface IDistanceMatrix {
+
+    /**
+     * @return Count of rows (and columns).
+     */
+    int getSize();
+
+    /**
+     * @param row
+     * @param column
+     * @return Distance stored in cell.
+     */
+    double get(int row, int column);
+
+    /**
+     * @param row
+     * @param column
+     * @param distance
+     */
+    void set(int row, int column, double distance);
+
+    /**
+     * @return Count of bytes used by cells.
+     */
+    long getBytesCount();
+
+}
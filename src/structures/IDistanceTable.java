@@ -0,0 +1,41 @@
+package structures;
+
+import java.util.List;
+
+/**
+ * Sizes of shortest paths from each of source nodes to each of target nodes (S * T cells).
+ * @param <TNode> Type of node.
+ */
+public interface IDistanceTable<TNode> {
+
+    /**
+     * @return Source nodes in order of rows.
+     */
+    List<TNode> getSources();
+
+    /**
+     * @return Target nodes in order of columns.
+     */
+    List<TNode> getTargets();
+
+    /**
+     * @param source Position of source node.
+     * @param target Position of target node.
+     * @return Size of shortest path from source node to target node or infinity if there is no path.
+     */
+    double getDistance(int source, int target);
+
+    /**
+     * @param source Position of source node.
+     * @param target Position of target node.
+     * @return Next node on shortest path from source node to target node or null if there is no path (or nodes are same).
+     * @throws UnsupportedOperationException Table was calculated without next nodes.
+     */
+    TNode getNext(int source, int target) throws UnsupportedOperationException;
+
+    /**
+     * @return Table contains next nodes.
+     */
+    boolean hasNext();
+
+}
@@ -0,0 +1,24 @@
+package structures;
+
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Calculation of shortest paths between two sets of nodes without calculating whole routing matrix.
+ * @param <TNodeId> Type of node ID.
+ * @param <TNode> Type of node.
+ * @param <TEdge> Type of edge.
+ */
+public interface IDistanceTableCalculator<TNodeId, TNode, TEdge> {
+
+    /**
+     * @param graph
+     * @param sourceIds IDs of source nodes.
+     * @param targetIds IDs of target nodes.
+     * @param isNextRequired Next nodes on paths are calculated too.
+     * @return Table of distances from each source node to each target node.
+     * @throws NoSuchElementException Node with specified ID was not found.
+     */
+    IDistanceTable<TNode> getDistanceTable(ICompactGraph<TNodeId, TNode, TEdge> graph, List<TNodeId> sourceIds, List<TNodeId> targetIds, boolean isNextRequired) throws NoSuchElementException;
+
+}
@@ -0,0 +1,29 @@
+package structures;
+
+import java.util.NoSuchElementException;
+
+/**
+ * Algorithm for finding shortest path where sizes of edges are primitive doubles, so sizes are neither boxed
+ * nor added and compared by functions.
+ * @param <TNodeId> Type of node ID.
+ * @param <TNode> Type of node.
+ * @param <TEdge> Type of edge.
+ */
+public interface IDoubleShortestPathAlgorithm<TNodeId, TNode, TEdge> extends IShortestPathAlgorithm<TNodeId, TNode, TEdge, Double> {
+
+    /**
+     * Find size of shortest path between two nodes without building the path.
+     * @param graph
+     * @param fromId ID of first node.
+     * @param toId ID of second node.
+     * @return Size of shortest path, 0 for same nodes or infinity if there is no path.
+     * @throws NoSuchElementException Specified nodeId was not found.
+     */
+    double findShortestDistance(IGraph<TNodeId, TNode, TEdge> graph, TNodeId fromId, TNodeId toId) throws NoSuchElementException;
+
+    /**
+     * @return Count of nodes settled by last search.
+     */
+    int getSettledNodesCount();
+
+}
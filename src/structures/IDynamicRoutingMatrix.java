@@ -0,0 +1,41 @@
+package structures;
+
+import java.util.List;
+
+/**
+ * Routing matrix which is kept up to date after changes of edges (adding, removing, change of size or state).
+ * @param <TNodeId> Type of node ID.
+ * @param <TNode> Type of node.
+ * @param <TEdge> Type of edge.
+ */
+public interface IDynamicRoutingMatrix<TNodeId, TNode, TEdge> extends IRoutingMatrix<TNode> {
+
+    /**
+     * Update rows affected by change of edge between two nodes.
+     * @param graph Graph after change (it must have same nodes as graph the matrix was calculated for).
+     * @param fromId ID of first node.
+     * @param toId ID of second node.
+     * @param oldSize Size of edge before change or infinity if edge did not exist (or it was disabled).
+     * @throws IllegalArgumentException Graph has different nodes.
+     */
+    void updateEdge(ICompactGraph<TNodeId, TNode, TEdge> graph, TNodeId fromId, TNodeId toId, double oldSize) throws IllegalArgumentException;
+
+    /**
+     * @param graph
+     * @return Matrix was calculated for graph with same nodes.
+     */
+    boolean isValidFor(ICompactGraph<TNodeId, TNode, TEdge> graph);
+
+    /**
+     * Check nodes of changed graph without building its compact graph.
+     * @param nodeIds IDs of nodes in order of indices of compact graph (order of IGraph.getNodes).
+     * @return Matrix was calculated for graph with same nodes.
+     */
+    boolean isValidFor(List<TNodeId> nodeIds);
+
+    /**
+     * @return Count of rows recomputed by last update.
+     */
+    int getUpdatedRowsCount();
+
+}
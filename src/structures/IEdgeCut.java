@@ -0,0 +1,26 @@
+package structures;
+
+/**
+ * Edge reachable only partially. Reachable parts start in end nodes of edge and they end in cut points.
+ * @param <TNode> Type of node.
+ * @param <TEdge> Type of edge.
+ */
+public interface IEdgeCut<TNode, TEdge> {
+
+    TEdge getEdge();
+
+    TNode getFrom();
+
+    TNode getTo();
+
+    /**
+     * @return Reachable part of edge from first node (0 if first node is not reachable, less than 1).
+     */
+    double getFromRatio();
+
+    /**
+     * @return Reachable part of edge from second node (0 if second node is not reachable, less than 1).
+     */
+    double getToRatio();
+
+}
@@ -1,5 +1,7 @@
 package structures;
 
+import javafx.util.Pair;
+
 import java.util.List;
 import java.util.NoSuchElementException;
 
@@ -82,4 +84,11 @@ public interface IGraph<TNodeId, TNode, TEdge> {
      */
     List<TNode> getDescendants(TNodeId nodeId) throws NoSuchElementException;
 
+    /**
+     * Get descendants of node with specified ID together with edges that connect them to the node.
+     * @return List of pairs where key is descendant and value is edge between node and descendant.
+     * @throws NoSuchElementException Specified nodeId was not found.
+     */
+    List<Pair<TNode, TEdge>> getIncidentEdges(TNodeId nodeId) throws NoSuchElementException;
+
 }
\ No newline at end of file
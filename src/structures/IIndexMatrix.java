@@ -0,0 +1,32 @@
+package structures;
+
+/**
+ * Square matrix of node indices stored in primitive memory.
+ */
+public interface IIndexMatrix {
+
+    /**
+     * @return Count of rows (and columns).
+     */
+    int getSize();
+
+    /**
+     * @param row
+     * @param column
+     * @return Index stored in cell or -1 if cell is empty.
+     */
+    int get(int row, int column);
+
+    /**
+     * @param row
+     * @param column
+     * @param index Index from 0 to size - 1 or -1 for empty cell.
+     */
+    void set(int row, int column, int index);
+
+    /**
+     * @return Count of bytes used by cells.
+     */
+    long getBytesCount();
+
+}
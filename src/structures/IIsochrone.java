@@ -0,0 +1,32 @@
+package structures;
+
+import java.util.List;
+
+/**
+ * Part of graph reachable from source node within distance budget.
+ * @param <TNode> Type of node.
+ * @param <TEdge> Type of edge.
+ */
+public interface IIsochrone<TNode, TEdge> {
+
+    /**
+     * @return Max distance from source node.
+     */
+    double getBudget();
+
+    /**
+     * @return Reachable nodes in ascending order of distance (first node is source node).
+     */
+    List<TNode> getNodes();
+
+    /**
+     * @return Edges which are reachable whole.
+     */
+    List<TEdge> getEdges();
+
+    /**
+     * @return Edges which are reachable only partially (from one or both of their nodes).
+     */
+    List<IEdgeCut<TNode, TEdge>> getCuts();
+
+}
@@ -0,0 +1,31 @@
+package structures;
+
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Finding of several shortest paths between two nodes, so there are fallback paths when some edge of shortest path is closed.
+ * @param <TNodeId> Type of node ID.
+ * @param <TNode> Type of node.
+ * @param <TEdge> Type of edge.
+ */
+public interface IKShortestPaths<TNodeId, TNode, TEdge> {
+
+    /**
+     * Find k shortest paths without repeated nodes.
+     * @param graph
+     * @param fromId ID of start node.
+     * @param toId ID of end node.
+     * @param k Max count of paths.
+     * @return Paths in ascending order of size (less than k paths if there are no more paths).
+     * @throws NoSuchElementException There is no path between specified nodes or specified nodeId was not found.
+     * @throws IllegalArgumentException Count of paths is not positive.
+     */
+    List<IGraphPath<TNode, TEdge, Double>> findShortestPaths(ICompactGraph<TNodeId, TNode, TEdge> graph, TNodeId fromId, TNodeId toId, int k) throws NoSuchElementException, IllegalArgumentException;
+
+    /**
+     * @return Count of nodes settled by all searches of last query.
+     */
+    int getSettledNodesCount();
+
+}
@@ -0,0 +1,36 @@
+package structures;
+
+/**
+ * A* algorithm with landmarks (ALT). Distances from few landmark nodes to all nodes are precomputed
+ * and triangle inequality gives lower bound of distance between any two nodes.
+ * @param <TNodeId> Type of node ID.
+ * @param <TNode> Type of node.
+ * @param <TEdge> Type of edge.
+ */
+public interface ILandmarks<TNodeId, TNode, TEdge> extends IDoubleShortestPathAlgorithm<TNodeId, TNode, TEdge> {
+
+    /**
+     * @return Indices of landmark nodes.
+     */
+    int[] getLandmarks();
+
+    /**
+     * @param from Index of first node.
+     * @param to Index of second node.
+     * @return Lower bound of distance between nodes (infinity if nodes are not connected).
+     */
+    double getLowerBound(int from, int to);
+
+    /**
+     * @return Count of nodes settled by last query in current thread.
+     */
+    @Override
+    int getSettledNodesCount();
+
+    /**
+     * @param graph
+     * @return Landmarks were selected for graph with same nodes, edges, sizes and states of edges.
+     */
+    boolean isValidFor(ICompactGraph<TNodeId, TNode, TEdge> graph);
+
+}
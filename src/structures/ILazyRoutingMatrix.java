@@ -0,0 +1,34 @@
+package structures;
+
+/**
+ * Routing matrix whose rows are calculated when they are needed. Only limited count of rows is kept in memory.
+ * @param <TNode> Type of node.
+ */
+public interface ILazyRoutingMatrix<TNode> extends IRoutingMatrix<TNode> {
+
+    /**
+     * @return Max count of rows kept in memory.
+     */
+    int getCapacity();
+
+    /**
+     * @return Count of rows kept in memory.
+     */
+    int getCachedRowsCount();
+
+    /**
+     * @return Count of accesses to rows which were in memory.
+     */
+    long getHitsCount();
+
+    /**
+     * @return Count of accesses to rows which had to be calculated.
+     */
+    long getMissesCount();
+
+    /**
+     * Remove all rows from memory (e. g. after change of graph).
+     */
+    void clear();
+
+}
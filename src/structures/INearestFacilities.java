@@ -0,0 +1,48 @@
+package structures;
+
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Nearest facility (e. g. station) of each node by size of shortest path. Nodes with same nearest facility
+ * form cell of the facility (network Voronoi diagram).
+ * @param <TNodeId> Type of node ID.
+ * @param <TNode> Type of node.
+ * @param <TEdge> Type of edge.
+ */
+public interface INearestFacilities<TNodeId, TNode, TEdge> {
+
+    /**
+     * @param nodeId
+     * @return Nearest facility of node (node itself if it is facility) or null if no facility is reachable.
+     * @throws NoSuchElementException Node with specified ID was not found.
+     */
+    TNode getNearest(TNodeId nodeId) throws NoSuchElementException;
+
+    /**
+     * @param nodeId
+     * @return Size of shortest path from node to nearest facility or infinity if no facility is reachable.
+     * @throws NoSuchElementException Node with specified ID was not found.
+     */
+    double getDistance(TNodeId nodeId) throws NoSuchElementException;
+
+    /**
+     * @param nodeId
+     * @return Shortest path from node to nearest facility.
+     * @throws NoSuchElementException Node with specified ID was not found, it is facility or no facility is reachable.
+     */
+    IGraphPath<TNode, TEdge, Double> getPath(TNodeId nodeId) throws NoSuchElementException;
+
+    /**
+     * @param facilityId
+     * @return Nodes whose nearest facility is specified facility (including the facility).
+     * @throws NoSuchElementException Facility with specified ID was not found.
+     */
+    List<TNode> getCell(TNodeId facilityId) throws NoSuchElementException;
+
+    /**
+     * @return All facilities.
+     */
+    List<TNode> getFacilities();
+
+}
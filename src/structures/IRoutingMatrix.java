@@ -12,4 +12,18 @@ public interface IRoutingMatrix<TNode> {
      */
     TNode[][] getRouting();
 
+    /**
+     * @param from Index of start node.
+     * @param to Index of end node.
+     * @return Next node on shortest path from start node to end node or null if there is no path.
+     */
+    TNode getNext(int from, int to);
+
+    /**
+     * @param from Index of start node.
+     * @param to Index of end node.
+     * @return Size of shortest path from start node to end node or infinity if there is no path.
+     */
+    double getDistance(int from, int to);
+
 }
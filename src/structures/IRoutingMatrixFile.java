@@ -0,0 +1,31 @@
+package structures;
+
+import java.io.IOException;
+import java.util.NoSuchElementException;
+
+/**
+ * Routing matrix stored in file. File contains graph checksum and order of nodes, so matrix of different graph is not loaded.
+ * @param <TNodeId> Type of node ID.
+ * @param <TNode> Type of node.
+ * @param <TEdge> Type of edge.
+ */
+public interface IRoutingMatrixFile<TNodeId, TNode, TEdge> {
+
+    /**
+     * Calculate routing matrix of graph directly to file (matrix is not held in memory).
+     * @param graph
+     * @throws IOException
+     * @throws NoSuchElementException Graph is empty.
+     */
+    void write(ICompactGraph<TNodeId, TNode, TEdge> graph) throws IOException, NoSuchElementException;
+
+    /**
+     * Open routing matrix from file. Rows are loaded from disk when they are needed.
+     * @param graph Graph the matrix was written for.
+     * @return Routing matrix with nodes in order of indices of graph.
+     * @throws IOException
+     * @throws IllegalArgumentException File does not contain routing matrix of graph.
+     */
+    IRoutingMatrix<TNode> read(ICompactGraph<TNodeId, TNode, TEdge> graph) throws IOException, IllegalArgumentException;
+
+}
@@ -0,0 +1,22 @@
+package structures;
+
+/**
+ * Areas reachable from one source node within different distance budgets.
+ * @param <TNode> Type of node.
+ * @param <TEdge> Type of edge.
+ */
+public interface IServiceArea<TNode, TEdge> {
+
+    /**
+     * @return Index of source node.
+     */
+    int getSource();
+
+    /**
+     * @param budget Max distance from source node.
+     * @return Nodes and edges (or their parts) reachable within budget.
+     * @throws IllegalArgumentException Budget is negative.
+     */
+    IIsochrone<TNode, TEdge> getIsochrone(double budget) throws IllegalArgumentException;
+
+}
@@ -0,0 +1,25 @@
+package structures;
+
+/**
+ * Result of one query of batch. Query either found path or failed with message.
+ * @param <TNode> Type of node.
+ * @param <TEdge> Type of edge.
+ */
+public interface IShortestPathResult<TNode, TEdge> {
+
+    /**
+     * @return Path was found.
+     */
+    boolean isFound();
+
+    /**
+     * @return Shortest path or null if path was not found.
+     */
+    IGraphPath<TNode, TEdge, Double> getPath();
+
+    /**
+     * @return Reason why path was not found or null if path was found.
+     */
+    String getError();
+
+}
@@ -0,0 +1,47 @@
+package structures;
+
+import java.util.NoSuchElementException;
+
+/**
+ * Shortest paths from one source node to all nodes of compact graph.
+ * @param <TNode> Type of node.
+ * @param <TEdge> Type of edge.
+ */
+public interface IShortestPathTree<TNode, TEdge> {
+
+    /**
+     * @return Index of source node.
+     */
+    int getSource();
+
+    /**
+     * @param index Index of node.
+     * @return Distance from source node to node or infinity if node is not reachable.
+     */
+    double getDistance(int index);
+
+    /**
+     * @param index Index of node.
+     * @return Index of previous node on shortest path from source node or -1 for source and not reachable nodes.
+     */
+    int getPredecessor(int index);
+
+    /**
+     * @return Count of nodes settled by search.
+     */
+    int getSettledNodesCount();
+
+    /**
+     * @param position Position in order of settling (0 is source node).
+     * @return Index of node settled on position, so predecessor of node is always settled before the node.
+     */
+    int getSettledNode(int position);
+
+    /**
+     * @param index Index of end node.
+     * @return Shortest path from source node to node.
+     * @throws NoSuchElementException Node is source node or it is not reachable.
+     */
+    IGraphPath<TNode, TEdge, Double> getPath(int index) throws NoSuchElementException;
+
+}
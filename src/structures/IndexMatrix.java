@@ -0,0 +1,183 @@
+package structures;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Index matrix with smallest possible cells. Index is stored increased by one, so new (zeroed) memory means empty cells.
+ * Matrix with at most 65535 rows uses 2 bytes (char) per cell, larger matrix uses 4 bytes (int) per cell.
+ * Cells are stored in one flat array if it is possible, otherwise in off-heap slabs (each slab contains whole rows).
+ */
+public abstract class IndexMatrix implements IIndexMatrix {
+
+    public static final int MAX_CHAR_SIZE = Character.MAX_VALUE; // Max count of rows for 2 bytes per cell.
+    private static final long MAX_ARRAY_LENGTH = Integer.MAX_VALUE - 8;
+    private static final int SLAB_BYTES = 1 << 30;
+
+    protected int size;
+
+    protected IndexMatrix(int size) {
+        this.size = size;
+    }
+
+    /**
+     * Create empty matrix.
+     * @param size Count of rows.
+     * @return Matrix with smallest possible cells.
+     */
+    public static IIndexMatrix create(int size) {
+        long cellsCount = (long) size * size;
+
+        if (cellsCount <= MAX_ARRAY_LENGTH) {
+            return size <= MAX_CHAR_SIZE ? new CharIndexMatrix(size) : new IntIndexMatrix(size);
+        }
+
+        return new BufferIndexMatrix(size, getCellBytes(size));
+    }
+
+    /**
+     * @param size Count of rows.
+     * @return Count of bytes of one cell in matrix with specified count of rows.
+     */
+    public static int getCellBytes(int size) {
+        return size <= MAX_CHAR_SIZE ? Character.BYTES : Integer.BYTES;
+    }
+
+    @Override
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Cells in one char array.
+     */
+    private static class CharIndexMatrix extends IndexMatrix {
+
+        private char[] cells;
+
+        public CharIndexMatrix(int size) {
+            super(size);
+            cells = new char[size * size];
+        }
+
+        @Override
+        public int get(int row, int column) {
+            return cells[row * size + column] - 1;
+        }
+
+        @Override
+        public void set(int row, int column, int index) {
+            cells[row * size + column] = (char) (index + 1);
+        }
+
+        @Override
+        public long getBytesCount() {
+            return (long) cells.length * Character.BYTES;
+        }
+
+    }
+
+    /**
+     * Cells in one int array.
+     */
+    private static class IntIndexMatrix extends IndexMatrix {
+
+        private int[] cells;
+
+        public IntIndexMatrix(int size) {
+            super(size);
+            cells = new int[size * size];
+        }
+
+        @Override
+        public int get(int row, int column) {
+            return cells[row * size + column] - 1;
+        }
+
+        @Override
+        public void set(int row, int column, int index) {
+            cells[row * size + column] = index + 1;
+        }
+
+        @Override
+        public long getBytesCount() {
+            return (long) cells.length * Integer.BYTES;
+        }
+
+    }
+
+    /**
+     * Cells in direct byte buffers outside of Java heap. Each buffer contains rowsPerSlab whole rows.
+     */
+    static class BufferIndexMatrix extends IndexMatrix {
+
+        private ByteBuffer[] slabs;
+        private int cellBytes;
+        private int rowsPerSlab;
+
+        public BufferIndexMatrix(int size, int cellBytes) {
+            this(size, cellBytes, null);
+
+            for (int i = 0; i < slabs.length; i++) {
+                slabs[i] = ByteBuffer.allocateDirect(Math.toIntExact(getSlabBytes(i)));
+            }
+        }
+
+        /**
+         * Matrix in existing slabs (e. g. mapped file).
+         * @param slabs Slabs of sizes given by getSlabBytes or null (slabs will be set later).
+         */
+        BufferIndexMatrix(int size, int cellBytes, ByteBuffer[] slabs) {
+            super(size);
+            this.cellBytes = cellBytes;
+            rowsPerSlab = (int) Math.max(1, SLAB_BYTES / ((long) size * cellBytes));
+            this.slabs = slabs == null ? new ByteBuffer[(size + rowsPerSlab - 1) / rowsPerSlab] : slabs;
+        }
+
+        /**
+         * @param slab Index of slab.
+         * @return Count of bytes of slab.
+         */
+        long getSlabBytes(int slab) {
+            int rows = Math.min(rowsPerSlab, size - slab * rowsPerSlab);
+            return (long) rows * size * cellBytes;
+        }
+
+        int getSlabsCount() {
+            return slabs.length;
+        }
+
+        void setSlab(int slab, ByteBuffer buffer) {
+            slabs[slab] = buffer;
+        }
+
+        @Override
+        public int get(int row, int column) {
+            ByteBuffer slab = slabs[row / rowsPerSlab];
+            int offset = getOffset(row, column);
+            return (cellBytes == Character.BYTES ? slab.getChar(offset) : slab.getInt(offset)) - 1;
+        }
+
+        @Override
+        public void set(int row, int column, int index) {
+            ByteBuffer slab = slabs[row / rowsPerSlab];
+            int offset = getOffset(row, column);
+
+            if (cellBytes == Character.BYTES) {
+                slab.putChar(offset, (char) (index + 1));
+            } else {
+                slab.putInt(offset, index + 1);
+            }
+        }
+
+        @Override
+        public long getBytesCount() {
+            return (long) size * size * cellBytes;
+        }
+
+        private int getOffset(int row, int column) {
+            return ((row % rowsPerSlab) * size + column) * cellBytes;
+        }
+
+    }
+
+}
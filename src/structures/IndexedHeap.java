@@ -0,0 +1,200 @@
+package structures;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * Indexed 4-ary min-heap of items 0..N-1. Heap knows position of each item, so key of item in heap can be decreased
+ * in O(log N) without searching the whole heap. Keys are stored in subclasses, so they can be primitive.
+ */
+public abstract class IndexedHeap {
+
+    private static final int ARITY = 4;
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private int[] heap; // Items in heap order.
+    private int[] positions; // Position of each item in heap or -1 if item is not in heap.
+    private int size;
+
+    public IndexedHeap(int capacity) {
+        capacity = Math.max(capacity, 1);
+        heap = new int[capacity];
+        positions = new int[capacity];
+        Arrays.fill(positions, -1);
+    }
+
+    public IndexedHeap() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @return Heap has no items.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * @return Count of items in heap.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @param item
+     * @return Item is in heap.
+     */
+    public boolean contains(int item) {
+        return item < positions.length && positions[item] != -1;
+    }
+
+    /**
+     * @return Item with lowest key.
+     * @throws NoSuchElementException Heap is empty.
+     */
+    public int peek() throws NoSuchElementException {
+        if (size == 0) {
+            throw new NoSuchElementException("Halda je prázdná.");
+        }
+
+        return heap[0];
+    }
+
+    /**
+     * Remove item with lowest key from heap.
+     * @return Removed item.
+     * @throws NoSuchElementException Heap is empty.
+     */
+    public int poll() throws NoSuchElementException {
+        int result = peek();
+        positions[result] = -1;
+        size--;
+
+        if (size > 0) {
+            heap[0] = heap[size];
+            siftDown(0);
+        }
+
+        return result;
+    }
+
+    /**
+     * Remove all items from heap in O(size), so heap can be reused.
+     */
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            positions[heap[i]] = -1;
+        }
+
+        size = 0;
+    }
+
+    /**
+     * Insert item to heap. Key of item must be already stored in subclass.
+     * @throws IllegalArgumentException Item is already in heap.
+     */
+    protected void insert(int item) throws IllegalArgumentException {
+        if (contains(item)) {
+            throw new IllegalArgumentException("Prvek " + item + " již v haldě je.");
+        }
+
+        heap[size] = item;
+        siftUp(size++);
+    }
+
+    /**
+     * Check item before its key is changed, so key of item out of heap is not overwritten.
+     * @throws NoSuchElementException Item is not in heap.
+     */
+    protected void checkContains(int item) throws NoSuchElementException {
+        if (!contains(item)) {
+            throw new NoSuchElementException("Prvek " + item + " v haldě není.");
+        }
+    }
+
+    /**
+     * Move item in heap closer to root after its key was decreased.
+     */
+    protected void moveUp(int item) {
+        siftUp(positions[item]);
+    }
+
+    /**
+     * Make sure item can be stored in heap. Subclasses should enlarge their key storage too.
+     * @param item
+     */
+    protected void ensureCapacity(int item) {
+        if (item >= positions.length) {
+            int capacity = Math.max(item + 1, positions.length * 2);
+            int oldCapacity = positions.length;
+            positions = Arrays.copyOf(positions, capacity);
+            Arrays.fill(positions, oldCapacity, capacity, -1);
+            heap = Arrays.copyOf(heap, capacity);
+            grow(capacity);
+        }
+    }
+
+    /**
+     * Enlarge key storage.
+     * @param capacity New count of items.
+     */
+    protected abstract void grow(int capacity);
+
+    /**
+     * @return Key of first item is lower than key of second item.
+     */
+    protected abstract boolean isLess(int item1, int item2);
+
+    private void siftUp(int position) {
+        int item = heap[position];
+
+        while (position > 0) {
+            int parent = (position - 1) / ARITY;
+
+            if (!isLess(item, heap[parent])) {
+                break;
+            }
+
+            heap[position] = heap[parent];
+            positions[heap[position]] = position;
+            position = parent;
+        }
+
+        heap[position] = item;
+        positions[item] = position;
+    }
+
+    private void siftDown(int position) {
+        int item = heap[position];
+
+        while (true) {
+            int firstChild = position * ARITY + 1;
+
+            if (firstChild >= size) {
+                break;
+            }
+
+            int lastChild = Math.min(firstChild + ARITY, size);
+            int best = firstChild;
+
+            for (int child = firstChild + 1; child < lastChild; child++) {
+                if (isLess(heap[child], heap[best])) {
+                    best = child;
+                }
+            }
+
+            if (!isLess(heap[best], item)) {
+                break;
+            }
+
+            heap[position] = heap[best];
+            positions[heap[position]] = position;
+            position = best;
+        }
+
+        heap[position] = item;
+        positions[item] = position;
+    }
+
+}
@@ -0,0 +1,39 @@
+package structures;
+
+import java.util.List;
+
+public class Isochrone<TNode, TEdge> implements IIsochrone<TNode, TEdge> {
+
+    private double budget;
+    private List<TNode> nodes;
+    private List<TEdge> edges;
+    private List<IEdgeCut<TNode, TEdge>> cuts;
+
+    public Isochrone(double budget, List<TNode> nodes, List<TEdge> edges, List<IEdgeCut<TNode, TEdge>> cuts) {
+        this.budget = budget;
+        this.nodes = nodes;
+        this.edges = edges;
+        this.cuts = cuts;
+    }
+
+    @Override
+    public double getBudget() {
+        return budget;
+    }
+
+    @Override
+    public List<TNode> getNodes() {
+        return nodes;
+    }
+
+    @Override
+    public List<TEdge> getEdges() {
+        return edges;
+    }
+
+    @Override
+    public List<IEdgeCut<TNode, TEdge>> getCuts() {
+        return cuts;
+    }
+
+}
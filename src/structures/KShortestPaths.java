@@ -0,0 +1,278 @@
+package structures;
+
+import java.util.*;
+
+/**
+ * Yen algorithm for k shortest loopless paths. Each next path leaves some previous path in spur node,
+ * so for each node of last found path, path from the node to end node is searched without nodes of path before the node
+ * and without edges which previous paths with same beginning use from the node.
+ * Distances to end node in whole graph are lower bounds of spur paths, so spur searches are A* searches
+ * with exact heuristic (they go almost directly to end node) and spur node is skipped when its bound
+ * is not lower than size of worst candidate which can still be returned. Spur searches use pooled search workspace.
+ */
+public class KShortestPaths<TNodeId, TNode, TEdge> implements IKShortestPaths<TNodeId, TNode, TEdge> {
+
+    private boolean isEnabledRequired;
+    private int settledNodesCount;
+
+    /**
+     * @param isEnabledRequired Only enabled edges are used (enabled state is taken from compact graph).
+     */
+    public KShortestPaths(boolean isEnabledRequired) {
+        this.isEnabledRequired = isEnabledRequired;
+    }
+
+    @Override
+    public List<IGraphPath<TNode, TEdge, Double>> findShortestPaths(ICompactGraph<TNodeId, TNode, TEdge> graph, TNodeId fromId, TNodeId toId, int k) throws NoSuchElementException, IllegalArgumentException {
+        if (k < 1) {
+            throw new IllegalArgumentException("Počet cest musí být kladný.");
+        }
+
+        int from = graph.getIndex(fromId);
+        int to = graph.getIndex(toId);
+        settledNodesCount = 0;
+
+        if (from == -1 || to == -1 || from == to) {
+            throw new NoSuchElementException("Cesta mezi vrcholy " + fromId + " a " + toId + " nebyla nalezena.");
+        }
+
+        IShortestPathTree<TNode, TEdge> bounds = new ShortestPathTree<>(graph, to, isEnabledRequired); // Edges are undirected, so tree from end node contains distances to end node.
+        settledNodesCount = bounds.getSettledNodesCount();
+
+        if (bounds.getPredecessor(from) == -1) {
+            throw new NoSuchElementException("Cesta mezi vrcholy " + fromId + " a " + toId + " nebyla nalezena.");
+        }
+
+        List<Route> found = new ArrayList<>();
+        TreeSet<Route> candidates = new TreeSet<>();
+        Set<List<Integer>> known = new HashSet<>();
+        SearchWorkspace workspace = SearchWorkspace.get(graph.getNodesCount());
+        int[] bannedStamps = new int[graph.getNodesCount()];
+        int stamp = 0;
+        found.add(getTreeRoute(graph, bounds, from));
+        known.add(found.get(0).getNodeList());
+
+        while (found.size() < k) {
+            Route last = found.get(found.size() - 1);
+            stamp++;
+
+            for (int i = 0; i < last.nodes.length - 1; i++) {
+                if (i > 0) {
+                    bannedStamps[last.nodes[i - 1]] = stamp; // Nodes of root path.
+                }
+
+                int spur = last.nodes[i];
+                int needed = k - found.size();
+                double bound = candidates.size() < needed ? Double.POSITIVE_INFINITY : candidates.last().size;
+
+                if (last.distances[i] + bounds.getDistance(spur) >= bound) {
+                    continue;
+                }
+
+                Set<Integer> bannedNext = new HashSet<>();
+
+                for (Route route : found) {
+                    if (route.nodes.length > i + 1 && route.hasPrefix(last, i)) {
+                        bannedNext.add(route.nodes[i + 1]);
+                    }
+                }
+
+                Route route = searchSpur(graph, workspace, bounds, last, i, bannedStamps, stamp, bannedNext, bound - last.distances[i]);
+
+                if (route != null && known.add(route.getNodeList())) {
+                    route.order = known.size();
+                    candidates.add(route);
+
+                    if (candidates.size() > needed) { // Worse candidates would never be returned.
+                        candidates.pollLast();
+                    }
+                }
+            }
+
+            if (candidates.isEmpty()) {
+                break;
+            }
+
+            found.add(candidates.pollFirst());
+        }
+
+        List<IGraphPath<TNode, TEdge, Double>> paths = new ArrayList<>(found.size());
+
+        for (Route route : found) {
+            paths.add(route.toPath(graph));
+        }
+
+        return paths;
+    }
+
+    @Override
+    public int getSettledNodesCount() {
+        return settledNodesCount;
+    }
+
+    /**
+     * @return Shortest path from start node along predecessors of tree from end node.
+     */
+    private Route getTreeRoute(ICompactGraph<TNodeId, TNode, TEdge> graph, IShortestPathTree<TNode, TEdge> tree, int from) {
+        List<Integer> nodes = new ArrayList<>();
+
+        for (int node = from; node != -1; node = tree.getPredecessor(node)) {
+            nodes.add(node);
+        }
+
+        Route route = new Route(nodes.size());
+
+        for (int i = 0; i < nodes.size(); i++) {
+            route.nodes[i] = nodes.get(i);
+
+            if (i > 0) {
+                route.arcs[i - 1] = graph.getArc(nodes.get(i - 1), nodes.get(i));
+                route.distances[i] = route.distances[i - 1] + graph.getArcSize(route.arcs[i - 1]);
+            }
+        }
+
+        route.size = route.distances[nodes.size() - 1];
+        return route;
+    }
+
+    /**
+     * A* search from spur node of last path to end node (last node of tree).
+     * @param last Last found path.
+     * @param position Position of spur node in last path.
+     * @param limit Search stops when all remaining paths would not be shorter than limit.
+     * @return Root path joined with spur path or null if there is no spur path shorter than limit.
+     */
+    private Route searchSpur(ICompactGraph<TNodeId, TNode, TEdge> graph, SearchWorkspace workspace, IShortestPathTree<TNode, TEdge> bounds, Route last, int position, int[] bannedStamps, int stamp, Set<Integer> bannedNext, double limit) {
+        int spur = last.nodes[position];
+        int to = bounds.getSource();
+        workspace.start();
+        workspace.relax(spur, 0, bounds.getDistance(spur), -1, -1);
+
+        try {
+            while (!workspace.isHeapEmpty() && workspace.peekKey() < limit) {
+                int current = workspace.settle();
+
+                if (current == to) {
+                    return joinSpur(workspace, last, position, to);
+                }
+
+                double distance = workspace.getDistance(current);
+
+                for (int arc = graph.getArcsStart(current); arc < graph.getArcsEnd(current); arc++) {
+                    if (isEnabledRequired && !graph.isArcEnabled(arc)) {
+                        continue;
+                    }
+
+                    int target = graph.getArcTarget(arc);
+                    double bound = bounds.getDistance(target);
+
+                    if (bannedStamps[target] == stamp || bound == Double.POSITIVE_INFINITY || (current == spur && bannedNext.contains(target))) {
+                        continue;
+                    }
+
+                    double totalDistance = distance + graph.getArcSize(arc);
+
+                    if (totalDistance < workspace.getDistance(target) && (!workspace.isReached(target) || workspace.isInHeap(target))) {
+                        workspace.relax(target, totalDistance, totalDistance + bound, current, arc);
+                    }
+                }
+            }
+
+            return null;
+        } finally {
+            settledNodesCount += workspace.getSettledNodesCount();
+        }
+    }
+
+    /**
+     * @return Root path of last path (to spur node) followed by spur path found in workspace.
+     */
+    private Route joinSpur(SearchWorkspace workspace, Route last, int position, int to) {
+        int spurLength = 0;
+
+        for (int node = to; workspace.getPredecessor(node) != -1; node = workspace.getPredecessor(node)) {
+            spurLength++;
+        }
+
+        Route route = new Route(position + 1 + spurLength);
+        System.arraycopy(last.nodes, 0, route.nodes, 0, position + 1);
+        System.arraycopy(last.arcs, 0, route.arcs, 0, position);
+        System.arraycopy(last.distances, 0, route.distances, 0, position + 1);
+        int node = to;
+
+        for (int i = route.nodes.length - 1; i > position; i--) {
+            route.nodes[i] = node;
+            route.arcs[i - 1] = workspace.getPredecessorArc(node);
+            route.distances[i] = last.distances[position] + workspace.getDistance(node);
+            node = workspace.getPredecessor(node);
+        }
+
+        route.size = route.distances[route.nodes.length - 1];
+        return route;
+    }
+
+    /**
+     * Path as indices of nodes and arcs with distances of nodes from start node.
+     * Routes are ordered by size (and by order of finding for same sizes).
+     */
+    private class Route implements Comparable<Route> {
+
+        public int[] nodes;
+        public int[] arcs;
+        public double[] distances;
+        public double size;
+        public int order;
+
+        public Route(int nodesCount) {
+            nodes = new int[nodesCount];
+            arcs = new int[nodesCount - 1];
+            distances = new double[nodesCount];
+        }
+
+        /**
+         * @return Route has same nodes as other route on positions 0 to position (inclusive).
+         */
+        public boolean hasPrefix(Route other, int position) {
+            for (int i = 0; i <= position; i++) {
+                if (nodes[i] != other.nodes[i]) {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+
+        public List<Integer> getNodeList() {
+            List<Integer> list = new ArrayList<>(nodes.length);
+
+            for (int node : nodes) {
+                list.add(node);
+            }
+
+            return list;
+        }
+
+        public IGraphPath<TNode, TEdge, Double> toPath(ICompactGraph<TNodeId, TNode, TEdge> graph) {
+            List<TNode> pathNodes = new ArrayList<>(nodes.length);
+            List<TEdge> pathEdges = new ArrayList<>(arcs.length);
+
+            for (int i = 0; i < nodes.length; i++) {
+                pathNodes.add(graph.getNodeAt(nodes[i]));
+
+                if (i > 0) {
+                    pathEdges.add(graph.getArcEdge(arcs[i - 1]));
+                }
+            }
+
+            return new GraphPath<>(pathNodes, pathEdges, size);
+        }
+
+        @Override
+        public int compareTo(Route other) {
+            int result = Double.compare(size, other.size);
+            return result == 0 ? Integer.compare(order, other.order) : result;
+        }
+
+    }
+
+}
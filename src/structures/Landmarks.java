@@ -0,0 +1,282 @@
+package structures;
+
+import java.util.*;
+
+/**
+ * ALT algorithm on compact graph. Landmarks are selected by farthest point method: next landmark is node
+ * with greatest distance to its nearest landmark (nodes in other components first), so landmarks lie on borders of map.
+ * Lower bound of distance between v and t is max |d(l, t) - d(l, v)| over all landmarks l. Unlike straight-line
+ * distance it respects disabled paths, so it is much closer to real distance.
+ */
+public class Landmarks<TNodeId, TNode, TEdge> implements ILandmarks<TNodeId, TNode, TEdge> {
+
+    public static final int DEFAULT_LANDMARKS_COUNT = 8;
+
+    private ICompactGraph<TNodeId, TNode, TEdge> graph;
+    private boolean isEnabledRequired;
+    private long checksum;
+
+    private int[] landmarks;
+    private double[][] distances; // Distances from each landmark to all nodes.
+
+    private ThreadLocal<QueryState> queryStates;
+
+    /**
+     * @param graph
+     * @param landmarksCount Max count of landmarks.
+     * @param isEnabledRequired Only enabled arcs are used.
+     */
+    public Landmarks(ICompactGraph<TNodeId, TNode, TEdge> graph, int landmarksCount, boolean isEnabledRequired) {
+        this.graph = graph;
+        this.isEnabledRequired = isEnabledRequired;
+        checksum = graph.getChecksum();
+        queryStates = ThreadLocal.withInitial(() -> new QueryState(graph.getNodesCount()));
+        selectLandmarks(Math.min(landmarksCount, graph.getNodesCount()));
+    }
+
+    public Landmarks(ICompactGraph<TNodeId, TNode, TEdge> graph, boolean isEnabledRequired) {
+        this(graph, DEFAULT_LANDMARKS_COUNT, isEnabledRequired);
+    }
+
+    /**
+     * Select landmarks by farthest point method and store their distances to all nodes.
+     * First landmark is the farthest node from node with index 0.
+     */
+    private void selectLandmarks(int landmarksCount) {
+        int nodesCount = graph.getNodesCount();
+        landmarks = new int[landmarksCount];
+        distances = new double[landmarksCount][];
+
+        if (landmarksCount == 0) {
+            return;
+        }
+
+        double[] nearestDistances = new double[nodesCount]; // Distance from node to its nearest landmark.
+        Arrays.fill(nearestDistances, Double.POSITIVE_INFINITY);
+        double[] initial = getDistances(0);
+        int next = getFarthest(initial);
+
+        for (int i = 0; i < landmarksCount; i++) {
+            landmarks[i] = next;
+            distances[i] = getDistances(next);
+
+            for (int j = 0; j < nodesCount; j++) {
+                nearestDistances[j] = Math.min(nearestDistances[j], distances[i][j]);
+            }
+
+            next = getFarthest(nearestDistances);
+        }
+    }
+
+    /**
+     * @return Distances from node to all nodes.
+     */
+    private double[] getDistances(int source) {
+        IShortestPathTree<TNode, TEdge> tree = new ShortestPathTree<>(graph, source, isEnabledRequired, SearchWorkspace.get(graph.getNodesCount()));
+        double[] result = new double[graph.getNodesCount()];
+
+        for (int i = 0; i < result.length; i++) {
+            result[i] = tree.getDistance(i);
+        }
+
+        return result;
+    }
+
+    /**
+     * @return Index of node with greatest distance (not reachable nodes are the farthest).
+     */
+    private int getFarthest(double[] nodeDistances) {
+        int result = 0;
+
+        for (int i = 1; i < nodeDistances.length; i++) {
+            if (nodeDistances[i] > nodeDistances[result]) {
+                result = i;
+            }
+        }
+
+        return result;
+    }
+
+    @Override
+    public int[] getLandmarks() {
+        return landmarks.clone();
+    }
+
+    @Override
+    public double getLowerBound(int from, int to) {
+        double result = 0;
+
+        for (double[] landmarkDistances : distances) {
+            double toFrom = landmarkDistances[from];
+            double toTarget = landmarkDistances[to];
+
+            if (Double.isInfinite(toFrom) || Double.isInfinite(toTarget)) {
+                if (Double.isInfinite(toFrom) != Double.isInfinite(toTarget)) {
+                    return Double.POSITIVE_INFINITY; // Landmark reaches only one of nodes, so nodes are in different components.
+                }
+
+                continue;
+            }
+
+            result = Math.max(result, Math.abs(toTarget - toFrom));
+        }
+
+        return result;
+    }
+
+    @Override
+    public int getSettledNodesCount() {
+        return queryStates.get().settledNodesCount;
+    }
+
+    @Override
+    public boolean isValidFor(ICompactGraph<TNodeId, TNode, TEdge> graph) {
+        return graph.getNodesCount() == this.graph.getNodesCount() && graph.getChecksum() == checksum;
+    }
+
+    /**
+     * A* algorithm where heuristic is lower bound given by landmarks. Bound of each node is computed only once per query.
+     * Nodes with infinite bound cannot reach end node, so they are not added to heap at all.
+     * @param graph Graph the landmarks were selected for (it is used for getting node and edge data).
+     * @param fromId ID of first node.
+     * @param toId ID of second node.
+     * @return Shortest path between nodes.
+     * @throws NoSuchElementException
+     */
+    @Override
+    public IGraphPath<TNode, TEdge, Double> findShortestPath(IGraph<TNodeId, TNode, TEdge> graph, TNodeId fromId, TNodeId toId) throws IllegalArgumentException, NoSuchElementException {
+        int from = this.graph.getIndex(fromId);
+        int to = this.graph.getIndex(toId);
+        QueryState state = queryStates.get();
+        state.start();
+
+        if (from == -1 || to == -1 || from == to || !search(state, from, to)) {
+            throw new NoSuchElementException("Cesta mezi vrcholy " + fromId + " a " + toId + " nebyla nalezena.");
+        }
+
+        return buildPath(graph, state, from, to);
+    }
+
+    @Override
+    public double findShortestDistance(IGraph<TNodeId, TNode, TEdge> graph, TNodeId fromId, TNodeId toId) throws NoSuchElementException {
+        int from = this.graph.getRequiredIndex(fromId);
+        int to = this.graph.getRequiredIndex(toId);
+        QueryState state = queryStates.get();
+        state.start();
+        return search(state, from, to) ? state.distances[to] : Double.POSITIVE_INFINITY;
+    }
+
+    /**
+     * Settle nodes in order of distance plus lower bound until end node is settled.
+     * @return End node was reached.
+     */
+    private boolean search(QueryState state, int from, int to) {
+        if (Double.isInfinite(getLowerBound(from, to))) {
+            return false;
+        }
+
+        state.relax(from, 0, getLowerBound(from, to), -1);
+
+        while (!state.heap.isEmpty()) {
+            int current = state.heap.poll();
+            state.settledNodesCount++;
+
+            if (current == to) {
+                return true;
+            }
+
+            double distance = state.distances[current];
+
+            for (int arc = graph.getArcsStart(current); arc < graph.getArcsEnd(current); arc++) {
+                if (isEnabledRequired && !graph.isArcEnabled(arc)) {
+                    continue;
+                }
+
+                int target = graph.getArcTarget(arc);
+                double totalDistance = distance + graph.getArcSize(arc);
+
+                if (!state.isReached(target)) {
+                    double bound = getLowerBound(target, to);
+
+                    if (Double.isInfinite(bound)) {
+                        continue;
+                    }
+
+                    state.relax(target, totalDistance, bound, current);
+                } else if (state.heap.contains(target) && totalDistance < state.distances[target]) {
+                    state.relax(target, totalDistance, state.bounds[target], current);
+                }
+            }
+        }
+
+        return false;
+    }
+
+    private IGraphPath<TNode, TEdge, Double> buildPath(IGraph<TNodeId, TNode, TEdge> graph, QueryState state, int from, int to) {
+        LinkedList<TNode> nodes = new LinkedList<>();
+        LinkedList<TEdge> edges = new LinkedList<>();
+
+        for (int node = to; node != from; node = state.predecessors[node]) {
+            nodes.addFirst(graph.getNode(this.graph.getNodeIdAt(node)));
+            edges.addFirst(graph.getEdge(this.graph.getNodeIdAt(state.predecessors[node]), this.graph.getNodeIdAt(node)));
+        }
+
+        nodes.addFirst(graph.getNode(this.graph.getNodeIdAt(from)));
+        return new GraphPath<>(new ArrayList<>(nodes), new ArrayList<>(edges), state.distances[to]);
+    }
+
+    /**
+     * Distances, bounds, predecessors and heap of search. Arrays are reused by all queries in one thread,
+     * stamps tell which values belong to current query, so arrays do not need to be cleared.
+     */
+    private class QueryState {
+
+        public DoubleIndexedHeap heap;
+        public double[] distances;
+        public double[] bounds;
+        public int[] predecessors;
+        public int settledNodesCount;
+        private int[] stamps;
+        private int stamp;
+
+        public QueryState(int nodesCount) {
+            heap = new DoubleIndexedHeap(nodesCount);
+            distances = new double[nodesCount];
+            bounds = new double[nodesCount];
+            predecessors = new int[nodesCount];
+            stamps = new int[nodesCount];
+        }
+
+        public void start() {
+            heap.clear();
+            settledNodesCount = 0;
+
+            if (++stamp == Integer.MAX_VALUE) {
+                Arrays.fill(stamps, 0);
+                stamp = 1;
+            }
+        }
+
+        public boolean isReached(int node) {
+            return stamps[node] == stamp;
+        }
+
+        /**
+         * Set distance of node and add node to heap (or decrease its key).
+         */
+        public void relax(int node, double distance, double bound, int predecessor) {
+            distances[node] = distance;
+            bounds[node] = bound;
+            predecessors[node] = predecessor;
+
+            if (isReached(node)) {
+                heap.decreaseKey(node, distance + bound);
+            } else {
+                stamps[node] = stamp;
+                heap.add(node, distance + bound);
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,164 @@
+package structures;
+
+import java.lang.reflect.Array;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Routing matrix which calculates row of source node from one shortest path tree when the row is accessed first time.
+ * Rows are kept in LRU cache (least recently used row is removed when cache is full), so matrix of large graph
+ * can be used without calculating all N * N cells. Each row needs 8 bytes per node (next node index and float distance).
+ */
+public class LazyRoutingMatrix<TNodeId, TNode, TEdge> implements ILazyRoutingMatrix<TNode> {
+
+    public static final long DEFAULT_CACHE_BYTES = 64L << 20;
+
+    private ICompactGraph<TNodeId, TNode, TEdge> graph;
+    private boolean isEnabledRequired;
+    private TNode[] nodes;
+    private int capacity;
+    private Map<Integer, Row> rows;
+    private long hitsCount;
+    private long missesCount;
+
+    /**
+     * @param graph
+     * @param isEnabledRequired Only enabled edges are used (enabled state is taken from compact graph).
+     * @param capacity Max count of rows kept in memory.
+     */
+    public LazyRoutingMatrix(ICompactGraph<TNodeId, TNode, TEdge> graph, boolean isEnabledRequired, int capacity) {
+        this.graph = graph;
+        this.isEnabledRequired = isEnabledRequired;
+        this.capacity = Math.max(1, capacity);
+        int nodesCount = graph.getNodesCount();
+
+        @SuppressWarnings("unchecked")
+        TNode[] nodes = (TNode[]) Array.newInstance(nodesCount == 0 ? Object.class : graph.getNodeAt(0).getClass(), nodesCount);
+        this.nodes = nodes;
+
+        for (int i = 0; i < nodesCount; i++) {
+            nodes[i] = graph.getNodeAt(i);
+        }
+
+        rows = new LinkedHashMap<Integer, Row>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, Row> eldest) {
+                return size() > LazyRoutingMatrix.this.capacity;
+            }
+        };
+    }
+
+    /**
+     * Matrix with capacity given by DEFAULT_CACHE_BYTES.
+     */
+    public LazyRoutingMatrix(ICompactGraph<TNodeId, TNode, TEdge> graph, boolean isEnabledRequired) {
+        this(graph, isEnabledRequired, (int) Math.min(Integer.MAX_VALUE, DEFAULT_CACHE_BYTES / Math.max(1, graph.getNodesCount() * 8L)));
+    }
+
+    @Override
+    public TNode[] getNodes() {
+        return nodes;
+    }
+
+    /**
+     * Calculate all rows (they go through cache, so only last rows stay in memory).
+     */
+    @Override
+    public TNode[][] getRouting() {
+        @SuppressWarnings("unchecked")
+        TNode[][] result = (TNode[][]) Array.newInstance(nodes.getClass().getComponentType(), nodes.length, nodes.length);
+
+        for (int i = 0; i < nodes.length; i++) {
+            Row row = getRow(i);
+
+            for (int j = 0; j < nodes.length; j++) {
+                result[i][j] = row.next[j] == -1 ? null : nodes[row.next[j]];
+            }
+        }
+
+        return result;
+    }
+
+    @Override
+    public TNode getNext(int from, int to) {
+        int next = getRow(from).next[to];
+        return next == -1 ? null : nodes[next];
+    }
+
+    @Override
+    public double getDistance(int from, int to) {
+        return getRow(from).distances[to];
+    }
+
+    @Override
+    public int getCapacity() {
+        return capacity;
+    }
+
+    @Override
+    public synchronized int getCachedRowsCount() {
+        return rows.size();
+    }
+
+    @Override
+    public synchronized long getHitsCount() {
+        return hitsCount;
+    }
+
+    @Override
+    public synchronized long getMissesCount() {
+        return missesCount;
+    }
+
+    @Override
+    public synchronized void clear() {
+        rows.clear();
+    }
+
+    /**
+     * @param source Index of source node.
+     * @return Row from cache or newly calculated row.
+     */
+    private synchronized Row getRow(int source) {
+        Row row = rows.get(source);
+
+        if (row != null) {
+            hitsCount++;
+            return row;
+        }
+
+        missesCount++;
+        row = new Row(source);
+        rows.put(source, row);
+        return row;
+    }
+
+    /**
+     * Next nodes and distances from one source node. Next node of node j is taken from predecessor of j
+     * (nodes are processed in order of settling).
+     */
+    private class Row {
+
+        public int[] next;
+        public float[] distances;
+
+        public Row(int source) {
+            IShortestPathTree<TNode, TEdge> tree = new ShortestPathTree<>(graph, source, isEnabledRequired, SearchWorkspace.get(graph.getNodesCount()));
+            next = new int[nodes.length];
+            distances = new float[nodes.length];
+
+            for (int node = 0; node < nodes.length; node++) {
+                next[node] = -1;
+                distances[node] = (float) tree.getDistance(node);
+            }
+
+            for (int position = 1; position < tree.getSettledNodesCount(); position++) {
+                int node = tree.getSettledNode(position);
+                int predecessor = tree.getPredecessor(node);
+                next[node] = predecessor == source ? node : next[predecessor];
+            }
+        }
+
+    }
+
+}
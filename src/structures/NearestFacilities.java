@@ -0,0 +1,133 @@
+package structures;
+
+import java.util.*;
+
+/**
+ * Nearest facilities found by one Dijkstra search started from all facilities at once (all of them have distance 0),
+ * so each node is settled from its nearest facility. Facility of node is taken from its predecessor
+ * (nodes are processed in order of settling). Labels are copied from search workspace to own arrays,
+ * so they stay valid after other searches.
+ */
+public class NearestFacilities<TNodeId, TNode, TEdge> implements INearestFacilities<TNodeId, TNode, TEdge> {
+
+    private ICompactGraph<TNodeId, TNode, TEdge> graph;
+    private int[] facilities; // Index of nearest facility of each node or -1.
+    private double[] distances;
+    private int[] predecessors; // Next node towards facility or -1.
+    private List<TNode> facilityNodes;
+
+    /**
+     * @param graph
+     * @param facilityIds IDs of facilities.
+     * @param isEnabledRequired Only enabled edges are used (enabled state is taken from compact graph).
+     * @throws NoSuchElementException Facility with specified ID was not found.
+     */
+    public NearestFacilities(ICompactGraph<TNodeId, TNode, TEdge> graph, List<TNodeId> facilityIds, boolean isEnabledRequired) throws NoSuchElementException {
+        this.graph = graph;
+        int nodesCount = graph.getNodesCount();
+        facilities = new int[nodesCount];
+        distances = new double[nodesCount];
+        predecessors = new int[nodesCount];
+        facilityNodes = new ArrayList<>(facilityIds.size());
+        SearchWorkspace workspace = SearchWorkspace.get(nodesCount);
+        workspace.start();
+
+        for (TNodeId facilityId : facilityIds) {
+            int facility = graph.getRequiredIndex(facilityId);
+
+            if (!workspace.isReached(facility)) {
+                workspace.relax(facility, 0, 0, -1, -1);
+                facilityNodes.add(graph.getNodeAt(facility));
+            }
+        }
+
+        search(workspace, isEnabledRequired);
+        Arrays.fill(facilities, -1);
+
+        for (int node = 0; node < nodesCount; node++) {
+            distances[node] = workspace.getDistance(node);
+            predecessors[node] = workspace.getPredecessor(node);
+        }
+
+        for (int position = 0; position < workspace.getSettledNodesCount(); position++) {
+            int node = workspace.getSettledNode(position);
+            int predecessor = workspace.getPredecessor(node);
+            facilities[node] = predecessor == -1 ? node : facilities[predecessor];
+        }
+    }
+
+    private void search(SearchWorkspace workspace, boolean isEnabledRequired) {
+        while (!workspace.isHeapEmpty()) {
+            int current = workspace.settle();
+            double distance = workspace.getDistance(current);
+
+            for (int arc = graph.getArcsStart(current); arc < graph.getArcsEnd(current); arc++) {
+                if (isEnabledRequired && !graph.isArcEnabled(arc)) {
+                    continue;
+                }
+
+                int target = graph.getArcTarget(arc);
+                double totalDistance = distance + graph.getArcSize(arc);
+
+                if (totalDistance < workspace.getDistance(target) && (!workspace.isReached(target) || workspace.isInHeap(target))) {
+                    workspace.relax(target, totalDistance, totalDistance, current, arc);
+                }
+            }
+        }
+    }
+
+    @Override
+    public TNode getNearest(TNodeId nodeId) throws NoSuchElementException {
+        int facility = facilities[graph.getRequiredIndex(nodeId)];
+        return facility == -1 ? null : graph.getNodeAt(facility);
+    }
+
+    @Override
+    public double getDistance(TNodeId nodeId) throws NoSuchElementException {
+        return distances[graph.getRequiredIndex(nodeId)];
+    }
+
+    /**
+     * Path goes along predecessors of search, edges are undirected, so it is path from node to facility.
+     */
+    @Override
+    public IGraphPath<TNode, TEdge, Double> getPath(TNodeId nodeId) throws NoSuchElementException {
+        int node = graph.getRequiredIndex(nodeId);
+
+        if (predecessors[node] == -1) {
+            throw new NoSuchElementException("Cesta z vrcholu " + nodeId + " k nejbližšímu zařízení nebyla nalezena.");
+        }
+
+        List<TNode> nodes = new ArrayList<>();
+        List<TEdge> edges = new ArrayList<>();
+        nodes.add(graph.getNodeAt(node));
+
+        while (predecessors[node] != -1) {
+            edges.add(graph.getArcEdge(graph.getArc(node, predecessors[node])));
+            node = predecessors[node];
+            nodes.add(graph.getNodeAt(node));
+        }
+
+        return new GraphPath<>(nodes, edges, distances[graph.getRequiredIndex(nodeId)]);
+    }
+
+    @Override
+    public List<TNode> getCell(TNodeId facilityId) throws NoSuchElementException {
+        int facility = graph.getRequiredIndex(facilityId);
+        List<TNode> cell = new ArrayList<>();
+
+        for (int node = 0; node < facilities.length; node++) {
+            if (facilities[node] == facility) {
+                cell.add(graph.getNodeAt(node));
+            }
+        }
+
+        return cell;
+    }
+
+    @Override
+    public List<TNode> getFacilities() {
+        return facilityNodes;
+    }
+
+}
@@ -4,10 +4,12 @@ public class RoutingMatrix<TNode> implements IRoutingMatrix<TNode> {
 
     private TNode[] nodes;
     private TNode[][] routing;
+    private double[][] distances;
 
-    public RoutingMatrix(TNode[] nodes, TNode[][] routing) {
+    public RoutingMatrix(TNode[] nodes, TNode[][] routing, double[][] distances) {
         this.nodes = nodes;
         this.routing = routing;
+        this.distances = distances;
     }
 
     @Override
@@ -19,4 +21,14 @@ public class RoutingMatrix<TNode> implements IRoutingMatrix<TNode> {
     public TNode[][] getRouting() {
         return routing;
     }
+
+    @Override
+    public TNode getNext(int from, int to) {
+        return routing[from][to];
+    }
+
+    @Override
+    public double getDistance(int from, int to) {
+        return distances[from][to];
+    }
 }
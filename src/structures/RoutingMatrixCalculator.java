@@ -1,19 +1,34 @@
 package structures;
 
 import java.lang.reflect.Array;
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
 
 public class RoutingMatrixCalculator<TNodeId, TNode, TEdge> implements IRoutingMatrixCalculator<TNodeId, TNode, TEdge> {
 
-    private IShortestPathAlgorithm shortestPathAlgorithm;
+    private IShortestPathAlgorithm<TNodeId, TNode, TEdge, ?> shortestPathAlgorithm;
     Function<TNode, TNodeId> idAccessor;
+    private ToDoubleFunction<TEdge> sizeAccessor;
+    private IConnectedComponents<TNodeId> components;
 
-    public RoutingMatrixCalculator(IShortestPathAlgorithm shortestPathAlgorithm, Function<TNode, TNodeId> idAccessor) {
+    /**
+     * @param shortestPathAlgorithm
+     * @param idAccessor
+     * @param sizeAccessor Size of edge, distances are sums of edge sizes on shortest paths.
+     * @param components Components of graph, pairs of nodes from different components are skipped without search (or null).
+     */
+    public RoutingMatrixCalculator(IShortestPathAlgorithm<TNodeId, TNode, TEdge, ?> shortestPathAlgorithm, Function<TNode, TNodeId> idAccessor, ToDoubleFunction<TEdge> sizeAccessor, IConnectedComponents<TNodeId> components) {
         this.shortestPathAlgorithm = shortestPathAlgorithm;
         this.idAccessor = idAccessor;
+        this.sizeAccessor = sizeAccessor;
+        this.components = components;
+    }
+
+    public RoutingMatrixCalculator(IShortestPathAlgorithm<TNodeId, TNode, TEdge, ?> shortestPathAlgorithm, Function<TNode, TNodeId> idAccessor, ToDoubleFunction<TEdge> sizeAccessor) {
+        this(shortestPathAlgorithm, idAccessor, sizeAccessor, null);
     }
 
     /**
@@ -30,10 +45,7 @@ public class RoutingMatrixCalculator<TNodeId, TNode, TEdge> implements IRoutingM
         }
 
         TNode[][] matrix = getInitialMatrix(graph);
-
-        if (nodes.isEmpty()) {
-            return new RoutingMatrix<>(getNodesArrayFromList(new ArrayList<>()), matrix);
-        }
+        double[][] distances = getInitialDistances(nodes.size());
 
         for (int i = 0; i < nodes.size(); i++) {
             for (int j = 0; j < nodes.size(); j++) {
@@ -44,25 +56,36 @@ public class RoutingMatrixCalculator<TNodeId, TNode, TEdge> implements IRoutingM
                 TNodeId fromId = idAccessor.apply(nodes.get(i));
                 TNodeId toId = idAccessor.apply(nodes.get(j));
 
+                if (components != null && !components.isConnected(fromId, toId)) {
+                    continue;
+                }
+
                 try {
                     IGraphPath<TNode, TEdge, ?> shortestPath = shortestPathAlgorithm.findShortestPath(graph, fromId, toId);
-                    processPath(shortestPath, matrix, nodes);
+                    processPath(shortestPath, matrix, distances, nodes);
                 } catch (NoSuchElementException exception) {
                     // There is no path between i and j nodes.
                 }
             }
         }
 
-        return new RoutingMatrix<>(getNodesArrayFromList(nodes), matrix);
+        return new RoutingMatrix<>(getNodesArrayFromList(nodes), matrix, distances);
     }
 
     /**
      * There is no need to calc shortest path from each node to each node.
      * Shortest path between two nodes gets also shortest paths between all nodes on this path.
      * Example: Shortest path is v1 -> v2 -> v3 -> v4. Then shortest paths are also v1 -> v2, v2 -> v3, v2 -> v4, v4 -> v2, v3 -> v2, etc.
+     * Distance between two nodes on path is difference of distances from start of path.
      */
-    private void processPath(IGraphPath<TNode, TEdge, ?> path, TNode[][] matrix, List<TNode> nodes) {
+    private void processPath(IGraphPath<TNode, TEdge, ?> path, TNode[][] matrix, double[][] distances, List<TNode> nodes) {
         List<TNode> pathNodes = path.getNodes();
+        List<TEdge> pathEdges = path.getEdges();
+        double[] distancesFromStart = new double[pathNodes.size()];
+
+        for (int k = 1; k < pathNodes.size(); k++) {
+            distancesFromStart[k] = distancesFromStart[k - 1] + sizeAccessor.applyAsDouble(pathEdges.get(k - 1));
+        }
 
         for (int k = 1; k < pathNodes.size(); k++) {
             for (int l = 0; l < pathNodes.size() - k; l++) {
@@ -76,6 +99,7 @@ public class RoutingMatrixCalculator<TNodeId, TNode, TEdge> implements IRoutingM
 
                 matrix[indexFrom][indexTarget] = next;
                 matrix[indexTarget][indexFrom] = before;
+                distances[indexFrom][indexTarget] = distances[indexTarget][indexFrom] = distancesFromStart[l + k] - distancesFromStart[l];
             }
         }
     }
@@ -95,6 +119,20 @@ public class RoutingMatrixCalculator<TNodeId, TNode, TEdge> implements IRoutingM
         return result;
     }
 
+    /**
+     * Create matrix of distances of size NxN where N is count of nodes (zero on diagonal, otherwise infinity).
+     */
+    private double[][] getInitialDistances(int nodesCount) {
+        double[][] distances = new double[nodesCount][nodesCount];
+
+        for (int i = 0; i < nodesCount; i++) {
+            Arrays.fill(distances[i], Double.POSITIVE_INFINITY);
+            distances[i][i] = 0;
+        }
+
+        return distances;
+    }
+
     /**
      * Create empty matrix of size NxN where N is count of nodes.
      */
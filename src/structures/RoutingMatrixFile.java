@@ -0,0 +1,180 @@
+package structures;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.lang.reflect.Array;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.NoSuchElementException;
+
+/**
+ * Routing matrix in file with fixed-width cells. Sections of file are mapped to memory, so operating system
+ * loads only touched rows (and it can drop them again when memory is needed). File contains (from beginning of file):
+ * - Header: magic number, version, offset of data, count of nodes, bytes per index cell, checksum of graph, IDs of nodes (UTF),
+ * - Indices of next nodes (N * N cells of 2 or 4 bytes, rows one after another, see IndexMatrix),
+ * - Distances (N * N floats, see DistanceMatrix).
+ * Each section is mapped in slabs of whole rows (at most 1 GB each).
+ */
+public class RoutingMatrixFile<TNodeId, TNode, TEdge> implements IRoutingMatrixFile<TNodeId, TNode, TEdge> {
+
+    private static final int MAGIC = 0x524D4154; // "RMAT"
+    private static final int VERSION = 1;
+    private static final int ALIGNMENT = Long.BYTES;
+
+    private String fileName;
+    private ShortestPathTreeRoutingMatrixCalculator<TNodeId, TNode, TEdge> calculator;
+
+    /**
+     * @param fileName
+     * @param calculator Calculator which fills rows of mapped file.
+     */
+    public RoutingMatrixFile(String fileName, ShortestPathTreeRoutingMatrixCalculator<TNodeId, TNode, TEdge> calculator) {
+        this.fileName = fileName;
+        this.calculator = calculator;
+    }
+
+    /**
+     * Write header and map empty sections for writing. Calculator writes rows directly to mapped sections,
+     * so matrix larger than memory can be calculated.
+     */
+    @Override
+    public void write(ICompactGraph<TNodeId, TNode, TEdge> graph) throws IOException, NoSuchElementException {
+        int nodesCount = graph.getNodesCount();
+
+        if (nodesCount == 0) {
+            throw new NoSuchElementException("Nelze vypočítat směrovací matici z prázdného grafu.");
+        }
+
+        int cellBytes = IndexMatrix.getCellBytes(nodesCount);
+
+        try (RandomAccessFile file = new RandomAccessFile(fileName, "rw")) {
+            file.setLength(0); // Zeroed file means empty cells.
+            long dataOffset = writeHeader(file, graph, cellBytes);
+            long distancesOffset = dataOffset + (long) nodesCount * nodesCount * cellBytes;
+            file.setLength(distancesOffset + (long) nodesCount * nodesCount * Float.BYTES);
+
+            FileChannel channel = file.getChannel();
+            IndexMatrix.BufferIndexMatrix next = new IndexMatrix.BufferIndexMatrix(nodesCount, cellBytes, null);
+            DistanceMatrix.BufferDistanceMatrix distances = new DistanceMatrix.BufferDistanceMatrix(nodesCount, null);
+            MappedByteBuffer[] nextSlabs = new MappedByteBuffer[next.getSlabsCount()];
+            MappedByteBuffer[] distanceSlabs = new MappedByteBuffer[distances.getSlabsCount()];
+
+            long position = dataOffset;
+
+            for (int i = 0; i < nextSlabs.length; position += next.getSlabBytes(i++)) {
+                nextSlabs[i] = channel.map(FileChannel.MapMode.READ_WRITE, position, next.getSlabBytes(i));
+                next.setSlab(i, nextSlabs[i]);
+            }
+
+            for (int i = 0; i < distanceSlabs.length; position += distances.getSlabBytes(i++)) {
+                distanceSlabs[i] = channel.map(FileChannel.MapMode.READ_WRITE, position, distances.getSlabBytes(i));
+                distances.setSlab(i, distanceSlabs[i]);
+            }
+
+            calculator.fillMatrices(graph, next, distances);
+
+            for (MappedByteBuffer slab : nextSlabs) {
+                slab.force();
+            }
+
+            for (MappedByteBuffer slab : distanceSlabs) {
+                slab.force();
+            }
+        }
+    }
+
+    /**
+     * Check header and map sections of file. Sections are mapped privately, so changes of returned matrix
+     * (e. g. by DynamicRoutingMatrix) are not written to file.
+     */
+    @Override
+    public CompactRoutingMatrix<TNode> read(ICompactGraph<TNodeId, TNode, TEdge> graph) throws IOException, IllegalArgumentException {
+        int nodesCount = graph.getNodesCount();
+
+        if (!new File(fileName).exists()) {
+            throw new FileNotFoundException("Soubor " + fileName + " neexistuje.");
+        }
+
+        try (RandomAccessFile file = new RandomAccessFile(fileName, "rw")) { // Private mapping needs writable channel, but file is not changed.
+            int cellBytes = IndexMatrix.getCellBytes(nodesCount);
+            long dataOffset = readHeader(file, graph, cellBytes);
+            long distancesOffset = dataOffset + (long) nodesCount * nodesCount * cellBytes;
+
+            if (file.length() != distancesOffset + (long) nodesCount * nodesCount * Float.BYTES) {
+                throw new IllegalArgumentException("Soubor se směrovací maticí je poškozený.");
+            }
+
+            FileChannel channel = file.getChannel();
+            IndexMatrix.BufferIndexMatrix next = new IndexMatrix.BufferIndexMatrix(nodesCount, cellBytes, null);
+            DistanceMatrix.BufferDistanceMatrix distances = new DistanceMatrix.BufferDistanceMatrix(nodesCount, null);
+
+            long position = dataOffset;
+
+            for (int i = 0; i < next.getSlabsCount(); position += next.getSlabBytes(i++)) {
+                next.setSlab(i, channel.map(FileChannel.MapMode.PRIVATE, position, next.getSlabBytes(i)));
+            }
+
+            for (int i = 0; i < distances.getSlabsCount(); position += distances.getSlabBytes(i++)) {
+                distances.setSlab(i, channel.map(FileChannel.MapMode.PRIVATE, position, distances.getSlabBytes(i)));
+            }
+
+            @SuppressWarnings("unchecked")
+            TNode[] nodes = (TNode[]) Array.newInstance(graph.getNodeAt(0).getClass(), nodesCount);
+
+            for (int i = 0; i < nodesCount; i++) {
+                nodes[i] = graph.getNodeAt(i);
+            }
+
+            return new CompactRoutingMatrix<>(nodes, next, distances);
+        }
+    }
+
+    /**
+     * @return Offset of data (header is padded to multiple of 8 bytes).
+     */
+    private long writeHeader(RandomAccessFile file, ICompactGraph<TNodeId, TNode, TEdge> graph, int cellBytes) throws IOException {
+        file.writeInt(MAGIC);
+        file.writeInt(VERSION);
+        file.writeLong(0); // Offset of data is written when IDs are written.
+        file.writeInt(graph.getNodesCount());
+        file.writeInt(cellBytes);
+        file.writeLong(graph.getChecksum());
+
+        for (int i = 0; i < graph.getNodesCount(); i++) {
+            file.writeUTF(String.valueOf(graph.getNodeIdAt(i)));
+        }
+
+        long dataOffset = (file.getFilePointer() + ALIGNMENT - 1) / ALIGNMENT * ALIGNMENT;
+        file.seek(Integer.BYTES * 2);
+        file.writeLong(dataOffset);
+        return dataOffset;
+    }
+
+    /**
+     * Check that file contains matrix of same graph with same order of nodes.
+     * @return Offset of data.
+     * @throws IllegalArgumentException File contains matrix of different graph.
+     */
+    private long readHeader(RandomAccessFile file, ICompactGraph<TNodeId, TNode, TEdge> graph, int cellBytes) throws IOException, IllegalArgumentException {
+        if (file.length() < Integer.BYTES * 2 || file.readInt() != MAGIC || file.readInt() != VERSION) {
+            throw new IllegalArgumentException("Soubor neobsahuje směrovací matici.");
+        }
+
+        long dataOffset = file.readLong();
+
+        if (file.readInt() != graph.getNodesCount() || file.readInt() != cellBytes || file.readLong() != graph.getChecksum()) {
+            throw new IllegalArgumentException("Směrovací matice v souboru neodpovídá mapě.");
+        }
+
+        for (int i = 0; i < graph.getNodesCount(); i++) {
+            if (!file.readUTF().equals(String.valueOf(graph.getNodeIdAt(i)))) {
+                throw new IllegalArgumentException("Směrovací matice v souboru neodpovídá mapě.");
+            }
+        }
+
+        return dataOffset;
+    }
+
+}
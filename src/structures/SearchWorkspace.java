@@ -0,0 +1,170 @@
+package structures;
+
+import java.util.Arrays;
+
+/**
+ * Arrays of one search on compact graph (distances, predecessors, order of settling and heap). Node belongs to current
+ * search only if it has current stamp, so workspace is reset in O(1) by increasing stamp and arrays are never cleared.
+ * Workspaces are pooled per thread (see get), so repeated searches do not allocate arrays of size N.
+ * Each thread has two workspaces, so forward and backward tree can be held at once.
+ */
+public class SearchWorkspace {
+
+    public static final int SLOTS_COUNT = 2;
+
+    private static final ThreadLocal<SearchWorkspace[]> POOL = ThreadLocal.withInitial(() -> new SearchWorkspace[SLOTS_COUNT]);
+
+    private double[] distances;
+    private int[] predecessors;
+    private int[] predecessorArcs;
+    private int[] settledNodes;
+    private int settledNodesCount;
+    private int[] stamps;
+    private int stamp;
+    private DoubleIndexedHeap heap;
+
+    /**
+     * @param capacity Max count of nodes.
+     */
+    public SearchWorkspace(int capacity) {
+        distances = new double[capacity];
+        predecessors = new int[capacity];
+        predecessorArcs = new int[capacity];
+        settledNodes = new int[capacity];
+        stamps = new int[capacity];
+        heap = new DoubleIndexedHeap(capacity);
+    }
+
+    /**
+     * Get workspace of current thread. Previous search in the workspace is not valid after start of next search.
+     * @param capacity Max count of nodes.
+     * @return Workspace with at least specified capacity.
+     */
+    public static SearchWorkspace get(int capacity) {
+        return get(capacity, 0);
+    }
+
+    /**
+     * Get one of workspaces of current thread.
+     * @param capacity Max count of nodes.
+     * @param slot Number of workspace (0 is workspace returned by get(capacity)).
+     * @return Workspace with at least specified capacity.
+     */
+    public static SearchWorkspace get(int capacity, int slot) {
+        SearchWorkspace[] workspaces = POOL.get();
+
+        if (workspaces[slot] == null || workspaces[slot].getCapacity() < capacity) {
+            workspaces[slot] = new SearchWorkspace(capacity);
+        }
+
+        return workspaces[slot];
+    }
+
+    public int getCapacity() {
+        return stamps.length;
+    }
+
+    /**
+     * Forget all nodes of previous search.
+     */
+    public void start() {
+        heap.clear();
+        settledNodesCount = 0;
+
+        if (++stamp == Integer.MAX_VALUE) {
+            Arrays.fill(stamps, 0);
+            stamp = 1;
+        }
+    }
+
+    /**
+     * @return Node was reached by current search.
+     */
+    public boolean isReached(int node) {
+        return stamps[node] == stamp;
+    }
+
+    /**
+     * @return Distance of node or infinity if node was not reached.
+     */
+    public double getDistance(int node) {
+        return isReached(node) ? distances[node] : Double.POSITIVE_INFINITY;
+    }
+
+    /**
+     * @return Previous node on path from start node or -1 for start node and not reached nodes.
+     */
+    public int getPredecessor(int node) {
+        return isReached(node) ? predecessors[node] : -1;
+    }
+
+    /**
+     * @return Arc from previous node or -1 for start node and not reached nodes.
+     */
+    public int getPredecessorArc(int node) {
+        return isReached(node) ? predecessorArcs[node] : -1;
+    }
+
+    /**
+     * Set distance and predecessor of node and add node to heap (or decrease its key).
+     * Node must not be settled already.
+     * @param node
+     * @param distance
+     * @param key Key of node in heap (distance for Dijkstra algorithm).
+     * @param predecessor Previous node or -1 for start node.
+     * @param arc Arc from previous node or -1 for start node.
+     */
+    public void relax(int node, double distance, double key, int predecessor, int arc) {
+        distances[node] = distance;
+        predecessors[node] = predecessor;
+        predecessorArcs[node] = arc;
+
+        if (isReached(node)) {
+            heap.decreaseKey(node, key);
+        } else {
+            stamps[node] = stamp;
+            heap.add(node, key);
+        }
+    }
+
+    /**
+     * @return Heap contains node (node was reached, but it was not settled).
+     */
+    public boolean isInHeap(int node) {
+        return heap.contains(node);
+    }
+
+    public boolean isHeapEmpty() {
+        return heap.isEmpty();
+    }
+
+    /**
+     * @return Lowest key in heap.
+     */
+    public double peekKey() {
+        return heap.peekKey();
+    }
+
+    /**
+     * Remove node with lowest key from heap and settle it.
+     * @return Settled node.
+     */
+    public int settle() {
+        int node = heap.poll();
+        settledNodes[settledNodesCount++] = node;
+        return node;
+    }
+
+    public int getSettledNodesCount() {
+        return settledNodesCount;
+    }
+
+    /**
+     * @param position Position in order of settling.
+     * @return Node settled on position.
+     */
+    public int getSettledNode(int position) {
+        return settledNodes[position];
+    }
+
+}
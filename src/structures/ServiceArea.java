@@ -0,0 +1,110 @@
+package structures;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Dijkstra algorithm from source node which settles only nodes within budget. Search state is kept in own workspace,
+ * so next query with larger budget continues the search and query with smaller budget only reads settled nodes
+ * (they are settled in ascending order of distance, so nodes within budget are prefix of settled nodes).
+ * Edge between two reachable nodes is reachable whole if the parts reachable from both its nodes cover it.
+ */
+public class ServiceArea<TNodeId, TNode, TEdge> implements IServiceArea<TNode, TEdge> {
+
+    private ICompactGraph<TNodeId, TNode, TEdge> graph;
+    private int source;
+    private boolean isEnabledRequired;
+    private SearchWorkspace workspace;
+
+    /**
+     * @param graph
+     * @param source Index of source node.
+     * @param isEnabledRequired Only enabled edges are used (enabled state is taken from compact graph).
+     */
+    public ServiceArea(ICompactGraph<TNodeId, TNode, TEdge> graph, int source, boolean isEnabledRequired) {
+        this.graph = graph;
+        this.source = source;
+        this.isEnabledRequired = isEnabledRequired;
+        workspace = new SearchWorkspace(graph.getNodesCount());
+        workspace.start();
+        workspace.relax(source, 0, 0, -1, -1);
+    }
+
+    @Override
+    public int getSource() {
+        return source;
+    }
+
+    @Override
+    public synchronized IIsochrone<TNode, TEdge> getIsochrone(double budget) throws IllegalArgumentException {
+        if (budget < 0) {
+            throw new IllegalArgumentException("Vzdálenost nesmí být záporná.");
+        }
+
+        search(budget);
+        int reachableCount = 0;
+
+        while (reachableCount < workspace.getSettledNodesCount() && workspace.getDistance(workspace.getSettledNode(reachableCount)) <= budget) {
+            reachableCount++;
+        }
+
+        List<TNode> nodes = new ArrayList<>(reachableCount);
+        List<TEdge> edges = new ArrayList<>();
+        List<IEdgeCut<TNode, TEdge>> cuts = new ArrayList<>();
+
+        for (int position = 0; position < reachableCount; position++) {
+            int node = workspace.getSettledNode(position);
+            double distance = workspace.getDistance(node);
+            nodes.add(graph.getNodeAt(node));
+
+            for (int arc = graph.getArcsStart(node); arc < graph.getArcsEnd(node); arc++) {
+                if (isEnabledRequired && !graph.isArcEnabled(arc)) {
+                    continue;
+                }
+
+                int target = graph.getArcTarget(arc);
+                double size = graph.getArcSize(arc);
+                boolean isTargetReachable = workspace.getDistance(target) <= budget && !workspace.isInHeap(target);
+
+                if (isTargetReachable && target < node) { // Edge between reachable nodes is processed only once.
+                    continue;
+                }
+
+                double fromPart = budget - distance;
+                double toPart = isTargetReachable ? budget - workspace.getDistance(target) : 0;
+
+                if (fromPart + toPart >= size) {
+                    edges.add(graph.getArcEdge(arc));
+                } else if (fromPart > 0 || toPart > 0) {
+                    cuts.add(new EdgeCut<>(graph.getArcEdge(arc), graph.getNodeAt(node), graph.getNodeAt(target), fromPart / size, toPart / size));
+                }
+            }
+        }
+
+        return new Isochrone<>(budget, nodes, edges, cuts);
+    }
+
+    /**
+     * Settle all nodes within budget (nodes settled by previous queries stay settled).
+     */
+    private void search(double budget) {
+        while (!workspace.isHeapEmpty() && workspace.peekKey() <= budget) {
+            int current = workspace.settle();
+            double distance = workspace.getDistance(current);
+
+            for (int arc = graph.getArcsStart(current); arc < graph.getArcsEnd(current); arc++) {
+                if (isEnabledRequired && !graph.isArcEnabled(arc)) {
+                    continue;
+                }
+
+                int target = graph.getArcTarget(arc);
+                double totalDistance = distance + graph.getArcSize(arc);
+
+                if (totalDistance < workspace.getDistance(target) && (!workspace.isReached(target) || workspace.isInHeap(target))) {
+                    workspace.relax(target, totalDistance, totalDistance, current, arc);
+                }
+            }
+        }
+    }
+
+}
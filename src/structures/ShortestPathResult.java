@@ -0,0 +1,37 @@
+package structures;
+
+public class ShortestPathResult<TNode, TEdge> implements IShortestPathResult<TNode, TEdge> {
+
+    private IGraphPath<TNode, TEdge, Double> path;
+    private String error;
+
+    /**
+     * Found path.
+     */
+    public ShortestPathResult(IGraphPath<TNode, TEdge, Double> path) {
+        this.path = path;
+    }
+
+    /**
+     * Failed query.
+     */
+    public ShortestPathResult(String error) {
+        this.error = error;
+    }
+
+    @Override
+    public boolean isFound() {
+        return path != null;
+    }
+
+    @Override
+    public IGraphPath<TNode, TEdge, Double> getPath() {
+        return path;
+    }
+
+    @Override
+    public String getError() {
+        return error;
+    }
+
+}
@@ -0,0 +1,118 @@
+package structures;
+
+import java.util.*;
+
+/**
+ * Tree of shortest paths from source node found by Dijkstra algorithm on primitive arrays of compact graph.
+ * Tree is stored in search workspace, so tree built in shared workspace is valid only until next search in the workspace.
+ */
+public class ShortestPathTree<TNodeId, TNode, TEdge> implements IShortestPathTree<TNode, TEdge> {
+
+    private ICompactGraph<TNodeId, TNode, TEdge> graph;
+    private int source;
+    private SearchWorkspace workspace;
+
+    /**
+     * @param graph
+     * @param source Index of source node.
+     * @param isEnabledRequired Only enabled arcs are used.
+     * @param workspace Workspace for search (e. g. pooled workspace of current thread, see SearchWorkspace.get).
+     */
+    public ShortestPathTree(ICompactGraph<TNodeId, TNode, TEdge> graph, int source, boolean isEnabledRequired, SearchWorkspace workspace) {
+        this(graph, source, isEnabledRequired, workspace, null);
+    }
+
+    /**
+     * Partial tree. Search stops when all targets are settled, so distances and paths are final only for settled nodes.
+     * @param graph
+     * @param source Index of source node.
+     * @param isEnabledRequired Only enabled arcs are used.
+     * @param workspace Workspace for search.
+     * @param targets Indices of targets in ascending order without duplicates or null for whole tree.
+     */
+    public ShortestPathTree(ICompactGraph<TNodeId, TNode, TEdge> graph, int source, boolean isEnabledRequired, SearchWorkspace workspace, int[] targets) {
+        this.graph = graph;
+        this.source = source;
+        this.workspace = workspace;
+        search(isEnabledRequired, targets);
+    }
+
+    /**
+     * Tree with own workspace (it stays valid).
+     */
+    public ShortestPathTree(ICompactGraph<TNodeId, TNode, TEdge> graph, int source, boolean isEnabledRequired) {
+        this(graph, source, isEnabledRequired, new SearchWorkspace(graph.getNodesCount()));
+    }
+
+    private void search(boolean isEnabledRequired, int[] targets) {
+        int remainingTargets = targets == null ? -1 : targets.length;
+        workspace.start();
+        workspace.relax(source, 0, 0, -1, -1);
+
+        while (!workspace.isHeapEmpty() && remainingTargets != 0) {
+            int current = workspace.settle();
+            double distance = workspace.getDistance(current);
+
+            if (targets != null && Arrays.binarySearch(targets, current) >= 0) {
+                remainingTargets--;
+            }
+
+            for (int arc = graph.getArcsStart(current); arc < graph.getArcsEnd(current); arc++) {
+                if (isEnabledRequired && !graph.isArcEnabled(arc)) {
+                    continue;
+                }
+
+                int target = graph.getArcTarget(arc);
+                double totalDistance = distance + graph.getArcSize(arc);
+
+                if (totalDistance < workspace.getDistance(target)) {
+                    workspace.relax(target, totalDistance, totalDistance, current, arc);
+                }
+            }
+        }
+    }
+
+    @Override
+    public int getSource() {
+        return source;
+    }
+
+    @Override
+    public double getDistance(int index) {
+        return workspace.getDistance(index);
+    }
+
+    @Override
+    public int getPredecessor(int index) {
+        return workspace.getPredecessor(index);
+    }
+
+    @Override
+    public int getSettledNodesCount() {
+        return workspace.getSettledNodesCount();
+    }
+
+    @Override
+    public int getSettledNode(int position) {
+        return workspace.getSettledNode(position);
+    }
+
+    @Override
+    public IGraphPath<TNode, TEdge, Double> getPath(int index) throws NoSuchElementException {
+        if (index == source || workspace.getPredecessor(index) == -1) {
+            throw new NoSuchElementException("Cesta mezi vrcholy " + graph.getNodeIdAt(source) + " a " + graph.getNodeIdAt(index) + " nebyla nalezena.");
+        }
+
+        LinkedList<TNode> nodes = new LinkedList<>();
+        LinkedList<TEdge> edges = new LinkedList<>();
+
+        for (int node = index; node != source; node = workspace.getPredecessor(node)) {
+            nodes.addFirst(graph.getNodeAt(node));
+            edges.addFirst(graph.getArcEdge(workspace.getPredecessorArc(node)));
+        }
+
+        nodes.addFirst(graph.getNodeAt(source));
+        return new GraphPath<>(new ArrayList<>(nodes), new ArrayList<>(edges), workspace.getDistance(index));
+    }
+
+}
@@ -0,0 +1,132 @@
+package structures;
+
+import java.lang.reflect.Array;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Routing matrix calculator which finds one shortest path tree for each source node and fills whole row
+ * of matrix from the tree. Next node on path from source to node j is the first node after source on branch of tree
+ * with node j, it is taken from predecessor of j (nodes are processed in order of settling).
+ * Rows are independent, so sources are split between threads of pool.
+ * Matrix stores indices of next nodes (see CompactRoutingMatrix) and distances from the same trees.
+ */
+public class ShortestPathTreeRoutingMatrixCalculator<TNodeId, TNode, TEdge> implements IRoutingMatrixCalculator<TNodeId, TNode, TEdge> {
+
+    private static final int SOURCES_PER_TASK = 16;
+
+    private Function<TNode, TNodeId> idAccessor;
+    private ToDoubleFunction<TEdge> sizeAccessor;
+    private Function<TEdge, Boolean> isEnabledAccessor;
+    private ForkJoinPool pool;
+
+    /**
+     * @param idAccessor
+     * @param sizeAccessor
+     * @param isEnabledAccessor Edge is enabled, it is used when graph is not compact (compact graph has its own states).
+     * @param pool Pool of threads for computing rows.
+     */
+    public ShortestPathTreeRoutingMatrixCalculator(Function<TNode, TNodeId> idAccessor, ToDoubleFunction<TEdge> sizeAccessor, Function<TEdge, Boolean> isEnabledAccessor, ForkJoinPool pool) {
+        this.idAccessor = idAccessor;
+        this.sizeAccessor = sizeAccessor;
+        this.isEnabledAccessor = isEnabledAccessor;
+        this.pool = pool;
+    }
+
+    public ShortestPathTreeRoutingMatrixCalculator(Function<TNode, TNodeId> idAccessor, ToDoubleFunction<TEdge> sizeAccessor, Function<TEdge, Boolean> isEnabledAccessor) {
+        this(idAccessor, sizeAccessor, isEnabledAccessor, ForkJoinPool.commonPool());
+    }
+
+    @Override
+    public CompactRoutingMatrix<TNode> getRoutingMatrix(IGraph<TNodeId, TNode, TEdge> graph) throws NoSuchElementException {
+        ICompactGraph<TNodeId, TNode, TEdge> compactGraph = CompactGraph.of(graph, idAccessor, sizeAccessor, isEnabledAccessor);
+        int nodesCount = compactGraph.getNodesCount();
+
+        if (nodesCount == 0) {
+            throw new NoSuchElementException("Nelze vypočítat směrovací matici z prázdného grafu.");
+        }
+
+        TNode first = compactGraph.getNodeAt(0);
+
+        @SuppressWarnings("unchecked")
+        TNode[] nodes = (TNode[]) Array.newInstance(first.getClass(), nodesCount);
+
+        IIndexMatrix matrix = IndexMatrix.create(nodesCount);
+        IDistanceMatrix distances = DistanceMatrix.create(nodesCount);
+
+        for (int i = 0; i < nodesCount; i++) {
+            nodes[i] = compactGraph.getNodeAt(i);
+        }
+
+        fillMatrices(compactGraph, matrix, distances);
+        return new CompactRoutingMatrix<>(nodes, matrix, distances);
+    }
+
+    /**
+     * Fill all rows of existing matrices, so matrices can be stored anywhere (e. g. in mapped file).
+     * @param graph Graph with N nodes.
+     * @param matrix Empty matrix of indices of next nodes with N rows.
+     * @param distances Matrix of distances with N rows.
+     */
+    public void fillMatrices(ICompactGraph<TNodeId, TNode, TEdge> graph, IIndexMatrix matrix, IDistanceMatrix distances) {
+        pool.invoke(new RowsTask(graph, matrix, distances, 0, graph.getNodesCount()));
+    }
+
+    /**
+     * Fill row of matrix and row of distances for source node. Tree is built in pooled workspace of current thread
+     * and next node of predecessor is read from row itself, so no array is allocated for row.
+     */
+    private void fillRow(ICompactGraph<TNodeId, TNode, TEdge> graph, IIndexMatrix matrix, IDistanceMatrix distances, int source) {
+        IShortestPathTree<TNode, TEdge> tree = new ShortestPathTree<>(graph, source, true, SearchWorkspace.get(graph.getNodesCount()));
+
+        for (int node = 0; node < graph.getNodesCount(); node++) {
+            distances.set(source, node, tree.getDistance(node));
+        }
+
+        for (int position = 1; position < tree.getSettledNodesCount(); position++) {
+            int node = tree.getSettledNode(position);
+            int predecessor = tree.getPredecessor(node);
+            matrix.set(source, node, predecessor == source ? node : matrix.get(source, predecessor));
+        }
+    }
+
+    /**
+     * Task for filling rows from start (inclusive) to end (exclusive). Large range is split into two halves.
+     */
+    private class RowsTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private ICompactGraph<TNodeId, TNode, TEdge> graph;
+        private IIndexMatrix matrix;
+        private IDistanceMatrix distances;
+        private int start;
+        private int end;
+
+        public RowsTask(ICompactGraph<TNodeId, TNode, TEdge> graph, IIndexMatrix matrix, IDistanceMatrix distances, int start, int end) {
+            this.graph = graph;
+            this.matrix = matrix;
+            this.distances = distances;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected void compute() {
+            if (end - start <= SOURCES_PER_TASK) {
+                for (int source = start; source < end; source++) {
+                    fillRow(graph, matrix, distances, source);
+                }
+            } else {
+                int middle = (start + end) / 2;
+                invokeAll(new RowsTask(graph, matrix, distances, start, middle), new RowsTask(graph, matrix, distances, middle, end));
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,187 @@
+package paths;
+
+import org.junit.*;
+import structures.IRoutingMatrix;
+
+import java.awt.geom.Point2D;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import static org.junit.Assert.*;
+
+public class ForestTest {
+
+    private static final double EPSILON = 1e-4;
+
+    private IForest forest;
+
+    /**
+     * Crossroads A - B - C on line (short route) and D above B (long route A - D - C).
+     */
+    @Before
+    public void createForest() {
+        forest = new Forest(() -> {});
+        ICrossroad a = new Crossroad("A", new Point2D.Double(0, 0));
+        ICrossroad b = new Crossroad("B", new Point2D.Double(10, 0));
+        ICrossroad c = new Crossroad("C", new Point2D.Double(20, 0));
+        ICrossroad d = new Crossroad("D", new Point2D.Double(10, 30));
+
+        for (ICrossroad crossroad : new ICrossroad[] {a, b, c, d}) {
+            forest.addCrossroad(crossroad);
+        }
+
+        forest.addPath(new Path(a, b));
+        forest.addPath(new Path(b, c));
+        forest.addPath(new Path(a, d));
+        forest.addPath(new Path(d, c));
+    }
+
+    /**
+     * Enable or disable path like GUI does (path is changed in place and then passed to forest).
+     */
+    private void setEnabled(String fromId, String toId, boolean isEnabled) {
+        IPath path = forest.getPath(fromId, toId);
+        path.setEnabled(isEnabled);
+        forest.updatePath(fromId, toId, path);
+    }
+
+    /**
+     * Compare all cells of routing matrix with distances found by Dijkstra algorithm.
+     */
+    private void assertMatrixEqualsDijkstra() {
+        IRoutingMatrix<ICrossroad> matrix = forest.getRoutingMatrix();
+        ICrossroad[] nodes = matrix.getNodes();
+
+        for (int i = 0; i < nodes.length; i++) {
+            for (int j = 0; j < nodes.length; j++) {
+                if (i == j) {
+                    continue;
+                }
+
+                double expected;
+
+                try {
+                    expected = forest.findShortestPath(nodes[i].getId(), nodes[j].getId()).getSize();
+                } catch (NoSuchElementException exception) {
+                    expected = Double.POSITIVE_INFINITY;
+                }
+
+                assertEquals(expected, matrix.getDistance(i, j), EPSILON);
+            }
+        }
+    }
+
+    @Test
+    public void routingMatrixAfterPathChangedInPlace() {
+        assertMatrixEqualsDijkstra();
+
+        setEnabled("A", "B", false);
+        assertMatrixEqualsDijkstra();
+        assertEquals(20 * Math.sqrt(10), forest.findShortestPath("A", "C").getSize(), EPSILON);
+
+        setEnabled("A", "B", true);
+        assertMatrixEqualsDijkstra();
+        assertEquals(20, forest.findShortestPath("A", "C").getSize(), EPSILON);
+    }
+
+    @Test
+    public void componentsAfterPathsDisabledInPlace() {
+        assertTrue(forest.isConnected("A", "C"));
+
+        setEnabled("A", "B", false);
+        assertTrue(forest.isConnected("A", "C"));
+
+        setEnabled("A", "D", false);
+        assertFalse(forest.isConnected("A", "C"));
+        assertTrue(forest.isConnected("B", "C"));
+
+        setEnabled("A", "D", true);
+        assertTrue(forest.isConnected("A", "C"));
+    }
+
+    @Test
+    public void componentsAfterPathDisabledInPlaceWithoutSnapshot() {
+        assertTrue(forest.isConnected("A", "C"));
+        setEnabled("A", "B", false);
+        forest.addPath(new Path(forest.getCrossroad("B"), forest.getCrossroad("D"))); // Snapshot is built again only by next query.
+
+        setEnabled("A", "D", false);
+        assertFalse(forest.isConnected("A", "C"));
+        assertTrue(forest.isConnected("B", "D"));
+    }
+
+    @Test
+    public void routingMatrixAfterStructuralChanges() {
+        assertMatrixEqualsDijkstra();
+
+        forest.addPath(new Path(forest.getCrossroad("B"), forest.getCrossroad("D")));
+        assertMatrixEqualsDijkstra();
+
+        ICrossroad e = new Crossroad("E", new Point2D.Double(30, 0));
+        forest.addCrossroad(e);
+        forest.addPath(new Path(forest.getCrossroad("C"), e));
+        assertEquals(5, forest.getRoutingMatrix().getNodes().length);
+        assertMatrixEqualsDijkstra();
+
+        forest.removeCrossroad("E");
+        forest.removePath("A", "B");
+        assertEquals(4, forest.getRoutingMatrix().getNodes().length);
+        assertMatrixEqualsDijkstra();
+    }
+
+    @Test
+    public void routingMatrixAfterComponentsConnected() {
+        ICrossroad e = new Crossroad("E", new Point2D.Double(30, 0));
+        forest.addCrossroad(e);
+        forest.addPath(new Path(forest.getCrossroad("C"), e, false));
+        assertMatrixEqualsDijkstra();
+
+        setEnabled("C", "E", true);
+        assertTrue(forest.isConnected("A", "E"));
+        assertMatrixEqualsDijkstra();
+    }
+
+    @Test
+    public void routingMatrixAfterGenerate() {
+        forest.generate(30, 5, 5, 3, 0.3, 1.5);
+        assertMatrixEqualsDijkstra();
+
+        forest.generate(30, 5, 5, 3, 0.3, 1.5); // Crossroads have same IDs as before.
+        assertMatrixEqualsDijkstra();
+    }
+
+    @Test
+    public void componentsAfterGenerate() {
+        for (int i = 0; i < 3; i++) { // Crossroads have same IDs in each map.
+            forest.generate(30, 5, 5, 3, 0.8, 1.5);
+            Map<String, String> roots = new HashMap<>();
+
+            for (ICrossroad crossroad : forest.getCrossroads()) {
+                roots.put(crossroad.getId(), crossroad.getId());
+            }
+
+            for (IPath path : forest.getPaths(true)) {
+                roots.put(findRoot(roots, path.getFrom().getId()), findRoot(roots, path.getTo().getId()));
+            }
+
+            for (String fromId : roots.keySet()) {
+                for (String toId : roots.keySet()) {
+                    assertEquals(findRoot(roots, fromId).equals(findRoot(roots, toId)), forest.isConnected(fromId, toId));
+                }
+            }
+        }
+    }
+
+    /**
+     * @return Root of crossroad in union-find of enabled paths.
+     */
+    private String findRoot(Map<String, String> roots, String crossroadId) {
+        while (!roots.get(crossroadId).equals(crossroadId)) {
+            crossroadId = roots.get(crossroadId);
+        }
+
+        return crossroadId;
+    }
+
+}
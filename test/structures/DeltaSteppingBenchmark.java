@@ -0,0 +1,89 @@
+package structures;
+
+import java.awt.geom.Point2D;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Scaling of delta-stepping with count of threads compared with sequential shortest path tree.
+ * It is not run with tests, run it by main method (first argument is size of grid, default grid has 202 500 nodes).
+ */
+public class DeltaSteppingBenchmark {
+
+    private static final int[] THREADS = {1, 2, 4, 8, 16, 32, 64};
+    private static final int RUNS = 5;
+
+    public static void main(String[] args) {
+        int gridSize = args.length > 0 ? Integer.parseInt(args[0]) : 450;
+        ICompactGraph<Integer, Integer, double[]> graph = new CompactGraph<>(createGraph(gridSize), node -> node, edge -> edge[0], edge -> edge[1] > 0);
+        int source = graph.getNodesCount() / 2 + gridSize / 2;
+        double delta = DeltaSteppingTree.getAverageArcSize(graph);
+        System.out.println("Nodes: " + graph.getNodesCount() + ", arcs: " + graph.getArcsCount() + ", processors: " + Runtime.getRuntime().availableProcessors());
+
+        double sequential = measure(() -> new ShortestPathTree<>(graph, source, true, SearchWorkspace.get(graph.getNodesCount())));
+        System.out.println(String.format("Sequential tree: %.1f ms", sequential));
+
+        for (int threads : THREADS) {
+            ForkJoinPool pool = new ForkJoinPool(threads);
+            double time = measure(() -> new DeltaSteppingTree<>(graph, source, true, delta, pool));
+            System.out.println(String.format("Delta-stepping, %d threads: %.1f ms (speedup %.2f)", threads, time, sequential / time));
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * @return Median time of runs in milliseconds (after warm-up runs).
+     */
+    static double measure(Runnable runnable) {
+        double[] times = new double[RUNS];
+
+        for (int i = 0; i < RUNS; i++) {
+            runnable.run(); // Warm-up.
+        }
+
+        for (int i = 0; i < RUNS; i++) {
+            long start = System.nanoTime();
+            runnable.run();
+            times[i] = (System.nanoTime() - start) / 1e6;
+        }
+
+        Arrays.sort(times);
+        return times[RUNS / 2];
+    }
+
+    /**
+     * Grid with random positions of nodes, some diagonal edges and 10 % of disabled edges.
+     * Node is its index and edge is array of size and enabled flag.
+     */
+    static IGraph<Integer, Integer, double[]> createGraph(int gridSize) {
+        Random random = new Random(42);
+        IGraph<Integer, Integer, double[]> graph = new Graph<>();
+        Point2D[] positions = new Point2D[gridSize * gridSize];
+
+        for (int i = 0; i < positions.length; i++) {
+            positions[i] = new Point2D.Double(i / gridSize * 10 + random.nextDouble() * 6, i % gridSize * 10 + random.nextDouble() * 6);
+            graph.addNode(i, i);
+        }
+
+        for (int i = 0; i < positions.length; i++) {
+            boolean hasBottom = i / gridSize + 1 < gridSize;
+            boolean hasRight = i % gridSize + 1 < gridSize;
+
+            if (hasBottom) {
+                graph.addEdge(i, i + gridSize, new double[] {positions[i].distance(positions[i + gridSize]), random.nextDouble() > 0.1 ? 1 : 0});
+            }
+
+            if (hasRight) {
+                graph.addEdge(i, i + 1, new double[] {positions[i].distance(positions[i + 1]), random.nextDouble() > 0.1 ? 1 : 0});
+            }
+
+            if (hasBottom && hasRight && random.nextBoolean()) {
+                graph.addEdge(i, i + gridSize + 1, new double[] {positions[i].distance(positions[i + gridSize + 1]), 1});
+            }
+        }
+
+        return graph;
+    }
+
+}
@@ -0,0 +1,133 @@
+package structures;
+
+import java.util.*;
+
+/**
+ * Dijkstra algorithm with indexed heap (decrease-key) compared with previous Dijkstra algorithm with PriorityQueue
+ * (decrease-key was remove and add). It is not run with tests, run it by main method (first argument is size of grid).
+ * Grid is same as in DeltaSteppingBenchmark.
+ */
+public class IndexedHeapBenchmark {
+
+    private static final int[] GRID_SIZES = {50, 100, 200};
+    private static final int QUERIES_COUNT = 20;
+
+    public static void main(String[] args) {
+        int[] gridSizes = args.length > 0 ? new int[] {Integer.parseInt(args[0])} : GRID_SIZES;
+
+        for (int gridSize : gridSizes) {
+            IGraph<Integer, Integer, double[]> graph = DeltaSteppingBenchmark.createGraph(gridSize);
+            int nodesCount = gridSize * gridSize;
+            Random random = new Random(7);
+            int[][] queries = new int[QUERIES_COUNT][];
+
+            for (int i = 0; i < QUERIES_COUNT; i++) {
+                queries[i] = new int[] {random.nextInt(nodesCount), random.nextInt(nodesCount)};
+            }
+
+            IShortestPathAlgorithm<Integer, Integer, double[], Double> indexedHeap = new Dijkstra<>(node -> node, edge -> edge[0], (x, y) -> x + y, Double::compare, edge -> edge[1] > 0);
+            PriorityQueueDijkstra priorityQueue = new PriorityQueueDijkstra();
+            int longerPathsCount = 0;
+
+            for (int[] query : queries) {
+                if (query[0] != query[1] && priorityQueue.findShortestDistance(graph, query[0], query[1]) > findShortestDistance(indexedHeap, graph, query[0], query[1]) + 1e-9) {
+                    longerPathsCount++;
+                }
+            }
+
+            double indexedHeapTime = DeltaSteppingBenchmark.measure(() -> {
+                for (int[] query : queries) {
+                    findShortestDistance(indexedHeap, graph, query[0], query[1]);
+                }
+            });
+
+            double priorityQueueTime = DeltaSteppingBenchmark.measure(() -> {
+                for (int[] query : queries) {
+                    priorityQueue.findShortestDistance(graph, query[0], query[1]);
+                }
+            });
+
+            System.out.println(String.format("Nodes: %d, %d queries: indexed heap %.1f ms, priority queue %.1f ms (speedup %.2f), longer paths of priority queue: %d",
+                    nodesCount, QUERIES_COUNT, indexedHeapTime, priorityQueueTime, priorityQueueTime / indexedHeapTime, longerPathsCount));
+        }
+    }
+
+    /**
+     * @return Size of shortest path or infinity if there is no path.
+     */
+    private static double findShortestDistance(IShortestPathAlgorithm<Integer, Integer, double[], Double> algorithm, IGraph<Integer, Integer, double[]> graph, int from, int to) {
+        try {
+            return algorithm.findShortestPath(graph, from, to).getSize();
+        } catch (NoSuchElementException exception) {
+            return Double.POSITIVE_INFINITY;
+        }
+    }
+
+    /**
+     * Previous Dijkstra algorithm (distances in map initialized for all nodes, decrease-key by remove and add
+     * in PriorityQueue, search ends when end node is reached). Only distance is returned.
+     */
+    private static class PriorityQueueDijkstra {
+
+        private Map<Integer, Double> distancesFromStart;
+        private int fromId;
+
+        public double findShortestDistance(IGraph<Integer, Integer, double[]> graph, int fromId, int toId) {
+            this.fromId = fromId;
+            distancesFromStart = new HashMap<>();
+
+            for (Integer node : graph.getNodes()) {
+                distancesFromStart.put(node, null);
+            }
+
+            PriorityQueue<Integer> queue = new PriorityQueue<>(this::comparePriority);
+            queue.add(fromId);
+            Set<Integer> visited = new HashSet<>();
+            Map<Integer, Integer> predecessors = new HashMap<>();
+
+            while (!queue.isEmpty()) {
+                Integer current = queue.poll();
+                visited.add(current);
+                Double currentDistance = distancesFromStart.get(current);
+
+                for (Integer descendant : graph.getDescendants(current)) {
+                    double[] edge = graph.getEdge(current, descendant);
+
+                    if (edge[1] == 0 || visited.contains(descendant)) {
+                        continue;
+                    }
+
+                    double totalDistance = currentDistance == null ? edge[0] : currentDistance + edge[0];
+
+                    if (descendant == toId) {
+                        predecessors.put(descendant, current);
+                        return totalDistance;
+                    }
+
+                    Double distance = distancesFromStart.get(descendant);
+
+                    if (distance == null || totalDistance < distance) {
+                        distancesFromStart.put(descendant, totalDistance);
+                        queue.remove(descendant);
+                        queue.add(descendant);
+                        predecessors.put(descendant, current);
+                    }
+                }
+            }
+
+            return Double.POSITIVE_INFINITY;
+        }
+
+        private int comparePriority(Integer node1, Integer node2) {
+            if (node1 == fromId) {
+                return -1;
+            } else if (node2 == fromId) {
+                return 1;
+            }
+
+            return Comparator.nullsLast(Double::compare).compare(distancesFromStart.get(node1), distancesFromStart.get(node2));
+        }
+
+    }
+
+}
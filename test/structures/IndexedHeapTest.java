@@ -0,0 +1,128 @@
+package structures;
+
+import org.junit.*;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+public class IndexedHeapTest {
+
+    private DoubleIndexedHeap heap;
+
+    @Before
+    public void createHeap() {
+        heap = new DoubleIndexedHeap();
+    }
+
+    @Test
+    public void pollInKeyOrder() {
+        Random random = new Random(1);
+        double[] keys = new double[1000];
+
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = random.nextDouble();
+            heap.add(i, keys[i]);
+        }
+
+        Arrays.sort(keys);
+
+        for (double key : keys) {
+            assertEquals(key, heap.getKey(heap.poll()), 0); // Items should be removed from lowest key.
+        }
+
+        assertTrue(heap.isEmpty());
+    }
+
+    @Test
+    public void decreaseKey() {
+        heap.add(0, 10);
+        heap.add(1, 20);
+        heap.add(2, 30);
+        heap.decreaseKey(2, 5);
+
+        assertEquals(3, heap.size());
+        assertEquals(2, heap.poll()); // Item with decreased key should be first.
+        assertEquals(0, heap.poll());
+        assertEquals(1, heap.poll());
+    }
+
+    @Test
+    public void containsOnlyItemsInHeap() {
+        heap.add(5, 1);
+        heap.add(100, 2); // Heap should grow when item is out of capacity.
+
+        assertTrue(heap.contains(5));
+        assertTrue(heap.contains(100));
+        assertFalse(heap.contains(6));
+
+        heap.poll();
+        assertFalse(heap.contains(5)); // Polled item should not be in heap.
+        assertEquals(1, heap.getKey(5), 0); // But its key should be kept.
+    }
+
+    @Test
+    public void clearAndReuse() {
+        heap.add(0, 1);
+        heap.add(1, 2);
+        heap.clear();
+
+        assertTrue(heap.isEmpty());
+        assertFalse(heap.contains(0));
+
+        heap.add(1, 3);
+        assertEquals(1, heap.poll());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void addItemTwice() {
+        heap.add(0, 1);
+        heap.add(0, 2);
+    }
+
+    @Test
+    public void decreaseKeyOfItemOutOfHeap() {
+        heap.add(0, 1);
+        heap.poll();
+
+        try {
+            heap.decreaseKey(0, 0);
+            fail();
+        } catch (NoSuchElementException exception) {
+            assertEquals(1, heap.getKey(0), 0); // Key of polled item should not be changed.
+        }
+    }
+
+    @Test
+    public void increaseKey() {
+        heap.add(0, 1);
+        heap.add(1, 2);
+
+        try {
+            heap.decreaseKey(0, 3);
+            fail();
+        } catch (IllegalArgumentException exception) {
+            assertEquals(1, heap.getKey(0), 0); // Key should not be changed.
+            assertEquals(0, heap.poll());
+        }
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void pollEmptyHeap() {
+        heap.poll();
+    }
+
+    @Test
+    public void comparatorHeap() {
+        ComparatorIndexedHeap<String> stringHeap = new ComparatorIndexedHeap<>(String::compareTo);
+        stringHeap.add(0, "c");
+        stringHeap.add(1, "b");
+        stringHeap.add(2, "d");
+        stringHeap.decreaseKey(2, "a");
+
+        assertEquals(2, stringHeap.poll());
+        assertEquals(1, stringHeap.poll());
+        assertEquals(0, stringHeap.poll());
+    }
+
+}
@@ -0,0 +1,300 @@
+package structures;
+
+import org.junit.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+public class RoutingMatrixCalculatorTest {
+
+    private static final int NODES_COUNT = 80;
+    private static final double EPSILON = 1e-9;
+
+    private IGraph<Integer, Integer, TestEdge> graph;
+
+    /**
+     * Random sparse graph with some disabled edges and a few isolated nodes.
+     */
+    @Before
+    public void createGraph() {
+        Random random = new Random(7);
+        graph = new Graph<>();
+
+        for (int i = 0; i < NODES_COUNT; i++) {
+            graph.addNode(i, i);
+        }
+
+        for (int i = 0; i < NODES_COUNT - 5; i++) {
+            for (int k = 0; k < 2; k++) {
+                int j = random.nextInt(NODES_COUNT - 5);
+
+                if (i != j && graph.getEdge(i, j) == null) {
+                    graph.addEdge(i, j, new TestEdge(1 + random.nextInt(20), random.nextDouble() > 0.15));
+                }
+            }
+        }
+    }
+
+    /**
+     * @return Distances between all nodes calculated by Floyd-Warshall algorithm.
+     */
+    private double[][] getExpectedDistances(boolean isEnabledRequired) {
+        double[][] distances = new double[NODES_COUNT][NODES_COUNT];
+
+        for (int i = 0; i < NODES_COUNT; i++) {
+            for (int j = 0; j < NODES_COUNT; j++) {
+                TestEdge edge = i == j ? null : graph.getEdge(i, j);
+                distances[i][j] = i == j ? 0 : edge != null && (edge.isEnabled || !isEnabledRequired) ? edge.size : Double.POSITIVE_INFINITY;
+            }
+        }
+
+        for (int k = 0; k < NODES_COUNT; k++) {
+            for (int i = 0; i < NODES_COUNT; i++) {
+                for (int j = 0; j < NODES_COUNT; j++) {
+                    distances[i][j] = Math.min(distances[i][j], distances[i][k] + distances[k][j]);
+                }
+            }
+        }
+
+        return distances;
+    }
+
+    /**
+     * Follow next nodes from matrix for each pair of nodes and compare size of such path and distance from matrix
+     * with expected distance.
+     */
+    private void assertRoutingMatrix(IRoutingMatrix<Integer> matrix, boolean isEnabledRequired) {
+        double[][] expected = getExpectedDistances(isEnabledRequired);
+        Integer[] nodes = matrix.getNodes();
+        assertEquals(NODES_COUNT, nodes.length);
+
+        for (int i = 0; i < NODES_COUNT; i++) {
+            for (int j = 0; j < NODES_COUNT; j++) {
+                Integer next = matrix.getNext(i, j);
+                assertEquals(expected[nodes[i]][nodes[j]], matrix.getDistance(i, j), 1e-3);
+
+                if (i == j || Double.isInfinite(expected[nodes[i]][nodes[j]])) {
+                    assertNull(next);
+                    continue;
+                }
+
+                double size = 0;
+                int current = i;
+
+                for (int steps = 0; current != j; steps++) {
+                    assertTrue(steps < NODES_COUNT);
+                    int nextIndex = Arrays.asList(nodes).indexOf(matrix.getNext(current, j));
+                    TestEdge edge = graph.getEdge(nodes[current], nodes[nextIndex]);
+                    assertTrue(edge.isEnabled || !isEnabledRequired);
+                    size += edge.size;
+                    current = nextIndex;
+                }
+
+                assertEquals(expected[nodes[i]][nodes[j]], size, EPSILON);
+            }
+        }
+    }
+
+    @Test
+    public void shortestPathTree() {
+        IRoutingMatrixCalculator<Integer, Integer, TestEdge> calculator = new ShortestPathTreeRoutingMatrixCalculator<>(node -> node, edge -> edge.size, edge -> true);
+        assertRoutingMatrix(calculator.getRoutingMatrix(graph), false);
+    }
+
+    @Test
+    public void shortestPathTreeOnlyEnabled() {
+        ICompactGraph<Integer, Integer, TestEdge> compactGraph = new CompactGraph<>(graph, node -> node, edge -> edge.size, edge -> edge.isEnabled);
+        IRoutingMatrixCalculator<Integer, Integer, TestEdge> calculator = new ShortestPathTreeRoutingMatrixCalculator<>(node -> node, edge -> edge.size, edge -> edge.isEnabled);
+        assertRoutingMatrix(calculator.getRoutingMatrix(compactGraph), true);
+    }
+
+    @Test
+    public void shortestPaths() {
+        IShortestPathAlgorithm<Integer, Integer, TestEdge, Double> dijkstra = new Dijkstra<>(node -> node, edge -> edge.size, (x, y) -> x + y, Double::compare);
+        IRoutingMatrixCalculator<Integer, Integer, TestEdge> calculator = new RoutingMatrixCalculator<>(dijkstra, node -> node, edge -> edge.size);
+        assertRoutingMatrix(calculator.getRoutingMatrix(graph), false);
+    }
+
+    @Test
+    public void floydWarshall() {
+        IRoutingMatrixCalculator<Integer, Integer, TestEdge> calculator = new FloydWarshallRoutingMatrixCalculator<>(node -> node, edge -> edge.size, edge -> true);
+        assertRoutingMatrix(calculator.getRoutingMatrix(graph), false);
+    }
+
+    @Test
+    public void floydWarshallOnlyEnabled() {
+        ICompactGraph<Integer, Integer, TestEdge> compactGraph = new CompactGraph<>(graph, node -> node, edge -> edge.size, edge -> edge.isEnabled);
+        IRoutingMatrixCalculator<Integer, Integer, TestEdge> calculator = new FloydWarshallRoutingMatrixCalculator<>(node -> node, edge -> edge.size, edge -> edge.isEnabled);
+        assertRoutingMatrix(calculator.getRoutingMatrix(compactGraph), true);
+    }
+
+    @Test
+    public void adaptiveChoice() {
+        AdaptiveRoutingMatrixCalculator<Integer, Integer, TestEdge> calculator = new AdaptiveRoutingMatrixCalculator<>(node -> node, edge -> edge.size, edge -> true);
+        ICompactGraph<Integer, Integer, TestEdge> compactGraph = new CompactGraph<>(graph, node -> node, edge -> edge.size);
+        assertTrue(calculator.getCalculator(compactGraph) instanceof ShortestPathTreeRoutingMatrixCalculator); // About 4 arcs per node of 80 nodes.
+        assertRoutingMatrix(calculator.getRoutingMatrix(graph), false);
+
+        for (int i = 0; i < NODES_COUNT; i++) {
+            for (int j = i + 1; j < NODES_COUNT; j++) {
+                if (graph.getEdge(i, j) == null) {
+                    graph.addEdge(i, j, new TestEdge(30, true));
+                }
+            }
+        }
+
+        compactGraph = new CompactGraph<>(graph, node -> node, edge -> edge.size);
+        assertTrue(calculator.getCalculator(compactGraph) instanceof FloydWarshallRoutingMatrixCalculator);
+        assertRoutingMatrix(calculator.getRoutingMatrix(graph), false);
+    }
+
+    @Test
+    public void dynamicRoutingMatrix() {
+        Random random = new Random(11);
+        ICompactGraph<Integer, Integer, TestEdge> compactGraph = new CompactGraph<>(graph, node -> node, edge -> edge.size, edge -> edge.isEnabled);
+        ShortestPathTreeRoutingMatrixCalculator<Integer, Integer, TestEdge> calculator = new ShortestPathTreeRoutingMatrixCalculator<>(node -> node, edge -> edge.size, edge -> edge.isEnabled);
+        IDynamicRoutingMatrix<Integer, Integer, TestEdge> matrix = new DynamicRoutingMatrix<>(compactGraph, calculator.getRoutingMatrix(compactGraph), true);
+
+        for (int k = 0; k < 60; k++) { // Toggle, remove, add or resize random edge.
+            int from = random.nextInt(NODES_COUNT - 5);
+            int to = random.nextInt(NODES_COUNT - 5);
+            TestEdge changed = graph.getEdge(from, to);
+
+            if (from == to) {
+                continue;
+            }
+
+            double oldSize = changed == null || !changed.isEnabled ? Double.POSITIVE_INFINITY : changed.size;
+
+            if (changed == null) {
+                graph.addEdge(from, to, new TestEdge(1 + random.nextInt(20), true));
+            } else if (k % 3 == 0) {
+                graph.removeEdge(from, to);
+            } else if (k % 3 == 1) {
+                changed.isEnabled = !changed.isEnabled;
+            } else {
+                changed.size = 1 + random.nextInt(20);
+            }
+
+            compactGraph = new CompactGraph<>(graph, node -> node, edge -> edge.size, edge -> edge.isEnabled);
+            matrix.updateEdge(compactGraph, from, to, oldSize);
+            assertRoutingMatrix(matrix, true);
+        }
+    }
+
+    @Test
+    public void dynamicRoutingMatrixConnectingComponents() {
+        ICompactGraph<Integer, Integer, TestEdge> compactGraph = new CompactGraph<>(graph, node -> node, edge -> edge.size, edge -> edge.isEnabled);
+        ShortestPathTreeRoutingMatrixCalculator<Integer, Integer, TestEdge> calculator = new ShortestPathTreeRoutingMatrixCalculator<>(node -> node, edge -> edge.size, edge -> edge.isEnabled);
+        IDynamicRoutingMatrix<Integer, Integer, TestEdge> matrix = new DynamicRoutingMatrix<>(compactGraph, calculator.getRoutingMatrix(compactGraph), true);
+        int isolated = NODES_COUNT - 5; // Last 5 nodes are isolated.
+
+        graph.addEdge(isolated, isolated + 1, new TestEdge(3, false));
+        updateEdge(matrix, isolated, isolated + 1, Double.POSITIVE_INFINITY);
+        graph.getEdge(isolated, isolated + 1).isEnabled = true; // Two isolated nodes are connected.
+        updateEdge(matrix, isolated, isolated + 1, Double.POSITIVE_INFINITY);
+        graph.addEdge(isolated + 1, 0, new TestEdge(5, true)); // Component of two nodes is connected with large component.
+        updateEdge(matrix, isolated + 1, 0, Double.POSITIVE_INFINITY);
+        graph.addEdge(isolated + 2, 7, new TestEdge(2, true));
+        updateEdge(matrix, isolated + 2, 7, Double.POSITIVE_INFINITY);
+        graph.getEdge(isolated + 1, 0).isEnabled = false; // Components are split again.
+        updateEdge(matrix, isolated + 1, 0, 5);
+    }
+
+    /**
+     * Update matrix after change of edge in graph and check whole matrix.
+     */
+    private void updateEdge(IDynamicRoutingMatrix<Integer, Integer, TestEdge> matrix, int from, int to, double oldSize) {
+        matrix.updateEdge(new CompactGraph<>(graph, node -> node, edge -> edge.size, edge -> edge.isEnabled), from, to, oldSize);
+        assertRoutingMatrix(matrix, true);
+    }
+
+    @Test
+    public void primitiveMatrices() {
+        IIndexMatrix chars = IndexMatrix.create(300);
+        IIndexMatrix buffer = new IndexMatrix.BufferIndexMatrix(300, Integer.BYTES);
+        IDistanceMatrix distances = new DistanceMatrix.BufferDistanceMatrix(300);
+        distances.set(299, 1, Double.POSITIVE_INFINITY);
+        distances.set(3, 4, 2.5);
+        assertEquals(Double.POSITIVE_INFINITY, distances.get(299, 1), 0);
+        assertEquals(2.5, distances.get(3, 4), 0);
+        assertEquals(0, distances.get(4, 3), 0);
+        assertEquals(300 * 300 * 2, chars.getBytesCount());
+
+        for (IIndexMatrix matrix : Arrays.asList(chars, buffer)) {
+            assertEquals(-1, matrix.get(5, 7));
+            matrix.set(5, 7, 299);
+            matrix.set(299, 0, 0);
+            assertEquals(299, matrix.get(5, 7));
+            assertEquals(0, matrix.get(299, 0));
+            assertEquals(-1, matrix.get(7, 5));
+        }
+    }
+
+    @Test
+    public void lazyRoutingMatrix() {
+        ICompactGraph<Integer, Integer, TestEdge> compactGraph = new CompactGraph<>(graph, node -> node, edge -> edge.size, edge -> edge.isEnabled);
+        ILazyRoutingMatrix<Integer> matrix = new LazyRoutingMatrix<>(compactGraph, true, 5);
+        assertRoutingMatrix(matrix, true);
+        assertEquals(5, matrix.getCachedRowsCount());
+        matrix.clear();
+        long misses = matrix.getMissesCount();
+        long hits = matrix.getHitsCount();
+
+        for (int i = 0; i < 6; i++) { // First row is removed when sixth row is calculated.
+            matrix.getNext(i, 0);
+            matrix.getDistance(i, 1);
+        }
+
+        matrix.getNext(5, 1);
+        matrix.getNext(0, 1);
+        assertEquals(5, matrix.getCachedRowsCount());
+        assertEquals(misses + 7, matrix.getMissesCount());
+        assertEquals(hits + 7, matrix.getHitsCount());
+    }
+
+    @Test
+    public void routingMatrixFile() throws IOException {
+        File file = File.createTempFile("routing", ".matrix");
+        file.deleteOnExit();
+        ICompactGraph<Integer, Integer, TestEdge> compactGraph = new CompactGraph<>(graph, node -> node, edge -> edge.size, edge -> edge.isEnabled);
+        IRoutingMatrixFile<Integer, Integer, TestEdge> matrixFile = new RoutingMatrixFile<>(file.getAbsolutePath(), new ShortestPathTreeRoutingMatrixCalculator<>(node -> node, edge -> edge.size, edge -> edge.isEnabled));
+        matrixFile.write(compactGraph);
+        assertRoutingMatrix(matrixFile.read(compactGraph), true);
+
+        graph.getEdges().iterator().next().size++; // Matrix of changed graph is not loaded.
+
+        try {
+            matrixFile.read(new CompactGraph<>(graph, node -> node, edge -> edge.size, edge -> edge.isEnabled));
+            fail();
+        } catch (IllegalArgumentException exception) {
+        }
+    }
+
+    @Test
+    public void disabledEdgesOfNotCompactGraph() {
+        assertTrue(graph.getEdges().stream().anyMatch(edge -> !edge.isEnabled));
+        assertRoutingMatrix(new AdaptiveRoutingMatrixCalculator<Integer, Integer, TestEdge>(node -> node, edge -> edge.size, edge -> edge.isEnabled).getRoutingMatrix(graph), true);
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void emptyGraph() {
+        new ShortestPathTreeRoutingMatrixCalculator<Integer, Integer, TestEdge>(node -> node, edge -> edge.size, edge -> true).getRoutingMatrix(new Graph<>());
+    }
+
+    private static class TestEdge {
+
+        public double size;
+        public boolean isEnabled;
+
+        public TestEdge(double size, boolean isEnabled) {
+            this.size = size;
+            this.isEnabled = isEnabled;
+        }
+
+    }
+
+}
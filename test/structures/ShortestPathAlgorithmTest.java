@@ -0,0 +1,655 @@
+package structures;
+
+import javafx.util.Pair;
+import org.junit.*;
+
+import java.awt.geom.Point2D;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+
+public class ShortestPathAlgorithmTest {
+
+    private static final int GRID_SIZE = 12;
+    private static final double EPSILON = 1e-9;
+
+    private IGraph<String, TestNode, TestEdge> graph;
+    private List<TestNode> nodes;
+
+    /**
+     * Grid of nodes with random positions, where each node is connected with its right and bottom neighbour
+     * and with some diagonal neighbours. Some edges are disabled.
+     */
+    @Before
+    public void createGraph() {
+        Random random = new Random(42);
+        graph = new Graph<>();
+        nodes = new ArrayList<>();
+
+        for (int i = 0; i < GRID_SIZE; i++) {
+            for (int j = 0; j < GRID_SIZE; j++) {
+                TestNode node = new TestNode(i + "-" + j, new Point2D.Double(i * 10 + random.nextInt(5), j * 10 + random.nextInt(5)));
+                graph.addNode(node.id, node);
+                nodes.add(node);
+            }
+        }
+
+        for (int i = 0; i < GRID_SIZE; i++) {
+            for (int j = 0; j < GRID_SIZE; j++) {
+                TestNode node = graph.getNode(i + "-" + j);
+
+                if (i + 1 < GRID_SIZE) {
+                    addEdge(node, graph.getNode((i + 1) + "-" + j), random.nextDouble() > 0.2);
+                }
+
+                if (j + 1 < GRID_SIZE) {
+                    addEdge(node, graph.getNode(i + "-" + (j + 1)), random.nextDouble() > 0.2);
+                }
+
+                if (i + 1 < GRID_SIZE && j + 1 < GRID_SIZE && random.nextBoolean()) {
+                    addEdge(node, graph.getNode((i + 1) + "-" + (j + 1)), true);
+                }
+            }
+        }
+    }
+
+    private void addEdge(TestNode from, TestNode to, boolean isEnabled) {
+        graph.addEdge(from.id, to.id, new TestEdge(from.position.distance(to.position), isEnabled));
+    }
+
+    /**
+     * @return Distances between all nodes (only enabled edges) calculated by Floyd-Warshall algorithm.
+     */
+    private double[][] getExpectedDistances() {
+        int count = nodes.size();
+        double[][] distances = new double[count][count];
+
+        for (int i = 0; i < count; i++) {
+            Arrays.fill(distances[i], Double.POSITIVE_INFINITY);
+            distances[i][i] = 0;
+
+            for (int j = 0; j < count; j++) {
+                TestEdge edge = i == j ? null : graph.getEdge(nodes.get(i).id, nodes.get(j).id);
+
+                if (edge != null && edge.isEnabled) {
+                    distances[i][j] = edge.size;
+                }
+            }
+        }
+
+        for (int k = 0; k < count; k++) {
+            for (int i = 0; i < count; i++) {
+                for (int j = 0; j < count; j++) {
+                    distances[i][j] = Math.min(distances[i][j], distances[i][k] + distances[k][j]);
+                }
+            }
+        }
+
+        return distances;
+    }
+
+    /**
+     * Compare result of algorithm for all pairs of nodes with expected distances. Path must be continuous
+     * and its size must be sum of sizes of its edges.
+     */
+    private void assertShortestPaths(IShortestPathAlgorithm<String, TestNode, TestEdge, Double> algorithm, IGraph<String, TestNode, TestEdge> graph) {
+        double[][] expected = getExpectedDistances();
+
+        for (int i = 0; i < nodes.size(); i++) {
+            for (int j = 0; j < nodes.size(); j++) {
+                if (i == j) {
+                    continue;
+                }
+
+                try {
+                    IGraphPath<TestNode, TestEdge, Double> path = algorithm.findShortestPath(graph, nodes.get(i).id, nodes.get(j).id);
+                    assertEquals(expected[i][j], path.getSize(), EPSILON);
+                    assertEquals(nodes.get(i), path.getNodes().get(0));
+                    assertEquals(nodes.get(j), path.getNodes().get(path.getNodes().size() - 1));
+                    assertEquals(path.getNodes().size(), path.getEdges().size() + 1);
+                    double size = 0;
+
+                    for (int k = 0; k < path.getEdges().size(); k++) {
+                        TestEdge edge = path.getEdges().get(k);
+                        assertTrue(edge.isEnabled); // Only enabled edges should be used.
+                        assertSame(edge, graph.getEdge(path.getNodes().get(k).id, path.getNodes().get(k + 1).id)); // Edge should connect neighbour nodes on path.
+                        size += edge.size;
+                    }
+
+                    assertEquals(path.getSize(), size, EPSILON);
+                } catch (NoSuchElementException exception) {
+                    assertTrue(Double.isInfinite(expected[i][j])); // Path should not be found only if nodes are not connected.
+                }
+            }
+        }
+    }
+
+    /**
+     * Compare sizes of shortest paths with expected distances (without building paths).
+     */
+    private void assertShortestDistances(IDoubleShortestPathAlgorithm<String, TestNode, TestEdge> algorithm, IGraph<String, TestNode, TestEdge> graph) {
+        double[][] expected = getExpectedDistances();
+
+        for (int i = 0; i < nodes.size(); i++) {
+            for (int j = 0; j < nodes.size(); j++) {
+                assertEquals(expected[i][j], algorithm.findShortestDistance(graph, nodes.get(i).id, nodes.get(j).id), EPSILON);
+            }
+        }
+
+        assertTrue(algorithm.getSettledNodesCount() > 0);
+    }
+
+    @Test
+    public void dijkstra() {
+        assertShortestPaths(new Dijkstra<>(node -> node.id, edge -> edge.size, (x, y) -> x + y, Double::compare, edge -> edge.isEnabled), graph);
+    }
+
+    @Test
+    public void aStar() {
+        assertShortestPaths(new AStar<>(node -> node.id, edge -> edge.size, (x, y) -> x + y, Double::compare, edge -> edge.isEnabled, (node, target) -> node.position.distance(target.position)), graph);
+    }
+
+    @Test
+    public void bidirectionalDijkstra() {
+        assertShortestPaths(new BidirectionalDijkstra<>(node -> node.id, edge -> edge.size, (x, y) -> x + y, Double::compare, edge -> edge.isEnabled), graph);
+    }
+
+    @Test
+    public void dijkstraOnCompactGraph() {
+        ICompactGraph<String, TestNode, TestEdge> compactGraph = new CompactGraph<>(graph, node -> node.id, edge -> edge.size, edge -> edge.isEnabled);
+        assertEquals(graph.getEdges().size() * 2, compactGraph.getArcsCount());
+        assertShortestPaths(new Dijkstra<>(node -> node.id, edge -> edge.size, (x, y) -> x + y, Double::compare, edge -> edge.isEnabled), compactGraph);
+    }
+
+    @Test
+    public void doubleDijkstra() {
+        ICompactGraph<String, TestNode, TestEdge> compactGraph = new CompactGraph<>(graph, node -> node.id, edge -> edge.size, edge -> edge.isEnabled);
+        IDoubleShortestPathAlgorithm<String, TestNode, TestEdge> algorithm = new DoubleDijkstra<>(node -> node.id, edge -> edge.size, edge -> edge.isEnabled);
+        assertShortestPaths(algorithm, compactGraph);
+        assertShortestDistances(algorithm, compactGraph);
+    }
+
+    @Test
+    public void doubleAStar() {
+        ICompactGraph<String, TestNode, TestEdge> compactGraph = new CompactGraph<>(graph, node -> node.id, edge -> edge.size, edge -> edge.isEnabled);
+        IDoubleShortestPathAlgorithm<String, TestNode, TestEdge> algorithm = new DoubleAStar<>(node -> node.id, edge -> edge.size, edge -> edge.isEnabled, (node, target) -> node.position.distance(target.position));
+        assertShortestPaths(algorithm, compactGraph);
+        assertShortestDistances(algorithm, compactGraph);
+    }
+
+    @Test
+    public void customizableContractionHierarchy() {
+        ICompactGraph<String, TestNode, TestEdge> compactGraph = new CompactGraph<>(graph, node -> node.id, edge -> edge.size, edge -> edge.isEnabled);
+        ICustomizableContractionHierarchy<String, TestNode, TestEdge> hierarchy = new CustomizableContractionHierarchy<>(compactGraph);
+        IContractionHierarchy<String, TestNode, TestEdge> customized = hierarchy.customize(compactGraph);
+        assertTrue(customized.isValidFor(compactGraph));
+        assertShortestPaths(customized, graph);
+
+        for (TestEdge edge : graph.getEdges()) { // Toggle states of edges and change sizes, structure stays same.
+            edge.isEnabled = !edge.isEnabled;
+            edge.size *= 2;
+        }
+
+        compactGraph = new CompactGraph<>(graph, node -> node.id, edge -> edge.size, edge -> edge.isEnabled);
+        assertTrue(hierarchy.isValidFor(compactGraph));
+        assertShortestPaths(hierarchy.customize(compactGraph), graph);
+    }
+
+    @Test
+    public void landmarks() {
+        ICompactGraph<String, TestNode, TestEdge> compactGraph = new CompactGraph<>(graph, node -> node.id, edge -> edge.size, edge -> edge.isEnabled);
+        ILandmarks<String, TestNode, TestEdge> landmarks = new Landmarks<>(compactGraph, 4, true);
+        assertEquals(4, landmarks.getLandmarks().length);
+        assertShortestPaths(landmarks, graph);
+        assertShortestDistances(landmarks, graph);
+    }
+
+    @Test
+    public void batchShortestPaths() {
+        ICompactGraph<String, TestNode, TestEdge> compactGraph = new CompactGraph<>(graph, node -> node.id, edge -> edge.size, edge -> edge.isEnabled);
+        IConnectedComponents<String> components = new ConnectedComponents<>(compactGraph, true);
+        double[][] expected = getExpectedDistances();
+        Random random = new Random(5);
+        List<Pair<String, String>> queries = new ArrayList<>();
+        List<int[]> pairs = new ArrayList<>();
+
+        for (int k = 0; k < 500; k++) { // Random pairs, so some start nodes have more queries.
+            int i = random.nextInt(nodes.size() / 4);
+            int j = random.nextInt(nodes.size());
+            queries.add(new Pair<>(nodes.get(i).id, nodes.get(j).id));
+            pairs.add(new int[] {i, j});
+        }
+
+        queries.add(new Pair<>("0-0", "missing"));
+
+        List<IBatchShortestPaths<String, TestNode, TestEdge>> batches = Arrays.asList(new BatchShortestPaths<>(true), new BatchShortestPaths<>(true, components, ForkJoinPool.commonPool()));
+
+        for (IBatchShortestPaths<String, TestNode, TestEdge> batch : batches) {
+            List<IShortestPathResult<TestNode, TestEdge>> results = batch.findShortestPaths(compactGraph, queries);
+            assertEquals(queries.size(), results.size());
+            assertFalse(results.get(queries.size() - 1).isFound());
+
+            for (int k = 0; k < pairs.size(); k++) {
+                IShortestPathResult<TestNode, TestEdge> result = results.get(k);
+                int[] pair = pairs.get(k);
+                assertEquals(pair[0] != pair[1] && !Double.isInfinite(expected[pair[0]][pair[1]]), result.isFound());
+                assertEquals(result.isFound(), result.getError() == null);
+
+                if (result.isFound()) {
+                    assertEquals(expected[pair[0]][pair[1]], result.getPath().getSize(), EPSILON);
+                    assertEquals(nodes.get(pair[1]), result.getPath().getNodes().get(result.getPath().getNodes().size() - 1));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void distanceTable() {
+        ICompactGraph<String, TestNode, TestEdge> compactGraph = new CompactGraph<>(graph, node -> node.id, edge -> edge.size, edge -> edge.isEnabled);
+        double[][] expected = getExpectedDistances();
+        Random random = new Random(7);
+        List<Integer> sources = new ArrayList<>();
+        List<Integer> targets = new ArrayList<>();
+
+        for (int k = 0; k < 30; k++) { // Random nodes (also same node as source and target and duplicate nodes).
+            sources.add(random.nextInt(nodes.size()));
+            targets.add(k < 10 ? sources.get(k) : random.nextInt(nodes.size()));
+        }
+
+        targets = targets.subList(0, 20); // Less targets than sources.
+        List<String> sourceIds = sources.stream().map(i -> nodes.get(i).id).collect(Collectors.toList());
+        List<String> targetIds = targets.stream().map(i -> nodes.get(i).id).collect(Collectors.toList());
+        List<IDistanceTableCalculator<String, TestNode, TestEdge>> calculators = Arrays.asList(new DistanceTableCalculator<>(true), new CustomizableContractionHierarchy<>(compactGraph).customize(compactGraph));
+
+        for (IDistanceTableCalculator<String, TestNode, TestEdge> calculator : calculators) {
+            for (boolean isNextRequired : new boolean[] {false, true}) {
+                IDistanceTable<TestNode> table = calculator.getDistanceTable(compactGraph, sourceIds, targetIds, isNextRequired);
+                assertEquals(isNextRequired, table.hasNext());
+                assertDistanceTable(table, sources, targets, expected);
+            }
+        }
+    }
+
+    @Test
+    public void distanceTableOfReorderedGraph() {
+        ICompactGraph<String, TestNode, TestEdge> compactGraph = new CompactGraph<>(graph, node -> node.id, edge -> edge.size, edge -> edge.isEnabled);
+        IGraph<String, TestNode, TestEdge> reversedGraph = new ReversedGraph();
+
+        for (TestNode node : graph.getNodes()) {
+            reversedGraph.addNode(node.id, node);
+        }
+
+        for (int i = 0; i < compactGraph.getNodesCount(); i++) {
+            for (int arc = compactGraph.getArcsStart(i); arc < compactGraph.getArcsEnd(i); arc++) {
+                if (i < compactGraph.getArcTarget(arc)) {
+                    reversedGraph.addEdge(compactGraph.getNodeIdAt(i), compactGraph.getNodeIdAt(compactGraph.getArcTarget(arc)), compactGraph.getArcEdge(arc));
+                }
+            }
+        }
+
+        // Hierarchy is built for original order of nodes, but it is used with graph with reversed order.
+        ICompactGraph<String, TestNode, TestEdge> reversedCompactGraph = new CompactGraph<>(reversedGraph, node -> node.id, edge -> edge.size, edge -> edge.isEnabled);
+        assertEquals(compactGraph.getNodeIdAt(0), reversedCompactGraph.getNodeIdAt(reversedCompactGraph.getNodesCount() - 1));
+        ICustomizableContractionHierarchy<String, TestNode, TestEdge> customizable = new CustomizableContractionHierarchy<>(compactGraph);
+        assertTrue(customizable.isValidFor(reversedCompactGraph));
+        IContractionHierarchy<String, TestNode, TestEdge> hierarchy = customizable.customize(reversedCompactGraph);
+        List<Integer> sources = Arrays.asList(0, 5, 17, 60, 100, nodes.size() - 1);
+        List<Integer> targets = Arrays.asList(3, 17, 40, 77, 120);
+        List<String> sourceIds = sources.stream().map(i -> nodes.get(i).id).collect(Collectors.toList());
+        List<String> targetIds = targets.stream().map(i -> nodes.get(i).id).collect(Collectors.toList());
+
+        assertTrue(hierarchy.isValidFor(reversedCompactGraph));
+        assertDistanceTable(hierarchy.getDistanceTable(reversedCompactGraph, sourceIds, targetIds, true), sources, targets, getExpectedDistances());
+    }
+
+    /**
+     * Compare distances of table with expected distances. Next node (if table has next nodes) must be neighbour on some shortest path.
+     * @param sources Indices of source nodes in list of nodes.
+     * @param targets Indices of target nodes in list of nodes.
+     */
+    private void assertDistanceTable(IDistanceTable<TestNode> table, List<Integer> sources, List<Integer> targets, double[][] expected) {
+        assertEquals(nodes.get(sources.get(0)), table.getSources().get(0));
+        assertEquals(nodes.get(targets.get(0)), table.getTargets().get(0));
+
+        for (int i = 0; i < sources.size(); i++) {
+            for (int j = 0; j < targets.size(); j++) {
+                double distance = expected[sources.get(i)][targets.get(j)];
+                assertEquals(distance, table.getDistance(i, j), EPSILON);
+
+                if (table.hasNext()) {
+                    TestNode next = table.getNext(i, j);
+                    assertEquals(distance == 0 || Double.isInfinite(distance), next == null);
+
+                    if (next != null) {
+                        TestEdge edge = graph.getEdge(nodes.get(sources.get(i)).id, next.id);
+                        assertTrue(edge.isEnabled);
+                        assertEquals(distance, edge.size + expected[nodes.indexOf(next)][targets.get(j)], EPSILON);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void kShortestPaths() {
+        ICompactGraph<String, TestNode, TestEdge> compactGraph = new CompactGraph<>(graph, node -> node.id, edge -> edge.size, edge -> edge.isEnabled);
+        IKShortestPaths<String, TestNode, TestEdge> kShortestPaths = new KShortestPaths<>(true);
+        double[][] expected = getExpectedDistances();
+        int[][] pairs = {{0, nodes.size() - 1}, {5, 40}, {17, 18}, {60, 100}};
+
+        for (int[] pair : pairs) {
+            List<IGraphPath<TestNode, TestEdge, Double>> paths = kShortestPaths.findShortestPaths(compactGraph, nodes.get(pair[0]).id, nodes.get(pair[1]).id, 10);
+            assertEquals(10, paths.size());
+            assertEquals(expected[pair[0]][pair[1]], paths.get(0).getSize(), EPSILON);
+            Set<List<TestNode>> distinct = new HashSet<>();
+
+            for (IGraphPath<TestNode, TestEdge, Double> path : paths) {
+                assertTrue(distinct.add(path.getNodes()));
+                assertEquals(path.getNodes().size(), new HashSet<>(path.getNodes()).size()); // Path should not contain loop.
+                double size = 0;
+
+                for (int k = 0; k < path.getEdges().size(); k++) {
+                    TestEdge edge = path.getEdges().get(k);
+                    assertTrue(edge.isEnabled);
+                    assertSame(edge, graph.getEdge(path.getNodes().get(k).id, path.getNodes().get(k + 1).id));
+                    size += edge.size;
+                }
+
+                assertEquals(path.getSize(), size, EPSILON);
+            }
+
+            // All loopless paths not longer than last found path (found by DFS), sizes of k shortest of them must be same.
+            List<Double> sizes = new ArrayList<>();
+            double limit = paths.get(paths.size() - 1).getSize() + EPSILON;
+            findPathSizes(pair[0], pair[1], 0, limit, new HashSet<>(Collections.singleton(pair[0])), expected, sizes);
+            Collections.sort(sizes);
+
+            for (int k = 0; k < paths.size(); k++) {
+                assertEquals(sizes.get(k), paths.get(k).getSize(), EPSILON);
+            }
+        }
+
+        try {
+            kShortestPaths.findShortestPaths(compactGraph, "0-0", "0-0", 3);
+            fail();
+        } catch (NoSuchElementException exception) {
+            // Path to same node does not exist.
+        }
+    }
+
+    @Test
+    public void alternativeRoutes() {
+        ICompactGraph<String, TestNode, TestEdge> compactGraph = new CompactGraph<>(graph, node -> node.id, edge -> edge.size, edge -> edge.isEnabled);
+        IAlternativeRoutes<String, TestNode, TestEdge> alternativeRoutes = new AlternativeRoutes<>(true, 3, 0.3, 0.7, 0.1);
+        double[][] expected = getExpectedDistances();
+        int alternativesCount = 0;
+
+        for (int i = 0; i < nodes.size(); i += 7) {
+            for (int j = 0; j < nodes.size(); j += 11) {
+                if (i == j || Double.isInfinite(expected[i][j])) {
+                    continue;
+                }
+
+                List<IGraphPath<TestNode, TestEdge, Double>> paths = alternativeRoutes.findAlternativePaths(compactGraph, nodes.get(i).id, nodes.get(j).id);
+                assertTrue(paths.size() >= 1 && paths.size() <= 4);
+                assertEquals(expected[i][j], paths.get(0).getSize(), EPSILON);
+                alternativesCount += paths.size() - 1;
+
+                for (IGraphPath<TestNode, TestEdge, Double> path : paths) {
+                    assertEquals(nodes.get(i), path.getNodes().get(0));
+                    assertEquals(nodes.get(j), path.getNodes().get(path.getNodes().size() - 1));
+                    assertEquals(path.getNodes().size(), new HashSet<>(path.getNodes()).size());
+                    assertTrue(path.getSize() <= 1.3 * expected[i][j] + EPSILON);
+                    assertTrue(path.getEdges().stream().allMatch(edge -> edge.isEnabled));
+
+                    for (IGraphPath<TestNode, TestEdge, Double> other : paths) { // Paths should share only limited part.
+                        if (other != path) {
+                            double shared = path.getEdges().stream().filter(other.getEdges()::contains).mapToDouble(edge -> edge.size).sum();
+                            assertTrue(shared <= 0.7 * expected[i][j] + EPSILON);
+                        }
+                    }
+                }
+            }
+        }
+
+        assertTrue(alternativesCount > 0);
+    }
+
+    private void findPathSizes(int node, int to, double size, double limit, Set<Integer> visited, double[][] expected, List<Double> sizes) {
+        if (node == to) {
+            sizes.add(size);
+            return;
+        }
+
+        for (int next = 0; next < nodes.size(); next++) {
+            TestEdge edge = graph.getEdge(nodes.get(node).id, nodes.get(next).id);
+
+            if (edge != null && edge.isEnabled && !visited.contains(next) && size + edge.size + expected[next][to] <= limit) {
+                visited.add(next);
+                findPathSizes(next, to, size + edge.size, limit, visited, expected, sizes);
+                visited.remove(next);
+            }
+        }
+    }
+
+    @Test
+    public void serviceArea() {
+        ICompactGraph<String, TestNode, TestEdge> compactGraph = new CompactGraph<>(graph, node -> node.id, edge -> edge.size, edge -> edge.isEnabled);
+        double[][] expected = getExpectedDistances();
+        int source = 50;
+        IServiceArea<TestNode, TestEdge> serviceArea = new ServiceArea<>(compactGraph, compactGraph.getRequiredIndex(nodes.get(source).id), true);
+
+        for (double budget : new double[] {30, 80, 50, 0, 200}) { // Larger budget continues search, smaller budget reads settled nodes.
+            IIsochrone<TestNode, TestEdge> isochrone = serviceArea.getIsochrone(budget);
+            Set<TestNode> reachable = new HashSet<>();
+
+            for (int i = 0; i < nodes.size(); i++) {
+                if (expected[source][i] <= budget) {
+                    reachable.add(nodes.get(i));
+                }
+            }
+
+            assertEquals(nodes.get(source), isochrone.getNodes().get(0));
+            assertEquals(reachable, new HashSet<>(isochrone.getNodes()));
+            assertEquals(reachable.size(), isochrone.getNodes().size());
+            Set<TestEdge> edges = new HashSet<>(isochrone.getEdges());
+            assertEquals(edges.size(), isochrone.getEdges().size());
+
+            for (TestEdge edge : isochrone.getEdges()) {
+                assertTrue(edge.isEnabled);
+            }
+
+            for (IEdgeCut<TestNode, TestEdge> cut : isochrone.getCuts()) {
+                assertTrue(edges.add(cut.getEdge())); // Edge is either whole or cut.
+                assertTrue(cut.getFromRatio() + cut.getToRatio() < 1);
+                double fromPart = Math.max(0, budget - expected[source][nodes.indexOf(cut.getFrom())]);
+                double toPart = Math.max(0, budget - expected[source][nodes.indexOf(cut.getTo())]);
+                assertEquals(fromPart / cut.getEdge().size, cut.getFromRatio(), EPSILON);
+                assertEquals(toPart / cut.getEdge().size, cut.getToRatio(), EPSILON);
+            }
+
+            for (int i = 0; i < nodes.size(); i++) { // Each enabled edge with reachable part is in result.
+                for (int j = 0; j < nodes.size(); j++) {
+                    TestEdge edge = i == j ? null : graph.getEdge(nodes.get(i).id, nodes.get(j).id);
+
+                    if (edge != null && edge.isEnabled && expected[source][i] < budget) {
+                        assertTrue(edges.contains(edge));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void nearestFacilities() {
+        ICompactGraph<String, TestNode, TestEdge> compactGraph = new CompactGraph<>(graph, node -> node.id, edge -> edge.size, edge -> edge.isEnabled);
+        double[][] expected = getExpectedDistances();
+        List<Integer> facilities = Arrays.asList(3, 40, 77, 100, 131, 40);
+        INearestFacilities<String, TestNode, TestEdge> nearest = new NearestFacilities<>(compactGraph, facilities.stream().map(i -> nodes.get(i).id).collect(Collectors.toList()), true);
+        assertEquals(5, nearest.getFacilities().size());
+        int cellsSize = 0;
+
+        for (int facility : new HashSet<>(facilities)) {
+            cellsSize += nearest.getCell(nodes.get(facility).id).size();
+        }
+
+        for (int i = 0; i < nodes.size(); i++) {
+            double distance = Double.POSITIVE_INFINITY;
+
+            for (int facility : facilities) {
+                distance = Math.min(distance, expected[i][facility]);
+            }
+
+            String id = nodes.get(i).id;
+            assertEquals(distance, nearest.getDistance(id), EPSILON);
+
+            if (Double.isInfinite(distance)) {
+                assertNull(nearest.getNearest(id));
+                cellsSize++;
+                continue;
+            }
+
+            TestNode facility = nearest.getNearest(id);
+            assertEquals(distance, expected[i][nodes.indexOf(facility)], EPSILON);
+            assertTrue(nearest.getCell(facility.id).contains(nodes.get(i)));
+
+            if (distance > 0) {
+                IGraphPath<TestNode, TestEdge, Double> path = nearest.getPath(id);
+                assertEquals(nodes.get(i), path.getNodes().get(0));
+                assertEquals(facility, path.getNodes().get(path.getNodes().size() - 1));
+                assertEquals(distance, path.getEdges().stream().mapToDouble(edge -> edge.size).sum(), EPSILON);
+            }
+        }
+
+        assertEquals(nodes.size(), cellsSize); // Cells and unreachable nodes cover graph.
+    }
+
+    @Test
+    public void deltaSteppingTree() {
+        ICompactGraph<String, TestNode, TestEdge> compactGraph = new CompactGraph<>(graph, node -> node.id, edge -> edge.size, edge -> edge.isEnabled);
+        double[][] expected = getExpectedDistances();
+        ForkJoinPool pool = new ForkJoinPool(4);
+        double averageSize = DeltaSteppingTree.getAverageArcSize(compactGraph);
+
+        for (double delta : new double[] {averageSize / 4, averageSize, averageSize * 100}) {
+            for (int source = 0; source < nodes.size(); source += 13) {
+                IShortestPathTree<TestNode, TestEdge> tree = new DeltaSteppingTree<>(compactGraph, compactGraph.getIndex(nodes.get(source).id), true, delta, pool);
+                Set<Integer> settled = new HashSet<>();
+
+                for (int position = 0; position < tree.getSettledNodesCount(); position++) { // Predecessor is settled before node.
+                    int node = tree.getSettledNode(position);
+                    assertTrue(position == 0 || settled.contains(tree.getPredecessor(node)));
+                    settled.add(node);
+                }
+
+                for (int i = 0; i < nodes.size(); i++) {
+                    int index = compactGraph.getIndex(nodes.get(i).id);
+                    assertEquals(expected[source][i], tree.getDistance(index), EPSILON);
+                    assertEquals(!Double.isInfinite(expected[source][i]), settled.contains(index));
+
+                    if (i != source && !Double.isInfinite(expected[source][i])) {
+                        IGraphPath<TestNode, TestEdge, Double> path = tree.getPath(index);
+                        assertEquals(expected[source][i], path.getEdges().stream().mapToDouble(edge -> edge.size).sum(), EPSILON);
+                        assertEquals(nodes.get(i), path.getNodes().get(path.getNodes().size() - 1));
+                    }
+                }
+            }
+        }
+
+        pool.shutdown();
+    }
+
+    @Test
+    public void connectedComponents() {
+        ICompactGraph<String, TestNode, TestEdge> compactGraph = new CompactGraph<>(graph, node -> node.id, edge -> edge.size, edge -> edge.isEnabled);
+        IConnectedComponents<String> components = new ConnectedComponents<>(compactGraph, true);
+        double[][] expected = getExpectedDistances();
+        Set<Integer> labels = new HashSet<>();
+
+        for (int i = 0; i < nodes.size(); i++) {
+            labels.add(components.getComponent(nodes.get(i).id));
+
+            for (int j = 0; j < nodes.size(); j++) {
+                assertEquals(!Double.isInfinite(expected[i][j]), components.isConnected(nodes.get(i).id, nodes.get(j).id));
+            }
+        }
+
+        assertEquals(labels.size(), components.getComponentsCount());
+
+        for (int i = 0; i < GRID_SIZE; i++) { // Enable all edges of grid, so there is one component.
+            for (int j = 0; j < GRID_SIZE; j++) {
+                if (i + 1 < GRID_SIZE) {
+                    graph.getEdge(i + "-" + j, (i + 1) + "-" + j).isEnabled = true;
+                    components.union(i + "-" + j, (i + 1) + "-" + j);
+                }
+
+                if (j + 1 < GRID_SIZE) {
+                    graph.getEdge(i + "-" + j, i + "-" + (j + 1)).isEnabled = true;
+                    components.union(i + "-" + j, i + "-" + (j + 1));
+                }
+            }
+        }
+
+        assertEquals(1, components.getComponentsCount());
+        assertFalse(components.isConnected("0-0", "missing"));
+    }
+
+    @Test
+    public void disabledEdgeOfNotCompactGraph() {
+        for (Pair<TestNode, TestEdge> incidentEdge : graph.getIncidentEdges("0-0")) { // Node 0-0 is isolated when only enabled edges are used.
+            incidentEdge.getValue().isEnabled = false;
+        }
+
+        IDoubleShortestPathAlgorithm<String, TestNode, TestEdge> algorithm = new DoubleDijkstra<>(node -> node.id, edge -> edge.size, edge -> edge.isEnabled);
+        assertTrue(Double.isInfinite(algorithm.findShortestDistance(graph, "0-0", "5-5"))); // States of edges are taken by accessor.
+        assertFalse(Double.isInfinite(new DoubleDijkstra<String, TestNode, TestEdge>(node -> node.id, edge -> edge.size, edge -> true).findShortestDistance(graph, "0-0", "5-5")));
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void pathToSameNode() {
+        new Dijkstra<String, TestNode, TestEdge, Double>(node -> node.id, edge -> edge.size, (x, y) -> x + y, Double::compare).findShortestPath(graph, "0-0", "0-0");
+    }
+
+    private static class TestNode {
+
+        public String id;
+        public Point2D position;
+
+        public TestNode(String id, Point2D position) {
+            this.id = id;
+            this.position = position;
+        }
+
+    }
+
+    /**
+     * Graph which returns nodes in reversed order, so its compact graph has different indices of nodes.
+     */
+    private static class ReversedGraph extends Graph<String, TestNode, TestEdge> {
+
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public List<TestNode> getNodes() {
+            List<TestNode> result = new ArrayList<>(super.getNodes());
+            Collections.reverse(result);
+            return result;
+        }
+
+    }
+
+    private static class TestEdge {
+
+        public double size;
+        public boolean isEnabled;
+
+        public TestEdge(double size, boolean isEnabled) {
+            this.size = size;
+            this.isEnabled = isEnabled;
+        }
+
+    }
+
+}